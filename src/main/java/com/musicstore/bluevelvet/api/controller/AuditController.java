@@ -0,0 +1,89 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.response.AuditEventPageResponse;
+import com.musicstore.bluevelvet.api.response.AuditEventResponse;
+import com.musicstore.bluevelvet.api.response.AuditStatsResponse;
+import com.musicstore.bluevelvet.domain.converter.AuditEventConverter;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.domain.exception.AuditAccessDeniedException;
+import com.musicstore.bluevelvet.domain.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Consulta do log de auditoria. Os eventos trazem e-mails de cadastro/login e
+ * IPs de clientes e a API não tem autenticação: como o visualizador de
+ * traces, por padrão só atende a própria máquina
+ * (bluevelvet.audit.viewer-local-only) e não libera CORS.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+@Tag(name = "Audit", description = "Audit log of category and authentication events")
+public class AuditController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final AuditLogService auditLogService;
+
+    @Value("${bluevelvet.audit.viewer-local-only:true}")
+    private boolean localOnly;
+
+    @GetMapping
+    @Operation(summary = "Query audit events", description = "Audit events, newest first, filtered by type, subject, actor and time range "
+            + "(from inclusive, to exclusive). Paginate with beforeId=nextBeforeId. Events reach the table asynchronously, "
+            + "usually within the flush interval. actorVerified=false means the actor is what the client declared "
+            + "(X-Actor header, or the e-mail typed at registration or in a failed login), not a checked identity")
+    public ResponseEntity<AuditEventPageResponse> search(
+            @RequestParam(required = false) AuditEventType type,
+            @RequestParam(required = false) AuditSubjectType subjectType,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpServletRequest request
+    ) {
+        log.info("GET /api/audit - type: {}, subject: {}:{}, actor: {}, from: {}, to: {}, beforeId: {}, limit: {}",
+                type, subjectType, subjectId, actor, from, to, beforeId, limit);
+        requireLocal(request);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<AuditEventResponse> events = auditLogService
+                .findEvents(type, subjectType, subjectId, actor, from, to, beforeId, pageSize).stream()
+                .map(AuditEventConverter::toResponse)
+                .toList();
+
+        return ResponseEntity.ok(AuditEventPageResponse.builder()
+                .events(events)
+                .nextBeforeId(events.size() == pageSize ? events.get(events.size() - 1).getId() : null)
+                .build());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Audit writer statistics", description = "Ring buffer occupancy and recorded, dropped, written and spooled event counts")
+    public ResponseEntity<AuditStatsResponse> stats(HttpServletRequest request) {
+        log.info("GET /api/audit/stats");
+        requireLocal(request);
+        return ResponseEntity.ok(auditLogService.getStats());
+    }
+
+    private void requireLocal(HttpServletRequest request) {
+        if (localOnly && !LocalRequests.isLocal(request)) {
+            log.warn("Audit log access denied for {}", request.getRemoteAddr());
+            throw new AuditAccessDeniedException("The audit log is only available from localhost");
+        }
+    }
+}
@@ -1,9 +1,22 @@
 package com.musicstore.bluevelvet.api.controller;
 
+import com.musicstore.bluevelvet.api.request.CategoryBatchRequest;
 import com.musicstore.bluevelvet.api.request.CategoryRequest;
+import com.musicstore.bluevelvet.api.response.CategoryBatchResponse;
+import com.musicstore.bluevelvet.api.response.CategoryChangesSinceResponse;
+import com.musicstore.bluevelvet.api.response.CategoryProductsResponse;
 import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.api.response.ImageVariantStatusResponse;
+import com.musicstore.bluevelvet.api.response.SingleFlightStatsResponse;
+import com.musicstore.bluevelvet.domain.service.CategoryChangeFeedService;
+import com.musicstore.bluevelvet.domain.service.CategoryCounterRepairService;
+import com.musicstore.bluevelvet.domain.service.CategoryReadGuard;
 import com.musicstore.bluevelvet.domain.service.CategoryService;
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import com.musicstore.bluevelvet.domain.service.ProductService;
+import com.musicstore.bluevelvet.domain.service.SingleFlight;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -11,9 +24,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -24,7 +41,16 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class CategoryController {
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return (e.g. id,name,enabled). "
+            + "Only those columns are selected; parentName adds the parent join. Omit for the full representation";
+
     private final CategoryService categoryService;
+    private final CategoryChangeFeedService changeFeedService;
+    private final CategoryCounterRepairService counterRepairService;
+    private final CategorySyncService categorySyncService;
+    private final SingleFlight singleFlight;
+    private final CategoryReadGuard readGuard;
+    private final ProductService productService;
 
     // =========================================================================
     // US-2032: Access the Category Management Dashboard
@@ -35,18 +61,58 @@ public class CategoryController {
     public ResponseEntity<CategoryResponse> getById(@PathVariable Long id) {
         log.info("GET /api/categories/{}", id);
         CategoryResponse category = categoryService.findById(id);
-        return ResponseEntity.ok(category);
+        return ResponseEntity.ok()
+                .eTag(IfMatch.toETag(category))
+                .body(category);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Fetch many categories by id", description = "Fetch up to 100 categories in a single call, keeping the requested order. Unknown ids are reported in missingIds (US-2032)")
+    public ResponseEntity<CategoryBatchResponse> getBatch(@RequestParam List<Long> ids) {
+        log.info("GET /api/categories/batch - {} ids", ids.size());
+        CategoryBatchResponse batch = categoryService.findAllByIds(ids);
+        return ResponseEntity.ok(batch);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Fetch many categories by id (body)", description = "Same as GET /batch, for id lists too long for a query string (US-2032)")
+    public ResponseEntity<CategoryBatchResponse> postBatch(@RequestBody CategoryBatchRequest request) {
+        List<Long> ids = request.getIds();
+        log.info("POST /api/categories/batch - {} ids", ids != null ? ids.size() : 0);
+        CategoryBatchResponse batch = categoryService.findAllByIds(ids);
+        return ResponseEntity.ok(batch);
     }
 
     @GetMapping
     @Operation(summary = "Get all categories", description = "Get all categories from the Blue Velvet Music Store (US-2032)")
-    public ResponseEntity<Page<CategoryResponse>> getAll(@PageableDefault(size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        log.info("GET /api/categories - Page: {}, Size: {}",
-                pageable.getPageNumber(), pageable.getPageSize());
-        Page<CategoryResponse> categories = categoryService.findAll(pageable);
+    public ResponseEntity<Page<?>> getAll(
+            @PageableDefault(size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
+    ) {
+        log.info("GET /api/categories - Page: {}, Size: {}, Fields: {}",
+                pageable.getPageNumber(), pageable.getPageSize(), fields);
+        Page<?> categories = fields == null
+                ? categoryService.findAll(pageable)
+                : categoryService.findAll(pageable, fields);
         return ResponseEntity.ok(categories);
     }
 
+    /**
+     * Stream SSE com as mudanças de categorias (criação, edição, exclusão).
+     * Reconexões do EventSource enviam Last-Event-ID e recebem só o que perderam.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream category changes", description = "Server-Sent Events feed of category mutations with sequence numbers. "
+            + "Resume with the Last-Event-ID header or the since parameter (US-2032)")
+    public SseEmitter changes(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since
+    ) {
+        Long resumeFrom = lastEventId != null ? lastEventId : since;
+        log.info("GET /api/categories/changes - resume from: {}", resumeFrom);
+        return changeFeedService.subscribe(resumeFrom);
+    }
+
     /**
      * Reseta categorias para estado inicial (US-2032)
      * ATENÇÃO: Use apenas para testes
@@ -56,6 +122,7 @@ public class CategoryController {
     @Operation(summary = "Reset all categories to initial state", description = "Reset all categories in the database to their initial state (US-2032). ")
     public ResponseEntity<Void> reset() {
         log.warn("POST /api/categories/reset - Resetting all categories!");
+        readGuard.ensureWritable();
         categoryService.resetToInitialState();
         return ResponseEntity.ok().build();
     }
@@ -68,6 +135,7 @@ public class CategoryController {
     @Operation(summary = "Create a category by id", description = "Create a category from the Blue Velvet Music Store (US-1306)")
     public ResponseEntity<CategoryResponse> create(@Valid @RequestBody CategoryRequest request) {
         log.info("POST /api/categories - Creating: {}", request.getName());
+        readGuard.ensureWritable();
         CategoryResponse created = categoryService.createCategory(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
@@ -77,11 +145,59 @@ public class CategoryController {
     // =========================================================================
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a category by id", description = "Update a category from the Blue Velvet Music Store (US-1307)")
-    public ResponseEntity<CategoryResponse> update(@PathVariable Long id, @Valid @RequestBody CategoryRequest request) {
-        log.info("PUT /api/categories/{} - Updating", id);
-        CategoryResponse updated = categoryService.updateCategory(id, request);
-        return ResponseEntity.ok(updated);
+    @Operation(summary = "Update a category by id", description = "Update a category from the Blue Velvet Music Store (US-1307). "
+            + "Send If-Match with the ETag from GET to avoid overwriting concurrent edits (412 if stale, 409 on a lost race)")
+    public ResponseEntity<CategoryResponse> update(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CategoryRequest request
+    ) {
+        log.info("PUT /api/categories/{} - Updating (If-Match: {})", id, ifMatch);
+        readGuard.ensureWritable();
+        CategoryResponse updated = categoryService.updateCategory(id, request, IfMatch.parse(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(IfMatch.toETag(updated))
+                .body(updated);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a category by id", description = "Update only the non-null fields of the request (US-1307). "
+            + "Supports If-Match like PUT")
+    public ResponseEntity<CategoryResponse> patch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody CategoryRequest request
+    ) {
+        log.info("PATCH /api/categories/{} - Updating (If-Match: {})", id, ifMatch);
+        readGuard.ensureWritable();
+        CategoryResponse updated = categoryService.patchCategory(id, request, IfMatch.parse(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(IfMatch.toETag(updated))
+                .body(updated);
+    }
+
+    @PostMapping(path = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload a category image", description = "Store the image (content-addressed, deduplicated) and attach it to the category. "
+            + "The previous image is deleted if no other category uses it. Variants are generated asynchronously (202); "
+            + "returns 503 when the processing queue is full (US-1307)")
+    public ResponseEntity<CategoryResponse> uploadImage(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestParam("file") MultipartFile file
+    ) {
+        log.info("POST /api/categories/{}/image - {} ({} bytes)", id, file.getOriginalFilename(), file.getSize());
+        readGuard.ensureWritable();
+        CategoryResponse updated = categoryService.updateImage(id, file, IfMatch.parse(ifMatch));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .eTag(IfMatch.toETag(updated))
+                .body(updated);
+    }
+
+    @GetMapping("/{id}/image/status")
+    @Operation(summary = "Get image variant status", description = "Status of the thumbnail/medium variant generation for the category image (US-1307)")
+    public ResponseEntity<ImageVariantStatusResponse> getImageStatus(@PathVariable Long id) {
+        log.info("GET /api/categories/{}/image/status", id);
+        return ResponseEntity.ok(categoryService.getImageStatus(id));
     }
 
     // =========================================================================
@@ -92,6 +208,7 @@ public class CategoryController {
     @Operation(summary = "Delete a category by id", description = "Delete a category(without children) from the Blue Velvet Music Store (US-0904)")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         log.info("DELETE /api/categories/{}", id);
+        readGuard.ensureWritable();
         categoryService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
@@ -102,11 +219,14 @@ public class CategoryController {
 
     @GetMapping("/top-level")
     @Operation(summary = "List top-level categories", description = "Retrieve all categories that do not have a parent (root categories) from the Blue Velvet Music Store (US-0907)")
-    public ResponseEntity<Page<CategoryResponse>> getTopLevel(
-            @PageableDefault(size = 5, sort = "name") Pageable pageable
+    public ResponseEntity<Page<?>> getTopLevel(
+            @PageableDefault(size = 5, sort = "name") Pageable pageable,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
-        log.info("GET /api/categories/top-level");
-        Page<CategoryResponse> topLevel = categoryService.findTopLevelCategories(pageable);
+        log.info("GET /api/categories/top-level - Fields: {}", fields);
+        Page<?> topLevel = fields == null
+                ? categoryService.findTopLevelCategories(pageable)
+                : categoryService.findTopLevelCategories(pageable, fields);
         return ResponseEntity.ok(topLevel);
     }
 
@@ -130,9 +250,14 @@ public class CategoryController {
 
     @GetMapping("/{id}/subcategories")
     @Operation(summary = "List subcategories of a category", description = "Retrieve all subcategories belonging to the specified parent category ID (US-0907)")
-    public ResponseEntity<List<CategoryResponse>> getSubcategories(@PathVariable Long id) {
-        log.info("GET /api/categories/{}/subcategories", id);
-        List<CategoryResponse> subcategories = categoryService.findSubcategories(id);
+    public ResponseEntity<List<?>> getSubcategories(
+            @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
+    ) {
+        log.info("GET /api/categories/{}/subcategories - Fields: {}", id, fields);
+        List<?> subcategories = fields == null
+                ? categoryService.findSubcategories(id)
+                : categoryService.findSubcategories(id, fields);
         return ResponseEntity.ok(subcategories);
     }
 
@@ -142,12 +267,15 @@ public class CategoryController {
 
     @GetMapping("/search")
     @Operation(summary = "Search categories by name", description = "Search for categories whose names contain the specified text (case-insensitive) (US-0914)")
-    public ResponseEntity<Page<CategoryResponse>> search(
+    public ResponseEntity<Page<?>> search(
             @RequestParam String name,
-            @PageableDefault(size = 10, sort = "name") Pageable pageable
+            @PageableDefault(size = 10, sort = "name") Pageable pageable,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
-        log.info("GET /api/categories/search?name={}", name);
-        Page<CategoryResponse> results = categoryService.searchByName(name, pageable);
+        log.info("GET /api/categories/search?name={}&fields={}", name, fields);
+        Page<?> results = fields == null
+                ? categoryService.searchByName(name, pageable)
+                : categoryService.searchByName(name, pageable, fields);
         return ResponseEntity.ok(results);
     }
 
@@ -158,13 +286,16 @@ public class CategoryController {
     @GetMapping("/sorted")
     @Operation(summary = "List categories with custom sorting", description = "Retrieve all categories using custom sorting options (US-0913). "
             + "You can specify the sorting field and direction (ASC or DESC). ")
-    public ResponseEntity<Page<CategoryResponse>> getSorted(
+    public ResponseEntity<Page<?>> getSorted(
             @RequestParam(defaultValue = "name") String sortBy,
             @RequestParam(defaultValue = "ASC") String direction,
-            @PageableDefault(size = 10) Pageable pageable
+            @PageableDefault(size = 10) Pageable pageable,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
-        log.info("GET /api/categories/sorted?sortBy={}&direction={}", sortBy, direction);
-        Page<CategoryResponse> sorted = categoryService.findAllSorted(pageable, sortBy, direction);
+        log.info("GET /api/categories/sorted?sortBy={}&direction={}&fields={}", sortBy, direction, fields);
+        Page<?> sorted = fields == null
+                ? categoryService.findAllSorted(pageable, sortBy, direction)
+                : categoryService.findAllSorted(pageable, sortBy, direction, fields);
         return ResponseEntity.ok(sorted);
     }
 
@@ -174,11 +305,14 @@ public class CategoryController {
 
     @GetMapping("/enabled")
     @Operation(summary = "List enabled categories", description = "Retrieve only categories that are currently enabled (active) in the Blue Velvet Music Store (US-2100)")
-    public ResponseEntity<Page<CategoryResponse>> getEnabled(
-            @PageableDefault(size = 10, sort = "name") Pageable pageable
+    public ResponseEntity<Page<?>> getEnabled(
+            @PageableDefault(size = 10, sort = "name") Pageable pageable,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields
     ) {
-        log.info("GET /api/categories/enabled");
-        Page<CategoryResponse> enabled = categoryService.findAllEnabled(pageable);
+        log.info("GET /api/categories/enabled - Fields: {}", fields);
+        Page<?> enabled = fields == null
+                ? categoryService.findAllEnabled(pageable)
+                : categoryService.findAllEnabled(pageable, fields);
         return ResponseEntity.ok(enabled);
     }
 
@@ -198,6 +332,30 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    @GetMapping("/{id}/products")
+    @Operation(summary = "List products within a category", description = "Retrieve the visible products of a category and all of its subcategories, "
+            + "with the product count of each direct subcategory (US-2100)")
+    public ResponseEntity<CategoryProductsResponse> getProducts(
+            @PathVariable Long id,
+            @PageableDefault(size = 20, sort = "name") Pageable pageable
+    ) {
+        log.info("GET /api/categories/{}/products - Page: {}, Size: {}", id, pageable.getPageNumber(), pageable.getPageSize());
+        CategoryProductsResponse products = productService.findByCategorySubtree(id, pageable);
+        return ResponseEntity.ok(products);
+    }
+
+    @PutMapping("/{id}/subtree-visibility")
+    @Operation(summary = "Enable or disable a whole subtree", description = "Set enabled on the category and all of its descendants in a single set-based update. "
+            + "Shopper endpoints hide every category with a disabled ancestor (US-2100)")
+    public ResponseEntity<CategoryResponse> setSubtreeVisibility(@PathVariable Long id, @RequestParam boolean enabled) {
+        log.info("PUT /api/categories/{}/subtree-visibility?enabled={}", id, enabled);
+        readGuard.ensureWritable();
+        CategoryResponse category = categoryService.setSubtreeEnabled(id, enabled);
+        return ResponseEntity.ok()
+                .eTag(IfMatch.toETag(category))
+                .body(category);
+    }
+
     // =========================================================================
     // US-0916: Export category of products
     // =========================================================================
@@ -214,6 +372,19 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    @GetMapping("/changes-since")
+    @Operation(summary = "Fetch categories changed since a sequence", description = "Incremental sync for downstream services: categories changed or deleted after the (seq, afterId) cursor, "
+            + "in pages of up to 500. When fullResyncRequired is true, reload via /export and continue from currentSeq (US-0916)")
+    public ResponseEntity<CategoryChangesSinceResponse> changesSince(
+            @RequestParam(defaultValue = "0") long seq,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        log.info("GET /api/categories/changes-since - seq: {}, afterId: {}, limit: {}", seq, afterId, limit);
+        int pageSize = Math.max(1, Math.min(limit, CategorySyncService.MAX_PAGE_SIZE));
+        return ResponseEntity.ok(categorySyncService.changesSince(seq, afterId, pageSize));
+    }
+
     // =========================================================================
     // ENDPOINTS DE VALIDAÇÃO E UTILITÁRIOS (Não são User Stories específicos)
     // =========================================================================
@@ -233,4 +404,20 @@ public class CategoryController {
         boolean exists = categoryService.existsByName(name);
         return ResponseEntity.ok(exists);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/counters/repair")
+    @Operation(summary = "Recompute category counters", description = "Recompute childCount, descendantCount and enabledDescendantCount for every category. Returns how many rows were fixed")
+    public ResponseEntity<Integer> repairCounters() {
+        log.warn("POST /api/categories/counters/repair");
+        int fixed = counterRepairService.recomputeCounters();
+        return ResponseEntity.ok(fixed);
+    }
+
+    @GetMapping("/single-flight")
+    @Operation(summary = "Request coalescing metrics", description = "Per-key counters of the single-flight layer in front of the category reads: "
+            + "calls, executions that actually hit the database, calls served by another in-flight execution, wait timeouts and failures")
+    public ResponseEntity<List<SingleFlightStatsResponse>> singleFlightStats() {
+        log.info("GET /api/categories/single-flight");
+        return ResponseEntity.ok(singleFlight.getStats());
+    }
+}
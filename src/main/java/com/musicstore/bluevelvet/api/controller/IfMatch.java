@@ -0,0 +1,103 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.exception.InvalidIfMatchException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Leitura do If-Match das escritas de categoria (RFC 9110, 13.1.1).
+ * O ETag de uma categoria é "versão-changeSeq-hash do parentName"
+ * ("3-1234-5f2a"); só a versão entra na comparação do If-Match, e uma tag
+ * só com a versão ("3") também é aceita.
+ */
+final class IfMatch {
+
+    private IfMatch() {
+    }
+
+    /**
+     * A versão só avança nas escritas da própria categoria. O corpo do GET
+     * também muda com os UPDATEs em lote (contadores, path, visibilidade,
+     * variantes de imagem), que avançam o changeSeq, e com o nome do pai, que
+     * vem de outra linha: os três entram no ETag para o If-None-Match não
+     * devolver 304 com o corpo desatualizado.
+     */
+    static String toETag(CategoryResponse category) {
+        if (category.getVersion() == null) {
+            return null;
+        }
+        return "\"%d-%d-%x\"".formatted(category.getVersion(),
+                category.getChangeSeq() != null ? category.getChangeSeq() : 0L,
+                category.getParentName() != null ? category.getParentName().hashCode() : 0);
+    }
+
+    /**
+     * Versões aceitas pelo header: null para ausente ou *, qualquer versão.
+     * If-Match usa comparação forte: tags fracas (W/"3") e tags que não são
+     * uma versão nunca batem, então podem deixar o conjunto vazio (412).
+     * Sintaxe inválida gera InvalidIfMatchException (400).
+     */
+    static Set<Long> parse(String header) {
+        if (header == null || header.isBlank() || header.strip().equals("*")) {
+            return null;
+        }
+
+        Set<Long> versions = new LinkedHashSet<>();
+        int length = header.length();
+        int i = 0;
+        boolean expectTag = true;
+
+        while (i < length) {
+            char c = header.charAt(i);
+            if (c == ' ' || c == '\t') {
+                i++;
+            } else if (c == ',') {
+                // Elementos vazios da lista são permitidos ("3", , "4")
+                expectTag = true;
+                i++;
+            } else if (expectTag) {
+                boolean weak = header.startsWith("W/", i);
+                int open = weak ? i + 2 : i;
+                if (open >= length || header.charAt(open) != '"') {
+                    throw invalid(header);
+                }
+                int close = header.indexOf('"', open + 1);
+                if (close < 0) {
+                    throw invalid(header);
+                }
+                String opaque = header.substring(open + 1, close);
+                if (!weak) {
+                    toVersion(opaque, versions);
+                }
+                i = close + 1;
+                expectTag = false;
+            } else {
+                // Duas tags sem vírgula entre elas
+                throw invalid(header);
+            }
+        }
+
+        return versions;
+    }
+
+    private static void toVersion(String opaque, Set<Long> versions) {
+        int end = opaque.indexOf('-');
+        String version = end < 0 ? opaque : opaque.substring(0, end);
+        // Até 18 dígitos cabe em long; acima disso não é uma versão que exista
+        if (version.isEmpty() || version.length() > 18) {
+            return;
+        }
+        for (int i = 0; i < version.length(); i++) {
+            if (version.charAt(i) < '0' || version.charAt(i) > '9') {
+                return;
+            }
+        }
+        versions.add(Long.parseLong(version));
+    }
+
+    private static InvalidIfMatchException invalid(String header) {
+        return new InvalidIfMatchException("Invalid If-Match header: " + header);
+    }
+}
@@ -0,0 +1,34 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Endpoints de diagnóstico sem autenticação (traces, auditoria) que por
+ * padrão só atendem a própria máquina.
+ */
+final class LocalRequests {
+
+    private LocalRequests() {
+    }
+
+    /**
+     * Atrás de um proxy na mesma máquina o remoteAddr também é loopback:
+     * qualquer header de encaminhamento conta como acesso externo.
+     */
+    static boolean isLocal(HttpServletRequest request) {
+        boolean forwarded = request.getHeader("X-Forwarded-For") != null || request.getHeader("Forwarded") != null;
+        return !forwarded && isLoopback(request.getRemoteAddr());
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            // Literal de IP vindo do container: não há consulta de DNS
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.request.ProductRequest;
+import com.musicstore.bluevelvet.api.response.ProductResponse;
+import com.musicstore.bluevelvet.domain.service.CategoryReadGuard;
+import com.musicstore.bluevelvet.domain.service.ProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Log4j2
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ProductController {
+
+    private final ProductService productService;
+    private final CategoryReadGuard readGuard;
+
+    // =========================================================================
+    // US-2100: List products within a category for the online shopper
+    // (listagem por categoria: GET /api/categories/{id}/products)
+    // =========================================================================
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Fetch a product by id", description = "Fetch a product from the Blue Velvet Music Store (US-2100)")
+    public ResponseEntity<ProductResponse> getById(@PathVariable Long id) {
+        log.info("GET /api/products/{}", id);
+        ProductResponse product = productService.findById(id);
+        return ResponseEntity.ok(product);
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a product", description = "Create a product in a category. The category product counters are updated in the same transaction (US-2100)")
+    public ResponseEntity<ProductResponse> create(@Valid @RequestBody ProductRequest request) {
+        log.info("POST /api/products - Creating: {}", request.getName());
+        readGuard.ensureWritable();
+        ProductResponse created = productService.createProduct(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a product", description = "Replace all fields of a product, including its category (US-2100)")
+    public ResponseEntity<ProductResponse> update(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
+        log.info("PUT /api/products/{}", id);
+        readGuard.ensureWritable();
+        ProductResponse updated = productService.updateProduct(id, request);
+        return ResponseEntity.ok(updated);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a product by id", description = "Delete a product from the Blue Velvet Music Store (US-2100)")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        log.info("DELETE /api/products/{}", id);
+        readGuard.ensureWritable();
+        productService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+}
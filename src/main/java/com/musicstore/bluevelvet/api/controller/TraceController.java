@@ -0,0 +1,83 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.response.TraceResponse;
+import com.musicstore.bluevelvet.domain.converter.TraceConverter;
+import com.musicstore.bluevelvet.domain.exception.TraceAccessDeniedException;
+import com.musicstore.bluevelvet.infrastructure.tracing.Trace;
+import com.musicstore.bluevelvet.infrastructure.tracing.TraceRecorder;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Visualizador dos traces guardados em memória pelo TraceRecorder.
+ * Não há autenticação na API: por padrão só atende a própria máquina
+ * (bluevelvet.tracing.viewer-local-only) e não libera CORS.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final TraceRecorder traceRecorder;
+
+    @Value("${bluevelvet.tracing.viewer-local-only:true}")
+    private boolean localOnly;
+
+    @GetMapping
+    @Operation(summary = "List recent traces", description = "Most recent request traces kept in memory, with the self time per span kind. "
+            + "Filter by minimum duration or name; slowest=true sorts by duration")
+    public ResponseEntity<List<TraceResponse>> list(
+            @RequestParam(required = false) Long minDurationMs,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "false") boolean slowest,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpServletRequest request
+    ) {
+        log.info("GET /api/traces - minDurationMs: {}, name: {}, slowest: {}", minDurationMs, name, slowest);
+        requireLocal(request);
+
+        Stream<Trace> traces = traceRecorder.getTraces().stream();
+        if (minDurationMs != null) {
+            long minNanos = TimeUnit.MILLISECONDS.toNanos(minDurationMs);
+            traces = traces.filter(trace -> trace.getRoot().getDurationNanos() >= minNanos);
+        }
+        if (name != null) {
+            traces = traces.filter(trace -> trace.getRoot().getName().contains(name));
+        }
+        if (slowest) {
+            traces = traces.sorted(Comparator.comparingLong((Trace trace) -> trace.getRoot().getDurationNanos()).reversed());
+        }
+
+        return ResponseEntity.ok(traces
+                .limit(Math.max(1, limit))
+                .map(TraceConverter::toSummary)
+                .toList());
+    }
+
+    @GetMapping("/{traceId}")
+    @Operation(summary = "Fetch a trace", description = "All spans of a trace (controller, service, repository, hashing, serialization, async) "
+            + "in start order, with depth and offset for a waterfall view. The id comes from the X-Trace-Id response header")
+    public ResponseEntity<TraceResponse> getById(@PathVariable String traceId, HttpServletRequest request) {
+        log.info("GET /api/traces/{}", traceId);
+        requireLocal(request);
+        return ResponseEntity.of(traceRecorder.getTrace(traceId).map(TraceConverter::toResponse));
+    }
+
+    private void requireLocal(HttpServletRequest request) {
+        if (localOnly && !LocalRequests.isLocal(request)) {
+            log.warn("Trace viewer access denied for {}", request.getRemoteAddr());
+            throw new TraceAccessDeniedException("The trace viewer is only available from localhost");
+        }
+    }
+}
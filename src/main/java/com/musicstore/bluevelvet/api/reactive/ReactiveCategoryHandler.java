@@ -0,0 +1,117 @@
+package com.musicstore.bluevelvet.api.reactive;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.service.ReactiveCategoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Variante reativa (WebFlux + R2DBC) das leituras públicas do CategoryController,
+ * servida pelo ReactiveReadServer em outra porta, com os mesmos caminhos:
+ * <ul>
+ *   <li>GET /api/categories/public (US-2100)</li>
+ *   <li>GET /api/categories/public/hierarchy (US-2100)</li>
+ *   <li>GET /api/categories/search?name=&amp;page=&amp;size= (US-0914)</li>
+ * </ul>
+ * Com Accept: application/x-ndjson cada categoria é escrita assim que chega do
+ * banco, uma por linha. Sem isso a resposta é um array JSON completo (a busca
+ * devolve só o conteúdo da página, sem os metadados de Page).
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ReactiveCategoryHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private final ReactiveCategoryService reactiveCategoryService;
+
+    @Value("${bluevelvet.reactive.query-timeout:5s}")
+    private Duration queryTimeout;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/categories/public", this::getForShopper)
+                .GET("/api/categories/public/hierarchy", this::getForShopperWithChildren)
+                .GET("/api/categories/search", this::search)
+                .onError(Throwable.class, this::handleError)
+                .build();
+    }
+
+    private Mono<ServerResponse> getForShopper(ServerRequest request) {
+        return respond(request, reactiveCategoryService.findEnabledCategoriesForShopper());
+    }
+
+    private Mono<ServerResponse> getForShopperWithChildren(ServerRequest request) {
+        return respond(request, reactiveCategoryService.findEnabledCategoriesWithChildren());
+    }
+
+    private Mono<ServerResponse> search(ServerRequest request) {
+        String name = request.queryParam("name").orElse(null);
+        if (name == null) {
+            return error(request, HttpStatus.BAD_REQUEST, "Required parameter 'name' is not present");
+        }
+
+        int page;
+        int size;
+        try {
+            page = request.queryParam("page").map(Integer::parseInt).orElse(0);
+            size = request.queryParam("size").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE);
+        } catch (NumberFormatException e) {
+            return error(request, HttpStatus.BAD_REQUEST, "Parameters 'page' and 'size' must be integers");
+        }
+
+        return respond(request, reactiveCategoryService.searchByName(name, page, size));
+    }
+
+    /**
+     * NDJSON é escrito em streaming (um erro no meio só encerra a conexão);
+     * o array JSON é montado antes, então falhas do banco ainda viram 503.
+     */
+    private Mono<ServerResponse> respond(ServerRequest request, Flux<CategoryResponse> categories) {
+        Flux<CategoryResponse> body = categories.timeout(queryTimeout);
+
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(body, CategoryResponse.class);
+        }
+        return body.collectList()
+                .flatMap(list -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(list));
+    }
+
+    private Mono<ServerResponse> handleError(Throwable e, ServerRequest request) {
+        log.error("Reactive read {} failed: {}", request.path(), e.toString());
+        return error(request, HttpStatus.SERVICE_UNAVAILABLE, "Catalog temporarily unavailable");
+    }
+
+    //  Mesmo formato do erro padrão do Spring Boot na API bloqueante
+    private static Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.path());
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+}
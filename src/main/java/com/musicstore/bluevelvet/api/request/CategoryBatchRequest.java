@@ -0,0 +1,16 @@
+package com.musicstore.bluevelvet.api.request;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBatchRequest {
+
+    //  Sem ids ({} ou lista vazia) a resposta vem vazia; mais de 100 dá 400 (CategoryService.findAllByIds)
+    private List<Long> ids;
+}
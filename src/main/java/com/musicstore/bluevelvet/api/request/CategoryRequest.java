@@ -13,4 +13,7 @@ public class CategoryRequest {
     private String image;
     private Boolean enabled;
     private Long parentId;
+
+    //  Versão lida pelo cliente (opcional, alternativa ao If-Match)
+    private Long version;
 }
@@ -0,0 +1,33 @@
+package com.musicstore.bluevelvet.api.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRequest {
+
+    @NotBlank
+    private String name;
+
+    private String description;
+
+    @NotNull
+    @DecimalMin("0.00")
+    private BigDecimal price;
+
+    private String image;
+
+    //  null = habilitado
+    private Boolean enabled;
+
+    @NotNull
+    private Long categoryId;
+}
@@ -0,0 +1,19 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventPageResponse {
+
+    //  Mais recentes primeiro
+    private List<AuditEventResponse> events;
+
+    //  Valor de beforeId para a próxima página (null na última)
+    private Long nextBeforeId;
+}
@@ -0,0 +1,38 @@
+package com.musicstore.bluevelvet.api.response;
+
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventResponse {
+
+    private Long id;
+
+    private Instant occurredAt;
+
+    private AuditEventType type;
+
+    private String actor;
+
+    //  Só LOGIN_SUCCEEDED tem o actor conferido pelo servidor (senha); nos outros
+    //  é o que o cliente declarou (X-Actor, e-mail digitado no cadastro ou no login falho)
+    private boolean actorVerified;
+
+    private AuditSubjectType subjectType;
+
+    private Long subjectId;
+
+    private String summary;
+
+    private String clientIp;
+
+    //  Detalhe em GET /api/traces/{traceId}, enquanto o trace estiver guardado
+    private String traceId;
+}
@@ -0,0 +1,29 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditStatsResponse {
+
+    private boolean enabled;
+
+    private int bufferCapacity;
+
+    //  Eventos aguardando a thread de gravação
+    private int buffered;
+
+    private long recorded;
+
+    //  Buffer cheio ou spool indisponível
+    private long dropped;
+
+    //  Gravados no banco, incluindo os reenviados do spool
+    private long written;
+
+    //  Gravados no spool local enquanto o banco estava fora
+    private long spooled;
+}
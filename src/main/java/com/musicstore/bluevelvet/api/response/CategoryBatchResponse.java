@@ -0,0 +1,19 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBatchResponse {
+
+    //  Categorias encontradas, na mesma ordem dos ids pedidos
+    private List<CategoryResponse> categories;
+
+    //  Ids que não existem (não falham a chamada)
+    private List<Long> missingIds;
+}
@@ -0,0 +1,26 @@
+package com.musicstore.bluevelvet.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryChangeResponse {
+
+    private Long sequence;
+
+    private CategoryChangeType type;
+
+    private Long categoryId;
+
+    private CategoryResponse category;
+
+    private Instant occurredAt;
+}
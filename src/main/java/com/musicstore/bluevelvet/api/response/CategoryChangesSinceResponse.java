@@ -0,0 +1,32 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryChangesSinceResponse {
+
+    //  Categorias criadas ou alteradas depois do cursor, em ordem de (changeSeq, id)
+    private List<CategoryResponse> changed;
+
+    //  Categorias apagadas depois do cursor
+    private List<CategoryTombstoneResponse> deleted;
+
+    //  Cursor da próxima página: ?seq=nextSeq&afterId=nextAfterId
+    private Long nextSeq;
+    private Long nextAfterId;
+
+    private boolean hasMore;
+
+    //  Sequência mais recente no momento da consulta
+    private Long currentSeq;
+
+    //  true quando o cursor é antigo demais (tombstones expurgados ou dados recarregados):
+    //  o cliente deve refazer a carga completa via /api/categories/export e continuar de currentSeq
+    private boolean fullResyncRequired;
+}
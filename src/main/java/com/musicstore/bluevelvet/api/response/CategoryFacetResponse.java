@@ -0,0 +1,18 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetResponse {
+
+    private Long categoryId;
+
+    private String name;
+
+    //  Produtos habilitados na subárvore da subcategoria (contador mantido, sem COUNT)
+    private Integer productCount;
+}
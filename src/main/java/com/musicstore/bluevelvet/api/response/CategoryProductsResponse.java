@@ -0,0 +1,30 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * US-2100: produtos da subárvore de uma categoria, com a contagem por
+ * subcategoria direta (facetas).
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryProductsResponse {
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    //  Produtos cadastrados diretamente na categoria
+    private Integer directProductCount;
+
+    //  Subcategorias visíveis, em ordem de nome
+    private List<CategoryFacetResponse> facets;
+
+    private Page<ProductResponse> products;
+}
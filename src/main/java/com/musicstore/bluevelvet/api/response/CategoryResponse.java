@@ -3,7 +3,9 @@ package com.musicstore.bluevelvet.api.response;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -18,8 +20,34 @@ public class CategoryResponse {
 
     private String image;
 
+    //  URL servida pelo ImageController (null para imagens que não estão no storage)
+    private String imageUrl;
+
+    //  Variantes prontas da imagem (thumb, medium, webp) -> URL
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, String> imageVariants;
+
     private Boolean enabled;
 
+    //  false se a própria categoria ou algum ancestral estiver desabilitado
+    private Boolean effectivelyEnabled;
+
+    private Long version;
+
+    //  Sequência da última mudança (GET /api/categories/changes-since)
+    private Long changeSeq;
+
+    private Instant updatedAt;
+
+    //  Contadores da subárvore
+    private Integer childCount;
+    private Integer descendantCount;
+    private Integer enabledDescendantCount;
+
+    //  Produtos habilitados na categoria e na subárvore
+    private Integer productCount;
+    private Integer subtreeProductCount;
+
     //  Informações sobre o parent
     private Long parentId;
     private String parentName;
@@ -0,0 +1,21 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTombstoneResponse {
+
+    private Long id;
+
+    private String name;
+
+    private Long changeSeq;
+
+    private Instant deletedAt;
+}
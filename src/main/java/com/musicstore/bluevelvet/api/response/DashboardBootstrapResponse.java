@@ -0,0 +1,37 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+import org.springframework.data.domain.Page;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Dados iniciais do dashboard, embutidos na página pelo WebDashboardController
+ * para o dashboard.js não precisar de nenhuma chamada à API na abertura.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardBootstrapResponse {
+
+    //  Mesmo formato de GET /api/categories (primeira página, ordem de nome)
+    private Page<CategoryResponse> categories;
+
+    //  Opções do select de categoria pai (fields=id,name,enabled)
+    private Page<Map<String, Object>> parentCategories;
+
+    private Integer pageSize;
+
+    private String sort;
+
+    //  Versão do catálogo (última changeSeq comitada)
+    private Long catalogVersion;
+
+    //  Posição do feed SSE lida antes dos dados: o cliente retoma dela com since
+    private Long changeSequence;
+
+    private Instant generatedAt;
+}
@@ -0,0 +1,30 @@
+package com.musicstore.bluevelvet.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.musicstore.bluevelvet.domain.enums.ImageVariantStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageVariantStatusResponse {
+
+    private Long categoryId;
+
+    private String image;
+
+    private ImageVariantStatus status;
+
+    //  variante -> URL, quando status = READY
+    private Map<String, String> variants;
+
+    private String message;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductResponse {
+
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private BigDecimal price;
+
+    private String image;
+
+    //  URL servida pelo ImageController (null para imagens que não estão no storage)
+    private String imageUrl;
+
+    private Boolean enabled;
+
+    private Long categoryId;
+    private String categoryName;
+
+    private Long version;
+}
@@ -0,0 +1,29 @@
+package com.musicstore.bluevelvet.api.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SingleFlightStatsResponse {
+
+    //  Método + argumentos (ex.: "findByIdWithChildren:5")
+    private String key;
+
+    private long calls;
+
+    //  Vezes em que as queries realmente rodaram
+    private long executions;
+
+    //  Chamadas atendidas pelo resultado de outra em andamento
+    private long shared;
+
+    //  Esperas que passaram do limite e calcularam por conta própria
+    private long timeouts;
+
+    private long failures;
+
+    private boolean inFlight;
+}
@@ -0,0 +1,40 @@
+package com.musicstore.bluevelvet.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.musicstore.bluevelvet.infrastructure.tracing.SpanKind;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpanResponse {
+
+    private String spanId;
+
+    private String parentId;
+
+    private String name;
+
+    private SpanKind kind;
+
+    private String thread;
+
+    //  Nível na árvore (0 = raiz) e início relativo ao da raiz: dá para montar a cascata
+    private Integer depth;
+    private Long offsetMicros;
+
+    private Long durationMicros;
+
+    //  Duração menos a dos filhos síncronos
+    private Long selfMicros;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Object> tags;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
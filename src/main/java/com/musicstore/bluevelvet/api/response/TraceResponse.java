@@ -0,0 +1,40 @@
+package com.musicstore.bluevelvet.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.musicstore.bluevelvet.infrastructure.tracing.SpanKind;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceResponse {
+
+    private String traceId;
+
+    //  Nome da raiz (ex.: "GET /api/categories/{id}")
+    private String name;
+
+    private Instant startedAt;
+
+    private Long durationMicros;
+
+    private Integer spanCount;
+
+    private Integer droppedSpans;
+
+    //  Primeiro erro registrado no trace
+    private String error;
+
+    //  Tempo próprio somado por tipo de span (controller, service, repository...)
+    private Map<SpanKind, Long> selfMicrosByKind;
+
+    //  Em ordem de início; ausente no resumo de GET /api/traces
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<SpanResponse> spans;
+}
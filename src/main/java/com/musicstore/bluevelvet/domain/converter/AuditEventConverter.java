@@ -0,0 +1,23 @@
+package com.musicstore.bluevelvet.domain.converter;
+
+import com.musicstore.bluevelvet.api.response.AuditEventResponse;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+
+public class AuditEventConverter {
+
+    public static AuditEventResponse toResponse(AuditEvent event) {
+        return AuditEventResponse.builder()
+                .id(event.getId())
+                .occurredAt(event.getOccurredAt())
+                .type(event.getType())
+                .actor(event.getActor())
+                .actorVerified(event.getType() == AuditEventType.LOGIN_SUCCEEDED && event.getActor() != null)
+                .subjectType(event.getSubjectType())
+                .subjectId(event.getSubjectId())
+                .summary(event.getSummary())
+                .clientIp(event.getClientIp())
+                .traceId(event.getTraceId())
+                .build();
+    }
+}
@@ -2,7 +2,18 @@ package com.musicstore.bluevelvet.domain.converter;
 
 import com.musicstore.bluevelvet.api.request.CategoryRequest;
 import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.service.ImageStorageService;
 import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryField;
+import com.musicstore.bluevelvet.infrastructure.snapshot.CategoryTreeSnapshot;
+import io.r2dbc.spi.Readable;
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class CategoryConverter {
 
@@ -12,12 +23,96 @@ public class CategoryConverter {
                 .id(category.getId())
                 .name(category.getName())
                 .image(category.getImage())
+                .imageUrl(ImageStorageService.publicUrl(category.getImage()))
+                .imageVariants(toVariantUrls(category.getImageVariants()))
                 .enabled(category.getEnabled())
+                .effectivelyEnabled(category.getEffectivelyEnabled())
+                .version(category.getVersion())
+                .changeSeq(category.getChangeSeq())
+                .updatedAt(category.getUpdatedAt())
+                .childCount(category.getChildCount())
+                .descendantCount(category.getDescendantCount())
+                .enabledDescendantCount(category.getEnabledDescendantCount())
+                .productCount(category.getProductCount())
+                .subtreeProductCount(category.getSubtreeProductCount())
                 .parentId(category.getParent() != null ? category.getParent().getId() : null)
                 .parentName(category.getParent() != null ? category.getParent().getName() : null)
                 .build();
     }
 
+    /**
+     * Mesmo formato de toResponse, lido de um registro do snapshot mapeado.
+     */
+    public static CategoryResponse toResponse(CategoryTreeSnapshot snapshot, int index) {
+        int parent = snapshot.parentIndex(index);
+        String image = snapshot.image(index);
+
+        return CategoryResponse.builder()
+                .id(snapshot.id(index))
+                .name(snapshot.name(index))
+                .image(image)
+                .imageUrl(ImageStorageService.publicUrl(image))
+                .imageVariants(toVariantUrls(snapshot.imageVariants(index)))
+                .enabled(snapshot.enabled(index))
+                .effectivelyEnabled(snapshot.effectivelyEnabled(index))
+                .version(snapshot.version(index))
+                .changeSeq(snapshot.changeSeq(index))
+                .updatedAt(snapshot.updatedAt(index))
+                .childCount(snapshot.childCount(index))
+                .descendantCount(snapshot.descendantCount(index))
+                .enabledDescendantCount(snapshot.enabledDescendantCount(index))
+                .productCount(snapshot.productCount(index))
+                .subtreeProductCount(snapshot.subtreeProductCount(index))
+                .parentId(snapshot.parentId(index))
+                .parentName(parent >= 0 ? snapshot.name(parent) : null)
+                .build();
+    }
+
+    /**
+     * Linha do ReactiveCategoryRepository (colunas da tabela category + parent_name).
+     */
+    public static CategoryResponse toResponse(Readable row) {
+        String image = row.get("image", String.class);
+        LocalDateTime updatedAt = row.get("updated_at", LocalDateTime.class);
+
+        return CategoryResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .image(image)
+                .imageUrl(ImageStorageService.publicUrl(image))
+                .imageVariants(toVariantUrls(row.get("image_variants", String.class)))
+                .enabled(row.get("enabled", Boolean.class))
+                .effectivelyEnabled(row.get("effectively_enabled", Boolean.class))
+                .version(row.get("version", Long.class))
+                .changeSeq(row.get("change_seq", Long.class))
+                // O Hibernate grava o Instant no fuso da JVM
+                .updatedAt(updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant() : null)
+                .childCount(row.get("child_count", Integer.class))
+                .descendantCount(row.get("descendant_count", Integer.class))
+                .enabledDescendantCount(row.get("enabled_descendant_count", Integer.class))
+                .productCount(row.get("product_count", Integer.class))
+                .subtreeProductCount(row.get("subtree_product_count", Integer.class))
+                .parentId(row.get("parent_id", Long.class))
+                .parentName(row.get("parent_name", String.class))
+                .build();
+    }
+
+    /**
+     * Resposta parcial (fields=): só as chaves pedidas, na ordem de CategoryResponse.
+     */
+    public static Map<String, Object> toFields(Tuple tuple, Set<CategoryField> fields) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (CategoryField field : fields) {
+            Object value = tuple.get(field.alias());
+            response.put(field.getProperty(), switch (field) {
+                case IMAGE_URL -> ImageStorageService.publicUrl((String) value);
+                case IMAGE_VARIANTS -> toVariantUrls((String) value);
+                default -> value;
+            });
+        }
+        return response;
+    }
+
     public static CategoryResponse toResponseWithChildren(Category category) {
         CategoryResponse response = toResponse(category);
 
@@ -32,6 +127,42 @@ public class CategoryConverter {
         return response;
     }
 
+    /**
+     * Versão para o shopper: só inclui filhos efetivamente habilitados.
+     */
+    public static CategoryResponse toResponseWithVisibleChildren(Category category) {
+        CategoryResponse response = toResponse(category);
+
+        if (category.getChildren() != null && !category.getChildren().isEmpty()) {
+            response.setChildren(
+                    category.getChildren().stream()
+                            .filter(child -> Boolean.TRUE.equals(child.getEffectivelyEnabled()))
+                            .map(CategoryConverter::toResponse)
+                            .toList()
+            );
+        }
+
+        return response;
+    }
+
+    /**
+     * "thumb=a-thumb.jpg;medium=a-medium.jpg" -> {thumb: /images/categories/a-thumb.jpg, ...}
+     */
+    public static Map<String, String> toVariantUrls(String imageVariants) {
+        if (imageVariants == null || imageVariants.isBlank()) {
+            return null;
+        }
+
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String entry : imageVariants.split(";")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                urls.put(entry.substring(0, separator), ImageStorageService.publicUrl(entry.substring(separator + 1)));
+            }
+        }
+        return urls;
+    }
+
     public static Category convertToCategory(CategoryRequest request) {
         if (request == null) {
             return null;
@@ -0,0 +1,34 @@
+package com.musicstore.bluevelvet.domain.converter;
+
+import com.musicstore.bluevelvet.api.request.ProductRequest;
+import com.musicstore.bluevelvet.api.response.ProductResponse;
+import com.musicstore.bluevelvet.domain.service.ImageStorageService;
+import com.musicstore.bluevelvet.infrastructure.entity.Product;
+
+public class ProductConverter {
+
+    public static ProductResponse toResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .image(product.getImage())
+                .imageUrl(ImageStorageService.publicUrl(product.getImage()))
+                .enabled(product.getEnabled())
+                .categoryId(product.getCategory().getId())
+                .categoryName(product.getCategory().getName())
+                .version(product.getVersion())
+                .build();
+    }
+
+    public static Product convertToProduct(ProductRequest request) {
+        return Product.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .price(request.getPrice())
+                .image(request.getImage())
+                .enabled(request.getEnabled() == null || request.getEnabled())
+                .build();
+    }
+}
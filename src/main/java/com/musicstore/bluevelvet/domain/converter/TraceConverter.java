@@ -0,0 +1,96 @@
+package com.musicstore.bluevelvet.domain.converter;
+
+import com.musicstore.bluevelvet.api.response.SpanResponse;
+import com.musicstore.bluevelvet.api.response.TraceResponse;
+import com.musicstore.bluevelvet.infrastructure.tracing.Span;
+import com.musicstore.bluevelvet.infrastructure.tracing.SpanKind;
+import com.musicstore.bluevelvet.infrastructure.tracing.Trace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class TraceConverter {
+
+    public static TraceResponse toResponse(Trace trace) {
+        List<SpanResponse> spans = toSpans(trace);
+
+        Map<SpanKind, Long> selfMicrosByKind = new EnumMap<>(SpanKind.class);
+        String error = null;
+        for (SpanResponse span : spans) {
+            selfMicrosByKind.merge(span.getKind(), span.getSelfMicros(), Long::sum);
+            if (error == null && span.getError() != null) {
+                error = span.getError();
+            }
+        }
+
+        Span root = trace.getRoot();
+        return TraceResponse.builder()
+                .traceId(trace.getTraceId())
+                .name(root.getName())
+                .startedAt(root.getStartedAt())
+                .durationMicros(micros(root.getDurationNanos()))
+                .spanCount(spans.size())
+                .droppedSpans(trace.getDroppedSpans())
+                .error(error)
+                .selfMicrosByKind(selfMicrosByKind)
+                .spans(spans)
+                .build();
+    }
+
+    /**
+     * Resumo para a listagem: mesmos números, sem os spans.
+     */
+    public static TraceResponse toSummary(Trace trace) {
+        TraceResponse response = toResponse(trace);
+        response.setSpans(null);
+        return response;
+    }
+
+    private static List<SpanResponse> toSpans(Trace trace) {
+        Span root = trace.getRoot();
+        List<Span> spans = new ArrayList<>(trace.getSpans());
+        spans.add(root);
+        spans.sort(Comparator.comparingLong(Span::getStartNanos));
+
+        // Tempo dos filhos síncronos (ASYNC roda em paralelo e não desconta do pai)
+        Map<String, Long> childNanos = new HashMap<>();
+        for (Span span : spans) {
+            if (span.getParentId() != null && span.getKind() != SpanKind.ASYNC) {
+                childNanos.merge(span.getParentId(), span.getDurationNanos(), Long::sum);
+            }
+        }
+
+        // Pais começam antes dos filhos, então a profundidade do pai já está calculada
+        Map<String, Integer> depths = new HashMap<>();
+        List<SpanResponse> responses = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            int depth = span.getParentId() != null ? depths.getOrDefault(span.getParentId(), 0) + 1 : 0;
+            depths.put(span.getSpanId(), depth);
+
+            long selfNanos = Math.max(0, span.getDurationNanos() - childNanos.getOrDefault(span.getSpanId(), 0L));
+            responses.add(SpanResponse.builder()
+                    .spanId(span.getSpanId())
+                    .parentId(span.getParentId())
+                    .name(span.getName())
+                    .kind(span.getKind())
+                    .thread(span.getThread())
+                    .depth(depth)
+                    .offsetMicros(micros(span.getStartNanos() - root.getStartNanos()))
+                    .durationMicros(micros(span.getDurationNanos()))
+                    .selfMicros(micros(selfNanos))
+                    .tags(span.getTags())
+                    .error(span.getError())
+                    .build());
+        }
+        return responses;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,12 @@
+package com.musicstore.bluevelvet.domain.enums;
+
+public enum AuditEventType {
+    CATEGORY_CREATED,
+    CATEGORY_UPDATED,
+    CATEGORY_DELETED,
+    CATEGORY_SUBTREE_ENABLED,
+    CATEGORIES_RESET,
+    USER_REGISTERED,
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED
+}
@@ -0,0 +1,6 @@
+package com.musicstore.bluevelvet.domain.enums;
+
+public enum AuditSubjectType {
+    CATEGORY,
+    USER
+}
@@ -0,0 +1,8 @@
+package com.musicstore.bluevelvet.domain.enums;
+
+public enum CategoryChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESET
+}
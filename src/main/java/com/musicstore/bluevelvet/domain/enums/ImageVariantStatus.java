@@ -0,0 +1,9 @@
+package com.musicstore.bluevelvet.domain.enums;
+
+public enum ImageVariantStatus {
+    NONE,
+    QUEUED,
+    PROCESSING,
+    READY,
+    FAILED
+}
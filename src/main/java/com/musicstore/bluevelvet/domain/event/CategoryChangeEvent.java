@@ -0,0 +1,30 @@
+package com.musicstore.bluevelvet.domain.event;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import lombok.*;
+
+/**
+ * Publicado pelo CategoryService a cada mutação de categoria.
+ * Os listeners só o recebem depois do commit da transação.
+ */
+@Getter
+@Builder
+@ToString
+@AllArgsConstructor
+public class CategoryChangeEvent {
+
+    private final CategoryChangeType type;
+
+    private final Long categoryId;
+
+    //  Estado após a mudança (null em DELETED e RESET)
+    private final CategoryResponse category;
+
+    //  Nome anterior, só quando um UPDATED renomeou a categoria
+    private final String previousName;
+
+    public CategoryChangeEvent(CategoryChangeType type, Long categoryId, CategoryResponse category) {
+        this(type, categoryId, category, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Log de auditoria pedido de fora da máquina (bluevelvet.audit.viewer-local-only).
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class AuditAccessDeniedException extends RuntimeException {
+    public AuditAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Banco indisponível (ou circuito aberto) e nenhum dado anterior para servir.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CatalogUnavailableException extends RuntimeException {
+    public CatalogUnavailableException(String message) {
+        super(message);
+    }
+
+    public CatalogUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * US-2032: mais ids do que o limite por chamada de GET /api/categories/batch.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CategoryBatchTooLargeException extends RuntimeException {
+    public CategoryBatchTooLargeException(String message) {
+        super(message);
+    }
+}
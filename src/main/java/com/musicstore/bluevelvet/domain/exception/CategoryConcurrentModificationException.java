@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Outra transação alterou a categoria entre a leitura e a gravação.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CategoryConcurrentModificationException extends RuntimeException {
+    public CategoryConcurrentModificationException(String message) {
+        super(message);
+    }
+}
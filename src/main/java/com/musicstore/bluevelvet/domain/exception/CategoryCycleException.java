@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * US-1307: mover uma categoria para dentro da própria subárvore criaria um ciclo.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CategoryCycleException extends RuntimeException {
+    public CategoryCycleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * US-0904: categorias com produtos não podem ser apagadas.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CategoryHasProductsException extends RuntimeException {
+    public CategoryHasProductsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * O If-Match enviado não corresponde à versão atual da categoria.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class CategoryVersionMismatchException extends RuntimeException {
+    public CategoryVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,9 @@
 package com.musicstore.bluevelvet.domain.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
 public class DuplicateCategoryNameException extends RuntimeException {
     public DuplicateCategoryNameException(String message) {
         super(message);
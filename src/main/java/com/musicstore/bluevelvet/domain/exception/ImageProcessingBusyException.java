@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A fila de geração de variantes está cheia; o cliente deve tentar mais tarde.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImageProcessingBusyException extends RuntimeException {
+    public ImageProcessingBusyException(String message) {
+        super(message);
+    }
+}
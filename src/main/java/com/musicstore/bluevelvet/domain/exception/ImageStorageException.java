@@ -0,0 +1,18 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Falha de I/O ao gravar ou ler imagens no disco.
+ */
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class ImageStorageException extends RuntimeException {
+    public ImageStorageException(String message) {
+        super(message);
+    }
+
+    public ImageStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Campo desconhecido (ou lista vazia) no parâmetro fields=.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCategoryFieldException extends RuntimeException {
+    public InvalidCategoryFieldException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Header If-Match fora da sintaxe de entity-tags (RFC 9110).
+ * Tags válidas que não batem com a versão atual continuam sendo 412.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidIfMatchException extends RuntimeException {
+    public InvalidIfMatchException(String message) {
+        super(message);
+    }
+}
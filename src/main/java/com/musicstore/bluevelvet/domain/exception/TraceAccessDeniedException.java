@@ -0,0 +1,14 @@
+package com.musicstore.bluevelvet.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Visualizador de traces pedido de fora da máquina (bluevelvet.tracing.viewer-local-only).
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class TraceAccessDeniedException extends RuntimeException {
+    public TraceAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,365 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musicstore.bluevelvet.api.response.AuditStatsResponse;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.infrastructure.audit.AuditSpool;
+import com.musicstore.bluevelvet.infrastructure.audit.MpscRingBuffer;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import com.musicstore.bluevelvet.infrastructure.repository.AuditEventRepository;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log de auditoria assíncrono: quem gera o evento (request de categoria,
+ * login, cadastro) só o coloca no MpscRingBuffer, sem I/O nem lock.
+ * A thread audit-writer esvazia o buffer e grava em lotes via JDBC; com o
+ * banco fora (ou o circuito aberto) o lote vai para um segmento local
+ * (AuditSpool), reenviado quando o banco volta, inclusive na próxima subida.
+ * No desligamento o buffer é esvaziado depois que o servidor web para.
+ * <p>
+ * A API de categorias não tem autenticação: o autor de uma mudança de
+ * categoria é o que o cliente declara no header X-Actor (o dashboard manda o
+ * e-mail do login). Serve para rastrear, não como prova de identidade; sem o
+ * header o evento fica com actor null.
+ */
+@Log4j2
+@Service
+public class AuditLogService implements SmartLifecycle {
+
+    public static final String ACTOR_HEADER = "X-Actor";
+
+    //  Ids: epoch ms desde AUDIT_EPOCH (41 bits) | nó (10 bits) | sequência no ms (12 bits)
+    private static final long AUDIT_EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private static final int MAX_SUMMARY_LENGTH = 500;
+    private static final int MAX_ACTOR_LENGTH = 255;
+    private static final long DROP_WARNING_INTERVAL_MS = 10_000;
+
+    private final AuditEventRepository auditEventRepository;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final Tracer tracer;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final AuditSpool spool;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long nodeId;
+
+    @Value("${bluevelvet.audit.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${bluevelvet.audit.spool.replay-interval:30s}")
+    private Duration replayInterval;
+
+    @Value("${bluevelvet.audit.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder spooled = new LongAdder();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    //  Estado da thread audit-writer
+    private long lastId;
+    private boolean spoolPending = true;
+    private long nextReplayAt;
+
+    public AuditLogService(AuditEventRepository auditEventRepository,
+                           DatabaseCircuitBreaker circuitBreaker,
+                           Tracer tracer,
+                           ObjectMapper objectMapper,
+                           @Value("${bluevelvet.audit.enabled:true}") boolean enabled,
+                           @Value("${bluevelvet.audit.buffer-capacity:65536}") int bufferCapacity,
+                           @Value("${bluevelvet.audit.batch-size:500}") int batchSize,
+                           @Value("${bluevelvet.audit.node-id:0}") long nodeId,
+                           @Value("${bluevelvet.audit.spool.location:./data/audit}") Path spoolLocation,
+                           @Value("${bluevelvet.audit.spool.segment-max-size:16MB}") DataSize segmentMaxSize) {
+        if (nodeId < 0 || nodeId > NODE_MASK) {
+            throw new IllegalArgumentException("bluevelvet.audit.node-id must be between 0 and " + NODE_MASK);
+        }
+        this.auditEventRepository = auditEventRepository;
+        this.circuitBreaker = circuitBreaker;
+        this.tracer = tracer;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.nodeId = nodeId;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.spool = new AuditSpool(spoolLocation, segmentMaxSize.toBytes(), objectMapper);
+    }
+
+    /**
+     * Chamado na thread do request: monta o evento e o enfileira. Com o buffer
+     * cheio o evento é descartado e contado, nunca espera.
+     */
+    public void record(AuditEventType type, String actor, AuditSubjectType subjectType, Long subjectId, String summary) {
+        if (!enabled) {
+            return;
+        }
+
+        AuditEvent event = AuditEvent.builder()
+                .occurredAt(Instant.now())
+                .type(type)
+                .actor(actor)
+                .subjectType(subjectType)
+                .subjectId(subjectId)
+                .summary(summary != null && summary.length() > MAX_SUMMARY_LENGTH
+                        ? summary.substring(0, MAX_SUMMARY_LENGTH)
+                        : summary)
+                .clientIp(currentClientIp())
+                .traceId(tracer.currentTraceId())
+                .build();
+
+        if (buffer.offer(event)) {
+            recorded.increment();
+            return;
+        }
+
+        dropped.increment();
+        long now = System.currentTimeMillis();
+        long last = lastDropWarning.get();
+        if (now - last >= DROP_WARNING_INTERVAL_MS && lastDropWarning.compareAndSet(last, now)) {
+            log.error("Audit buffer full ({} events), {} events dropped so far", buffer.capacity(), dropped.sum());
+        }
+    }
+
+    /**
+     * Só mudanças comitadas são auditadas. Roda na thread do request, então
+     * o IP, o trace e o header X-Actor do cliente ainda estão disponíveis.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangeEvent event) {
+        AuditEventType type = switch (event.getType()) {
+            case CREATED -> AuditEventType.CATEGORY_CREATED;
+            case UPDATED -> AuditEventType.CATEGORY_UPDATED;
+            case DELETED -> AuditEventType.CATEGORY_DELETED;
+            // setSubtreeEnabled publica RESET com a categoria; o reset completo, sem
+            case RESET -> event.getCategoryId() != null
+                    ? AuditEventType.CATEGORY_SUBTREE_ENABLED
+                    : AuditEventType.CATEGORIES_RESET;
+        };
+
+        String summary = event.getCategory() != null
+                ? "name=%s, parentId=%s, enabled=%s, version=%s".formatted(
+                event.getCategory().getName(), event.getCategory().getParentId(),
+                event.getCategory().getEnabled(), event.getCategory().getVersion())
+                : null;
+
+        record(type, currentActor(), event.getCategoryId() != null ? AuditSubjectType.CATEGORY : null,
+                event.getCategoryId(), summary);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AuditEvent> findEvents(AuditEventType type, AuditSubjectType subjectType, Long subjectId,
+                                       String actor, Instant from, Instant to, Long beforeId, int limit) {
+        log.debug("Finding audit events type {}, subject {}:{}, actor {}, from {} to {}, before {}, limit {}",
+                type, subjectType, subjectId, actor, from, to, beforeId, limit);
+        return auditEventRepository.search(type, subjectType, subjectId, actor, from, to, beforeId,
+                PageRequest.of(0, limit));
+    }
+
+    public AuditStatsResponse getStats() {
+        return AuditStatsResponse.builder()
+                .enabled(enabled)
+                .bufferCapacity(buffer.capacity())
+                .buffered(buffer.size())
+                .recorded(recorded.sum())
+                .dropped(dropped.sum())
+                .written(written.sum())
+                .spooled(spooled.sum())
+                .build();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+        writer = thread;
+    }
+
+    /**
+     * Espera a thread gravar o que ainda está no buffer (no banco ou no spool).
+     */
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.error("Audit writer did not finish within {}; {} events may be lost", shutdownTimeout, buffer.size());
+        } else {
+            log.info("Audit log flushed on shutdown: {} written, {} spooled, {} dropped",
+                    written.sum(), spooled.sum(), dropped.sum());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    //  Para depois do servidor web (fase DEFAULT_PHASE - 2048): requests em andamento ainda auditam
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long idleParkNanos = flushInterval.toNanos();
+
+        while (true) {
+            buffer.drain(batch::add, batchSize);
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            if (!running) {
+                break;
+            }
+            replaySpoolIfDue();
+            LockSupport.parkNanos(idleParkNanos);
+        }
+
+        try {
+            spool.closeCurrent();
+        } catch (IOException e) {
+            log.warn("Unable to close audit spool segment: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            event.setId(nextId(event.getOccurredAt()));
+        }
+
+        if (!circuitBreaker.isOpen()) {
+            try {
+                auditEventRepository.insertBatch(batch);
+                written.add(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Unable to write {} audit events to the database, spooling: {}", batch.size(), e.getMessage());
+            }
+        }
+
+        try {
+            spool.append(batch);
+            spooled.add(batch.size());
+            spoolPending = true;
+        } catch (IOException e) {
+            dropped.add(batch.size());
+            log.error("Unable to spool {} audit events, they are lost: {}", batch.size(), e.getMessage());
+        }
+        nextReplayAt = System.currentTimeMillis() + replayInterval.toMillis();
+    }
+
+    /**
+     * Reenvia os segmentos, do mais antigo ao mais novo; cada um só é apagado
+     * depois de gravado por inteiro.
+     */
+    private void replaySpoolIfDue() {
+        if (!spoolPending || circuitBreaker.isOpen() || System.currentTimeMillis() < nextReplayAt) {
+            return;
+        }
+
+        try {
+            for (Path segment : spool.segments()) {
+                List<AuditEvent> events = spool.read(segment);
+                for (int from = 0; from < events.size(); from += batchSize) {
+                    auditEventRepository.insertBatch(events.subList(from, Math.min(events.size(), from + batchSize)));
+                }
+                spool.delete(segment);
+                written.add(events.size());
+                log.info("Audit spool segment {} replayed: {} events", segment.getFileName(), events.size());
+            }
+            spoolPending = false;
+        } catch (IOException | RuntimeException e) {
+            nextReplayAt = System.currentTimeMillis() + replayInterval.toMillis();
+            log.warn("Audit spool replay failed, retrying in {}: {}", replayInterval, e.getMessage());
+        }
+    }
+
+    /**
+     * Só a thread audit-writer chama: crescente mesmo com vários eventos no
+     * mesmo milissegundo (esgotada a sequência, avança para o próximo).
+     */
+    private long nextId(Instant occurredAt) {
+        long millis = Math.max(0, occurredAt.toEpochMilli() - AUDIT_EPOCH);
+        long candidate = (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS);
+
+        long id;
+        if (candidate > lastId) {
+            id = candidate;
+        } else if (((lastId + 1) >>> SEQUENCE_BITS & NODE_MASK) == nodeId) {
+            id = lastId + 1;
+        } else {
+            id = (((lastId >>> (NODE_BITS + SEQUENCE_BITS)) + 1) << (NODE_BITS + SEQUENCE_BITS))
+                    | (nodeId << SEQUENCE_BITS);
+        }
+        lastId = id;
+        return id;
+    }
+
+    //  Declarado pelo cliente, não verificado (ver a doc da classe)
+    private static String currentActor() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request)) {
+            return null;
+        }
+        String actor = request.getRequest().getHeader(ACTOR_HEADER);
+        if (actor == null || actor.isBlank()) {
+            return null;
+        }
+        actor = actor.strip();
+        return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+    }
+
+    private static String currentClientIp() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request
+                ? request.getRequest().getRemoteAddr()
+                : null;
+    }
+}
@@ -3,10 +3,15 @@ package com.musicstore.bluevelvet.domain.service;
 import com.musicstore.bluevelvet.api.request.LoginRequest;
 import com.musicstore.bluevelvet.api.request.RegisterRequest;
 import com.musicstore.bluevelvet.api.response.AuthResponse;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
 import com.musicstore.bluevelvet.domain.exception.DuplicateEmailException;
 import com.musicstore.bluevelvet.domain.exception.InvalidCredentialsException;
 import com.musicstore.bluevelvet.infrastructure.entity.User;
 import com.musicstore.bluevelvet.infrastructure.repository.UserRepository;
+import com.musicstore.bluevelvet.infrastructure.tracing.Span;
+import com.musicstore.bluevelvet.infrastructure.tracing.SpanKind;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -18,6 +23,8 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final Tracer tracer;
+    private final AuditLogService auditLogService;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     /**
@@ -41,13 +48,15 @@ public class AuthService {
 
         User newUser = User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodePassword(request.getPassword()))
                 .userRole(request.getRole())
                 .enabled(true)
                 .build();
 
         User saved = userRepository.save(newUser);
         log.info("User registered successfully: {}", saved.getEmail());
+        auditLogService.record(AuditEventType.USER_REGISTERED, saved.getEmail(), AuditSubjectType.USER,
+                saved.getId(), "role=" + saved.getUserRole());
 
         return AuthResponse.builder()
                 .id(saved.getId())
@@ -66,15 +75,21 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.error("User not found: {}", request.getEmail());
+                    auditLogService.record(AuditEventType.LOGIN_FAILED, request.getEmail(), AuditSubjectType.USER,
+                            null, "unknown email");
                     return new InvalidCredentialsException("Incorrect email or password. Please try again");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordMatches(request.getPassword(), user.getPassword())) {
             log.error("Invalid password for user: {}", request.getEmail());
+            auditLogService.record(AuditEventType.LOGIN_FAILED, user.getEmail(), AuditSubjectType.USER,
+                    user.getId(), "invalid password");
             throw new InvalidCredentialsException("Incorrect email or password. Please try again");
         }
 
         log.info("Login successful: {}", user.getEmail());
+        auditLogService.record(AuditEventType.LOGIN_SUCCEEDED, user.getEmail(), AuditSubjectType.USER,
+                user.getId(), null);
 
         return AuthResponse.builder()
                 .id(user.getId())
@@ -83,4 +98,17 @@ public class AuthService {
                 .message("Login successful. Welcome, " + user.getEmail() + " (" + user.getUserRole() + ")")
                 .build();
     }
+
+    //  O BCrypt domina o tempo do login/cadastro: span próprio para aparecer no trace
+    private String encodePassword(String password) {
+        try (Span span = tracer.start("bcrypt.encode", SpanKind.HASHING)) {
+            return passwordEncoder.encode(password);
+        }
+    }
+
+    private boolean passwordMatches(String password, String hash) {
+        try (Span span = tracer.start("bcrypt.matches", SpanKind.HASHING)) {
+            return passwordEncoder.matches(password, hash);
+        }
+    }
 }
@@ -0,0 +1,212 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryChangeResponse;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de mudanças de categorias via Server-Sent Events.
+ * Cada mudança recebe um número de sequência; o cliente pode retomar a partir
+ * do último que viu (Last-Event-ID). Cada cliente tem um buffer limitado:
+ * quem não consome rápido o suficiente é desconectado e reconecta pelo histórico.
+ */
+@Log4j2
+@Service
+public class CategoryChangeFeedService {
+
+    private static final int HISTORY_SIZE = 1000;
+    private static final int CLIENT_BUFFER_SIZE = 256;
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Deque<CategoryChangeResponse> history = new ArrayDeque<>(HISTORY_SIZE);
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "category-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long lastSequence = 0;
+
+    public CategoryChangeFeedService(
+            @Value("${bluevelvet.category.feed.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangeEvent event) {
+        CategoryChangeResponse change;
+
+        synchronized (history) {
+            change = CategoryChangeResponse.builder()
+                    .sequence(++lastSequence)
+                    .type(event.getType())
+                    .categoryId(event.getCategoryId())
+                    .category(event.getCategory())
+                    .occurredAt(Instant.now())
+                    .build();
+
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(change);
+
+            subscribers.forEach(subscriber -> subscriber.offer(change));
+        }
+
+        log.debug("Category change #{} {} published to {} subscribers",
+                change.getSequence(), change.getType(), subscribers.size());
+    }
+
+    /**
+     * Registra um novo cliente. Se lastSeenSequence for informado, reenvia as
+     * mudanças posteriores a ele; se já saíram do histórico (ou não cabem no
+     * buffer do cliente), envia um RESET para o cliente recarregar tudo.
+     */
+    public SseEmitter subscribe(Long lastSeenSequence) {
+        return subscribe(lastSeenSequence, new SseEmitter(EMITTER_TIMEOUT_MS));
+    }
+
+    SseEmitter subscribe(Long lastSeenSequence, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscriber.close(null));
+        emitter.onError(error -> subscriber.close(null));
+
+        synchronized (history) {
+            if (lastSeenSequence != null) {
+                long oldestAvailable = history.isEmpty() ? lastSequence + 1 : history.peekFirst().getSequence();
+                long missed = lastSequence - lastSeenSequence;
+
+                if (lastSeenSequence + 1 < oldestAvailable || missed < 0 || missed >= CLIENT_BUFFER_SIZE) {
+                    log.debug("Sequence {} no longer in history, asking client to reset", lastSeenSequence);
+                    subscriber.offer(CategoryChangeResponse.builder()
+                            .sequence(lastSequence)
+                            .type(CategoryChangeType.RESET)
+                            .occurredAt(Instant.now())
+                            .build());
+                } else {
+                    history.stream()
+                            .filter(change -> change.getSequence() > lastSeenSequence)
+                            .forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        log.debug("New change feed subscriber (resume from {}), total: {}", lastSeenSequence, subscribers.size());
+        return emitter;
+    }
+
+    public long getLastSequence() {
+        synchronized (history) {
+            return lastSequence;
+        }
+    }
+
+    private void sendHeartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Object> buffer = new ArrayBlockingQueue<>(CLIENT_BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean closed = false;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Object message) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                log.warn("Change feed subscriber is too slow, dropping connection");
+                close(null);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Object message;
+                while (!closed && (message = buffer.poll()) != null) {
+                    try {
+                        send(message);
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Change feed subscriber disconnected: {}", e.getMessage());
+                        close(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void send(Object message) throws IOException {
+            if (message == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+
+            CategoryChangeResponse change = (CategoryChangeResponse) message;
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.getSequence()))
+                    .name(change.getType().name())
+                    .data(change));
+        }
+
+        void close(Throwable error) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            if (error == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
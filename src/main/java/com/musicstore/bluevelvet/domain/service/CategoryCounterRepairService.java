@@ -0,0 +1,207 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ProductRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryProductCount;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryTreeNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Recalcula em lote os contadores desnormalizados de Category
+ * (childCount, descendantCount, enabledDescendantCount, productCount,
+ * subtreeProductCount) e as colunas derivadas path e effectively_enabled a
+ * partir de parent_id e enabled; depois alinha product.category_path.
+ * Roda na subida da aplicação (o data.sql não preenche os contadores),
+ * periodicamente e sob demanda via POST /api/categories/counters/repair.
+ * <p>
+ * As escritas do catálogo continuam durante o reparo e ajustam os mesmos
+ * contadores com UPDATEs incrementais. Por isso cada linha só é regravada se
+ * ainda tiver os valores lidos (compare-and-set no WHERE): uma linha que um
+ * writer alterou depois da leitura fica de fora, em vez de perder o delta
+ * dele, e entra na rodada seguinte, que lê de novo numa transação nova.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class CategoryCounterRepairService {
+
+    private static final String UPDATE_COUNTERS_SQL = """
+            UPDATE category
+            SET child_count = ?, descendant_count = ?, enabled_descendant_count = ?,
+                product_count = ?, subtree_product_count = ?,
+                path = ?, effectively_enabled = ?,
+                change_seq = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE id = ?
+              AND child_count = ? AND descendant_count = ? AND enabled_descendant_count = ?
+              AND product_count = ? AND subtree_product_count = ?
+              AND COALESCE(path, '') = ? AND effectively_enabled = ?
+            """;
+
+    //  Rodadas para as linhas que mudaram no meio; o que sobrar fica para o próximo reparo
+    private static final int MAX_ROUNDS = 3;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategorySyncService categorySyncService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bluevelvet.category.counters.repair-on-startup:true}")
+    private boolean repairOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void repairOnStartup() {
+        if (repairOnStartup) {
+            recomputeCounters();
+        }
+    }
+
+    @Scheduled(cron = "${bluevelvet.category.counters.repair-cron:0 0 4 * * *}")
+    public void scheduledRepair() {
+        recomputeCounters();
+    }
+
+    /**
+     * @return quantidade de categorias cujos contadores estavam errados
+     */
+    public int recomputeCounters() {
+        int fixed = 0;
+        for (int round = 1; round <= MAX_ROUNDS; round++) {
+            RepairRound result = transactionTemplate.execute(status -> repairRound());
+            fixed += result.fixed();
+            if (result.skipped() == 0) {
+                break;
+            }
+            log.info("{} categories changed during counter repair round {}", result.skipped(), round);
+            if (round == MAX_ROUNDS) {
+                log.warn("{} categories still changing after {} counter repair rounds, left for the next repair",
+                        result.skipped(), MAX_ROUNDS);
+            }
+        }
+        return fixed;
+    }
+
+    private RepairRound repairRound() {
+        log.debug("Recomputing category counters");
+
+        List<CategoryTreeNode> nodes = categoryRepository.findTreeNodes();
+        Map<Long, List<CategoryTreeNode>> childrenByParent = new HashMap<>();
+        for (CategoryTreeNode node : nodes) {
+            if (node.getParentId() != null) {
+                childrenByParent.computeIfAbsent(node.getParentId(), id -> new ArrayList<>()).add(node);
+            }
+        }
+
+        // Pré-ordem iterativa (pais antes dos filhos): path e estado efetivo
+        Map<Long, String> paths = new HashMap<>(nodes.size() * 2);
+        Map<Long, Boolean> effective = new HashMap<>(nodes.size() * 2);
+        Deque<CategoryTreeNode> stack = new ArrayDeque<>();
+        Deque<CategoryTreeNode> childrenFirst = new ArrayDeque<>();
+        nodes.stream()
+                .filter(node -> node.getParentId() == null)
+                .forEach(stack::push);
+        while (!stack.isEmpty()) {
+            CategoryTreeNode node = stack.pop();
+            Long parentId = node.getParentId();
+            paths.put(node.getId(), (parentId == null ? "/" : paths.get(parentId)) + node.getId() + "/");
+            effective.put(node.getId(), Boolean.TRUE.equals(node.getEnabled())
+                    && (parentId == null || effective.get(parentId)));
+            childrenFirst.push(node); // push inverte a pré-ordem
+            childrenByParent.getOrDefault(node.getId(), List.of()).forEach(stack::push);
+        }
+
+        // Produtos habilitados diretamente em cada categoria (um GROUP BY só)
+        Map<Long, Long> directProducts = productRepository.countEnabledByCategory().stream()
+                .collect(Collectors.toMap(CategoryProductCount::getCategoryId, CategoryProductCount::getProducts));
+
+        // Contadores: filhos são processados antes dos pais
+        // {childCount, descendantCount, enabledDescendantCount, productCount, subtreeProductCount}
+        Map<Long, int[]> counters = new HashMap<>(nodes.size() * 2);
+
+        List<Object[]> updates = new ArrayList<>();
+        for (CategoryTreeNode node : childrenFirst) {
+            List<CategoryTreeNode> children = childrenByParent.getOrDefault(node.getId(), List.of());
+            int descendants = 0;
+            int enabledDescendants = 0;
+            int products = directProducts.getOrDefault(node.getId(), 0L).intValue();
+            int subtreeProducts = products;
+            for (CategoryTreeNode child : children) {
+                int[] childCounters = counters.get(child.getId());
+                descendants += 1 + childCounters[1];
+                enabledDescendants += (Boolean.TRUE.equals(child.getEnabled()) ? 1 : 0) + childCounters[2];
+                subtreeProducts += childCounters[4];
+            }
+            counters.put(node.getId(), new int[]{children.size(), descendants, enabledDescendants,
+                    products, subtreeProducts});
+
+            String path = paths.get(node.getId());
+            Boolean effectivelyEnabled = effective.get(node.getId());
+            if (!Objects.equals(node.getChildCount(), children.size())
+                    || !Objects.equals(node.getDescendantCount(), descendants)
+                    || !Objects.equals(node.getEnabledDescendantCount(), enabledDescendants)
+                    || !Objects.equals(node.getProductCount(), products)
+                    || !Objects.equals(node.getSubtreeProductCount(), subtreeProducts)
+                    || !Objects.equals(node.getPath(), path)
+                    || !Objects.equals(node.getEffectivelyEnabled(), effectivelyEnabled)) {
+                updates.add(new Object[]{children.size(), descendants, enabledDescendants,
+                        products, subtreeProducts, path, effectivelyEnabled, node.getId(),
+                        node.getChildCount(), node.getDescendantCount(), node.getEnabledDescendantCount(),
+                        node.getProductCount(), node.getSubtreeProductCount(),
+                        node.getPath() != null ? node.getPath() : "", node.getEffectivelyEnabled()});
+            }
+        }
+
+        if (childrenFirst.size() != nodes.size()) {
+            log.warn("{} categories are not reachable from a root (cycle in parent_id?)",
+                    nodes.size() - childrenFirst.size());
+        }
+
+        int fixed = 0;
+        if (!updates.isEmpty()) {
+            // Linhas corrigidas entram no changes-since como qualquer outra mudança
+            long seq = categorySyncService.currentChangeSeq();
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_COUNTERS_SQL, updates.stream()
+                    .map(row -> {
+                        Object[] args = new Object[row.length + 1];
+                        System.arraycopy(row, 0, args, 0, 7);
+                        args[7] = seq;
+                        System.arraycopy(row, 7, args, 8, row.length - 7);
+                        return args;
+                    })
+                    .toList());
+            // SUCCESS_NO_INFO (-2): o driver não informa, conta como gravada
+            fixed = (int) Arrays.stream(counts).filter(count -> count != 0).count();
+        }
+
+        // Depois dos paths das categorias: produtos com category_path defasado
+        int productPaths = productRepository.repairCategoryPaths();
+        if (productPaths > 0) {
+            log.info("{} product category paths fixed", productPaths);
+        }
+
+        log.info("Category counters recomputed: {} categories, {} fixed, {} changed concurrently",
+                nodes.size(), fixed, updates.size() - fixed);
+        return new RepairRound(fixed, updates.size() - fixed);
+    }
+
+    private record RepairRound(int fixed, int skipped) {
+    }
+}
@@ -0,0 +1,285 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.infrastructure.index.NameMembershipTable;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nomes de categoria em memória (NameMembershipTable) para as checagens de
+ * duplicidade do create/update e de GET /api/categories/exists: um "não existe"
+ * é respondido sem ir ao MySQL; um "talvez" é confirmado com existsByName.
+ * A unique constraint continua sendo a palavra final (CategoryService traduz
+ * a violação em DuplicateCategoryNameException).
+ * Montado na subida e acrescido a cada categoria criada/alterada neste nó.
+ * Quando a versão do catálogo anda, as sequências comitadas desde a
+ * montagem são comparadas com as que este nó já aplicou: se todas foram
+ * aplicadas, a tabela só avança de versão; um buraco (escrita de outro nó,
+ * exclusão, renomeação, reparo de contadores) faz remontar.
+ * <p>
+ * Escritas de outros nós não geram evento aqui: como no CategorySnapshotService,
+ * a versão do catálogo é relida fora da thread do request no máximo uma vez
+ * por version-check-interval, e com uma versão mais nova que a da tabela toda
+ * resposta é "talvez" até a remontagem. Um nome criado em outro nó pode então
+ * receber "não" por até version-check-interval; nesse intervalo quem barra o
+ * duplicado no create é a unique constraint.
+ */
+@Log4j2
+@Service
+public class CategoryNameIndex {
+
+    private final CategoryRepository categoryRepository;
+    private final CategorySyncService categorySyncService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "category-name-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${bluevelvet.category.name-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bluevelvet.category.name-index.version-check-interval:1s}")
+    private Duration versionCheckInterval;
+
+    //  null até a primeira carga: tudo vai ao banco
+    private volatile NameMembershipTable table;
+    private volatile long builtAtVersion = -1;
+
+    //  Última versão do catálogo lida do banco e quando
+    private volatile long knownCatalogVersion = -1;
+    private volatile long versionCheckedAt = System.nanoTime();
+    private final AtomicBoolean versionCheckScheduled = new AtomicBoolean(false);
+
+    //  Acima disso não vale comparar sequência a sequência: remonta
+    private static final int MAX_SEQS_TO_MATCH = 10_000;
+
+    //  Sequências cujos nomes este nó já pôs na tabela, acima de builtAtVersion
+    private final Set<Long> appliedSeqs = ConcurrentHashMap.newKeySet();
+
+    //  Guardados pelo lock do objeto: nomes acrescidos enquanto a remontagem lia o banco
+    private boolean rebuilding;
+    private final List<String> addedDuringRebuild = new ArrayList<>();
+
+    public CategoryNameIndex(CategoryRepository categoryRepository,
+                             CategorySyncService categorySyncService,
+                             PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.categorySyncService = categorySyncService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * false: nenhuma categoria tem esse nome (a menos de uma escrita
+     * concorrente, que a unique constraint barra). true: confirmar no banco.
+     */
+    public boolean mightExist(String name) {
+        NameMembershipTable current = table;
+        if (current == null) {
+            return true;
+        }
+
+        checkVersionIfDue();
+        // Outro nó comitou depois da remontagem: os nomes dele não estão na tabela
+        if (knownCatalogVersion > builtAtVersion) {
+            return true;
+        }
+        return current.mightContain(name);
+    }
+
+    /**
+     * Com certeza o mesmo nome para a unique constraint (ex.: "rock" e "Rock"):
+     * renomear uma categoria assim não precisa checar as outras. Fora do ASCII
+     * só a igualdade exata conta; o resto vai ao banco.
+     */
+    public static boolean sameName(String a, String b) {
+        return a.equals(b) || NameMembershipTable.isPlainAscii(a) && NameMembershipTable.isPlainAscii(b)
+                && a.equalsIgnoreCase(b);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getCategory() != null) {
+            add(event.getCategory().getName());
+            // Renomeação: o nome antigo só sai da tabela remontando
+            if (event.getPreviousName() == null && event.getCategory().getChangeSeq() != null) {
+                appliedSeqs.add(event.getCategory().getChangeSeq());
+            }
+        } else if (event.getType() == CategoryChangeType.RESET) {
+            rebuilder.execute(this::rebuild);
+        }
+        // DELETED: sem sequência aplicada; o nome fica como "talvez" (o banco
+        // confirma) até a remontagem que o buraco provoca
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bluevelvet.category.name-index.validate-interval:60s}",
+            initialDelayString = "${bluevelvet.category.name-index.validate-interval:60s}")
+    public void scheduledValidation() {
+        if (enabled) {
+            rebuilder.execute(this::validate);
+        }
+    }
+
+    private synchronized void add(String name) {
+        if (name == null) {
+            return;
+        }
+        if (rebuilding) {
+            addedDuringRebuild.add(name);
+        }
+        NameMembershipTable current = table;
+        if (current != null && !current.add(name)) {
+            NameMembershipTable grown = current.copyWithCapacity(current.maxSize() * 2);
+            grown.add(name);
+            table = grown;
+        }
+    }
+
+    /**
+     * O request nunca espera pelo banco aqui: a leitura da versão vai para a
+     * thread category-name-index e este request usa a última versão conhecida.
+     */
+    private void checkVersionIfDue() {
+        if (System.nanoTime() - versionCheckedAt < versionCheckInterval.toNanos()
+                || !versionCheckScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                try {
+                    validate();
+                } finally {
+                    versionCheckScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            versionCheckScheduled.set(false);
+        }
+    }
+
+    private void validate() {
+        // Antes da leitura: com o banco fora, no máximo uma tentativa por intervalo
+        versionCheckedAt = System.nanoTime();
+        try {
+            long version = categorySyncService.latestChangeSeq();
+            if (version == builtAtVersion) {
+                knownCatalogVersion = version;
+                return;
+            }
+            if (appliedLocally(builtAtVersion, version)) {
+                synchronized (this) {
+                    builtAtVersion = Math.max(builtAtVersion, version);
+                    knownCatalogVersion = Math.max(knownCatalogVersion, version);
+                }
+                appliedSeqs.removeIf(seq -> seq <= version);
+                return;
+            }
+            knownCatalogVersion = version;
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Unable to validate category name index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Toda sequência comitada em (from, to] foi aplicada por este nó. Uma
+     * sequência sem linha de alocação (transação desfeita) não muda nada.
+     */
+    private boolean appliedLocally(long from, long to) {
+        if (from < 0 || to < from) {
+            return false;
+        }
+        return categorySyncService.committedChangeSeqs(from, to, MAX_SEQS_TO_MATCH)
+                .map(appliedSeqs::containsAll)
+                .orElse(false);
+    }
+
+    /**
+     * Sempre na thread category-name-index. Lê versão e nomes na mesma
+     * transação e troca a tabela inteira; leitores nunca veem uma pela metade.
+     */
+    private void rebuild() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            rebuilding = true;
+            addedDuringRebuild.clear();
+        }
+
+        try {
+            long[] version = new long[1];
+            List<String> names = readOnlyTransaction.execute(status -> {
+                version[0] = categorySyncService.latestChangeSeq();
+                return categoryRepository.findAllNames();
+            });
+
+            // Folga para os creates até a próxima remontagem sem copiar a tabela
+            NameMembershipTable rebuilt = NameMembershipTable.withCapacity(names.size() * 2 + 1024);
+            for (String name : names) {
+                rebuilt.add(name);
+            }
+
+            synchronized (this) {
+                for (String name : addedDuringRebuild) {
+                    if (!rebuilt.add(name)) {
+                        rebuilt = rebuilt.copyWithCapacity(rebuilt.maxSize() * 2);
+                        rebuilt.add(name);
+                    }
+                }
+                table = rebuilt;
+                builtAtVersion = version[0];
+                knownCatalogVersion = Math.max(knownCatalogVersion, version[0]);
+            }
+            appliedSeqs.removeIf(seq -> seq <= version[0]);
+
+            log.info("Category name index built: {} names ({} without a known ASCII key), catalog version {} ({} ms)",
+                    rebuilt.size(), rebuilt.uncertainNames(), version[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.error("Unable to build category name index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                addedDuringRebuild.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,212 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.domain.exception.CatalogUnavailableException;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Proteção das leituras do catálogo quando o MySQL está lento ou fora:
+ * passa pelo SingleFlight e pelo DatabaseCircuitBreaker e guarda o último
+ * resultado bom de cada chave. Se o banco falha (ou o circuito está aberto),
+ * a leitura devolve esse resultado marcado como antigo (header X-Catalog-Stale)
+ * e uma tarefa em background tenta atualizá-lo.
+ */
+@Log4j2
+@Component
+public class CategoryReadGuard {
+
+    public static final String STALE_HEADER = "X-Catalog-Stale";
+    public static final String STALE_SINCE_HEADER = "X-Catalog-Stale-Since";
+
+    private static final long MIN_RETRY_DELAY_MS = 500;
+    private static final int MAX_REFRESH_ATTEMPTS = 10;
+
+    private final SingleFlight singleFlight;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final TransactionTemplate refreshTransaction;
+    private final Tracer tracer;
+    private final Map<String, LastKnownGood> lastKnownGood;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${bluevelvet.catalog.resilience.refresh-max-backoff:30s}")
+    private Duration refreshMaxBackoff;
+
+    private record LastKnownGood(Object value, Instant loadedAt) {
+    }
+
+    public CategoryReadGuard(SingleFlight singleFlight,
+                             DatabaseCircuitBreaker circuitBreaker,
+                             PlatformTransactionManager transactionManager,
+                             Tracer tracer,
+                             @Value("${bluevelvet.catalog.resilience.stale-max-entries:2000}") int maxEntries,
+                             @Value("${bluevelvet.catalog.resilience.refresh-timeout:5s}") Duration refreshTimeout) {
+        this.singleFlight = singleFlight;
+        this.circuitBreaker = circuitBreaker;
+        this.tracer = tracer;
+
+        // O refresh roda fora do request (sem open-in-view): precisa da própria transação
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setReadOnly(true);
+        this.refreshTransaction.setTimeout((int) Math.max(1, refreshTimeout.toSeconds()));
+
+        this.lastKnownGood = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LastKnownGood> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T read(String key, Supplier<T> loader) {
+        // Dentro de uma transação de escrita nada de resultado compartilhado ou antigo
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.get();
+        }
+
+        if (!circuitBreaker.allowRequest()) {
+            return (T) serveStale(key, loader, null);
+        }
+
+        try {
+            return singleFlight.execute(key, () -> load(key, loader));
+        } catch (RuntimeException e) {
+            if (!isDatabaseFailure(e)) {
+                throw e;
+            }
+            return (T) serveStale(key, loader, e);
+        }
+    }
+
+    /**
+     * Escritas não têm resultado antigo para servir: com o circuito aberto
+     * falham na hora em vez de segurar uma thread até o timeout.
+     */
+    public void ensureWritable() {
+        if (circuitBreaker.isOpen()) {
+            throw new CatalogUnavailableException("Catalog database is unavailable, try again later");
+        }
+    }
+
+    /**
+     * Só quem executa de fato (o líder do SingleFlight) alimenta o breaker e o cache.
+     */
+    private <T> T load(String key, Supplier<T> loader) {
+        try {
+            T value = loader.get();
+            circuitBreaker.recordSuccess();
+            lastKnownGood.put(key, new LastKnownGood(value, Instant.now()));
+            return value;
+        } catch (RuntimeException e) {
+            if (isDatabaseFailure(e)) {
+                circuitBreaker.recordFailure();
+                log.warn("Catalog read {} failed: {}", key, e.getMessage());
+            } else {
+                // O banco respondeu (ex.: categoria não encontrada)
+                circuitBreaker.recordSuccess();
+            }
+            throw e;
+        }
+    }
+
+    private Object serveStale(String key, Supplier<?> loader, RuntimeException cause) {
+        LastKnownGood entry = lastKnownGood.get(key);
+        if (entry == null) {
+            log.error("Catalog read {} failed and there is no previous result to serve", key);
+            throw cause != null
+                    ? new CatalogUnavailableException("Catalog temporarily unavailable", cause)
+                    : new CatalogUnavailableException("Catalog temporarily unavailable");
+        }
+
+        // O corpo ainda não foi escrito, então os headers ainda podem ser definidos
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request
+                && request.getResponse() != null) {
+            request.getResponse().setHeader(STALE_HEADER, "true");
+            request.getResponse().setHeader(STALE_SINCE_HEADER, entry.loadedAt().toString());
+            // O ETag da versão atual (CatalogVersionInterceptor) não vale para este corpo
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        }
+
+        scheduleRefresh(key, loader);
+        log.debug("Serving stale catalog data for {} (loaded at {})", key, entry.loadedAt());
+        return entry.value();
+    }
+
+    private void scheduleRefresh(String key, Supplier<?> loader) {
+        if (refreshing.add(key)) {
+            refresher.schedule(tracer.wrap("catalog-refresh", () -> refresh(key, loader, 1)),
+                    MIN_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refresh(String key, Supplier<?> loader, int attempt) {
+        if (circuitBreaker.allowRequest()) {
+            try {
+                refreshTransaction.execute(status -> load(key, loader));
+                refreshing.remove(key);
+                log.info("Catalog data for {} refreshed after {} attempt(s)", key, attempt);
+                return;
+            } catch (RuntimeException e) {
+                if (!isDatabaseFailure(e)) {
+                    // Ex.: a categoria foi apagada; a próxima leitura vai ao banco
+                    lastKnownGood.remove(key);
+                    refreshing.remove(key);
+                    return;
+                }
+            }
+        }
+
+        if (attempt >= MAX_REFRESH_ATTEMPTS) {
+            // A próxima leitura com dado antigo agenda de novo
+            refreshing.remove(key);
+            log.warn("Giving up refreshing {} after {} attempts", key, attempt);
+            return;
+        }
+
+        long delay = Math.min(refreshMaxBackoff.toMillis(), MIN_RETRY_DELAY_MS << Math.min(attempt, 16));
+        refresher.schedule(tracer.wrap("catalog-refresh", () -> refresh(key, loader, attempt + 1)),
+                delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isDatabaseFailure(Throwable e) {
+        return e instanceof DataAccessException
+                || e instanceof TransactionException
+                || e instanceof PersistenceException;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -1,31 +1,76 @@
 package com.musicstore.bluevelvet.domain.service;
 
 import com.musicstore.bluevelvet.api.request.CategoryRequest;
+import com.musicstore.bluevelvet.api.response.CategoryBatchResponse;
 import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.api.response.ImageVariantStatusResponse;
 import com.musicstore.bluevelvet.domain.converter.CategoryConverter;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.domain.exception.CategoryBatchTooLargeException;
+import com.musicstore.bluevelvet.domain.exception.CategoryConcurrentModificationException;
+import com.musicstore.bluevelvet.domain.exception.CategoryCycleException;
 import com.musicstore.bluevelvet.domain.exception.CategoryHasChildrenException;
+import com.musicstore.bluevelvet.domain.exception.CategoryHasProductsException;
 import com.musicstore.bluevelvet.domain.exception.CategoryNotFoundException;
+import com.musicstore.bluevelvet.domain.exception.CategoryVersionMismatchException;
 import com.musicstore.bluevelvet.domain.exception.DuplicateCategoryNameException;
+import com.musicstore.bluevelvet.domain.exception.InvalidCategoryFieldException;
 import com.musicstore.bluevelvet.infrastructure.entity.Category;
 import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.CategorySpecifications;
+import com.musicstore.bluevelvet.infrastructure.repository.ProductRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryField;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryTreeNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.web.multipart.MultipartFile;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final CategoryRepository categoryRepository;
-    // private final ImageStorageService imageStorageService; // TODO: Implementar depois
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageStorageService imageStorageService;
+    private final ImageVariantService imageVariantService;
+    private final CategorySyncService categorySyncService;
+    private final CategorySnapshotService categorySnapshotService;
+    private final CategoryReadGuard readGuard;
+    private final CategoryNameIndex categoryNameIndex;
+    private final EntityManager entityManager;
 
     // =========================================================================
     // US-2032: Access the Category Management Dashboard
@@ -34,21 +79,78 @@ public class CategoryService {
     public CategoryResponse findById(Long id) {
         log.debug("Finding Category with id: {}", id);
 
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Category with id {} not found", id);
-                    return new CategoryNotFoundException(
-                            "Unable to find a category with id %d".formatted(id)
-                    );
-                });
+        return readGuard.read("findById:" + id, () -> {
+            Category category = categoryRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Category with id {} not found", id);
+                        return new CategoryNotFoundException(
+                                "Unable to find a category with id %d".formatted(id)
+                        );
+                    });
 
-        return CategoryConverter.toResponse(category);
+            return CategoryConverter.toResponse(category);
+        });
+    }
+
+    /**
+     * US-2032: Busca várias categorias numa única query (IN), mantendo a ordem pedida.
+     * Ids inexistentes são devolvidos em missingIds em vez de falhar a chamada.
+     */
+    public CategoryBatchResponse findAllByIds(List<Long> ids) {
+        log.debug("Finding categories by ids: {}", ids);
+
+        Set<Long> requestedIds = ids == null ? Set.of() : ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (requestedIds.size() > MAX_BATCH_SIZE) {
+            log.error("Batch with {} ids exceeds the limit of {}", requestedIds.size(), MAX_BATCH_SIZE);
+            throw new CategoryBatchTooLargeException(
+                    "A batch can contain at most %d ids".formatted(MAX_BATCH_SIZE)
+            );
+        }
+
+        if (requestedIds.isEmpty()) {
+            return CategoryBatchResponse.builder()
+                    .categories(List.of())
+                    .missingIds(List.of())
+                    .build();
+        }
+
+        Map<Long, Category> found = categoryRepository.findAllWithParentByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<CategoryResponse> categories = requestedIds.stream()
+                .filter(found::containsKey)
+                .map(id -> CategoryConverter.toResponse(found.get(id)))
+                .toList();
+
+        List<Long> missingIds = requestedIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            log.debug("Categories not found in batch: {}", missingIds);
+        }
+
+        return CategoryBatchResponse.builder()
+                .categories(categories)
+                .missingIds(missingIds)
+                .build();
     }
 
     public Page<CategoryResponse> findAll(Pageable pageable) {
         log.debug("Finding all categories with pageable: {}", pageable);
-        return categoryRepository.findAll(pageable)
-                .map(CategoryConverter::toResponse);
+        return readGuard.read("findAll:" + pageKey(pageable), () ->
+                categoryRepository.findAll(pageable)
+                        .map(CategoryConverter::toResponse));
+    }
+
+    /**
+     * Mesma listagem só com os campos pedidos (fields=id,name,...).
+     */
+    public Page<Map<String, Object>> findAll(Pageable pageable, String fields) {
+        return findProjected("findAll", null, pageable, fields);
     }
 
     /**
@@ -59,14 +161,18 @@ public class CategoryService {
     public void resetToInitialState() {
         log.debug("Resetting categories to initial state");
 
-        // Deletar todas as categorias
+        // Deletar todas as categorias (os produtos vão junto)
+        productRepository.deleteAllInBatch();
         categoryRepository.deleteAll();
+        categorySyncService.requireFullResync();
         log.info("All categories deleted");
 
         // TODO: Chamar script de dados iniciais
         // categoryDataLoader.loadInitialCategories();
 
         log.info("Categories reset to initial state (10 categories)");
+
+        publishChange(CategoryChangeType.RESET, null, null);
     }
 
     // =========================================================================
@@ -77,7 +183,7 @@ public class CategoryService {
     public CategoryResponse createCategory(CategoryRequest request) {
         log.debug("Creating new category: {}", request.getName());
 
-        if (categoryRepository.existsByName(request.getName())) {
+        if (nameExists(request.getName())) {
             log.error("Category name already exists: {}", request.getName());
             throw new DuplicateCategoryNameException(
                     "Category name already exists: " + request.getName()
@@ -97,16 +203,26 @@ public class CategoryService {
             category.setParent(parent);
         }
 
-        // TODO: Upload de imagem (implementar depois) - US-1306
-        // if (request.getImage() != null) {
-        //     String imagePath = imageStorageService.saveImage(request.getImage());
-        //     category.setImage(imagePath);
-        // }
+        // Upload de imagem (US-1306): o arquivo vai por POST /api/categories/{id}/image;
+        // aqui o request só pode referenciar uma imagem já armazenada
+
+        category.setEffectivelyEnabled(category.getEnabled() && isEffectivelyEnabled(category.getParent()));
+        category.setChangeSeq(categorySyncService.currentChangeSeq());
 
-        Category savedCategory = categoryRepository.save(category);
+        Category savedCategory;
+        try {
+            savedCategory = categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateNameOr(e, request.getName());
+        }
+        savedCategory.setPath(childPath(savedCategory.getParent(), savedCategory.getId()));
+        updateSubtreeCounters(savedCategory, null, false);
+        imageVariantService.scheduleVariants(savedCategory.getId(), savedCategory.getImage());
         log.info("Category created with id: {}", savedCategory.getId());
 
-        return CategoryConverter.toResponse(savedCategory);
+        CategoryResponse response = CategoryConverter.toResponse(savedCategory);
+        publishChange(CategoryChangeType.CREATED, savedCategory.getId(), response);
+        return response;
     }
 
     // =========================================================================
@@ -115,18 +231,24 @@ public class CategoryService {
 
     @Transactional
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
+        return updateCategory(id, request, null);
+    }
+
+    /**
+     * US-1307: Update category (PUT - substitui todos os campos)
+     * expectedVersions vêm do If-Match; null aceita qualquer versão.
+     */
+    @Transactional
+    public CategoryResponse updateCategory(Long id, CategoryRequest request, Set<Long> expectedVersions) {
         log.debug("Updating category with id: {}", id);
 
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Category not found: {}", id);
-                    return new CategoryNotFoundException(
-                            "Category not found with id: " + id
-                    );
-                });
+        Category category = findForUpdate(id, request, expectedVersions);
+        String previousName = category.getName();
+        Category previousParent = category.getParent();
+        boolean previouslyEnabled = Boolean.TRUE.equals(category.getEnabled());
 
-        if (!category.getName().equals(request.getName())
-                && categoryRepository.existsByName(request.getName())) {
+        if (!CategoryNameIndex.sameName(category.getName(), request.getName())
+                && nameExists(request.getName(), id)) {
             log.error("Category name already exists: {}", request.getName());
             throw new DuplicateCategoryNameException(
                     "Category name already exists: " + request.getName()
@@ -137,33 +259,220 @@ public class CategoryService {
         category.setEnabled(request.getEnabled());
 
         if (request.getParentId() != null) {
-            Category parent = categoryRepository.findById(request.getParentId())
-                    .orElseThrow(() -> {
-                        log.error("Parent category not found: {}", request.getParentId());
-                        return new CategoryNotFoundException(
-                                "Parent category not found: " + request.getParentId()
-                        );
-                    });
-            category.setParent(parent);
+            category.setParent(findNewParent(category, request.getParentId()));
         } else {
             category.setParent(null); // Tornar root category
         }
 
-        // TODO: Tratamento de imagem (US-1307)
-        // if (request.getImage() != null) {
-        //     // Deletar imagem antiga se existir
-        //     if (category.getImage() != null) {
-        //         imageStorageService.deleteImage(category.getImage());
-        //     }
-        //     // Salvar nova imagem
-        //     String newImagePath = imageStorageService.saveImage(request.getImage());
-        //     category.setImage(newImagePath);
-        // }
+        replaceImage(category, request.getImage());
+
+        return saveUpdated(category, previousName, previousParent, previouslyEnabled);
+    }
+
+    /**
+     * US-1307: Partial update (PATCH) - só os campos não nulos do request são alterados.
+     * Com @DynamicUpdate o UPDATE gerado contém apenas as colunas modificadas.
+     * Para tornar uma categoria raiz use o PUT.
+     */
+    @Transactional
+    public CategoryResponse patchCategory(Long id, CategoryRequest request, Set<Long> expectedVersions) {
+        log.debug("Patching category with id: {}", id);
+
+        Category category = findForUpdate(id, request, expectedVersions);
+        String previousName = category.getName();
+        Category previousParent = category.getParent();
+        boolean previouslyEnabled = Boolean.TRUE.equals(category.getEnabled());
+
+        if (request.getName() != null && !category.getName().equals(request.getName())) {
+            if (!CategoryNameIndex.sameName(category.getName(), request.getName())
+                    && nameExists(request.getName(), id)) {
+                log.error("Category name already exists: {}", request.getName());
+                throw new DuplicateCategoryNameException(
+                        "Category name already exists: " + request.getName()
+                );
+            }
+            category.setName(request.getName());
+        }
+
+        if (request.getEnabled() != null) {
+            category.setEnabled(request.getEnabled());
+        }
+
+        if (request.getParentId() != null) {
+            category.setParent(findNewParent(category, request.getParentId()));
+        }
 
-        Category saved = categoryRepository.save(category);
-        log.info("Category updated with id: {}", saved.getId());
+        replaceImage(category, request.getImage());
 
-        return CategoryConverter.toResponse(saved);
+        return saveUpdated(category, previousName, previousParent, previouslyEnabled);
+    }
+
+    /**
+     * US-1307: Upload da imagem da categoria. A imagem anterior é apagada
+     * depois do commit, se nenhuma outra categoria a referencia.
+     * As variantes (thumb/medium) são geradas em background; o andamento
+     * fica em GET /api/categories/{id}/image/status.
+     */
+    @Transactional
+    public CategoryResponse updateImage(Long id, MultipartFile file, Set<Long> expectedVersions) {
+        log.debug("Uploading image for category with id: {}", id);
+
+        Category category = findForUpdate(id, new CategoryRequest(), expectedVersions);
+        String previousName = category.getName();
+        Category previousParent = category.getParent();
+        boolean previouslyEnabled = Boolean.TRUE.equals(category.getEnabled());
+
+        imageVariantService.checkCapacity();
+        replaceImage(category, imageStorageService.saveImage(file));
+
+        return saveUpdated(category, previousName, previousParent, previouslyEnabled);
+    }
+
+    private void replaceImage(Category category, String image) {
+        if (image == null || image.equals(category.getImage())) {
+            return;
+        }
+        imageStorageService.deleteImageIfOrphaned(category.getImage());
+        category.setImage(image);
+        category.setImageVariants(null);
+        imageVariantService.scheduleVariants(category.getId(), image);
+    }
+
+    public ImageVariantStatusResponse getImageStatus(Long id) {
+        log.debug("Finding image status for category with id: {}", id);
+
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Category not found: {}", id);
+                    return new CategoryNotFoundException(
+                            "Category not found with id: " + id
+                    );
+                });
+
+        return imageVariantService.getStatus(id, category);
+    }
+
+    /**
+     * Trava a linha da categoria até o commit (só ela): dois PUTs na mesma
+     * categoria não se cruzam, e o path lido aqui é o atual.
+     */
+    private Category findForUpdate(Long id, CategoryRequest request, Set<Long> expectedVersions) {
+        Category category = categoryRepository.findForUpdate(id)
+                .orElseThrow(() -> {
+                    log.error("Category not found: {}", id);
+                    return new CategoryNotFoundException(
+                            "Category not found with id: " + id
+                    );
+                });
+
+        if (expectedVersions != null && !expectedVersions.contains(category.getVersion())) {
+            log.error("Category {} is at version {}, If-Match expected {}", id, category.getVersion(), expectedVersions);
+            throw new CategoryVersionMismatchException(
+                    "Category %d was modified (current version %d)".formatted(id, category.getVersion())
+            );
+        }
+
+        if (request.getVersion() != null && !request.getVersion().equals(category.getVersion())) {
+            log.error("Category {} is at version {}, request was based on {}", id, category.getVersion(), request.getVersion());
+            throw new CategoryConcurrentModificationException(
+                    "Category %d was modified by someone else (current version %d)".formatted(id, category.getVersion())
+            );
+        }
+
+        return category;
+    }
+
+    private Category findNewParent(Category category, Long parentId) {
+        Category parent = categoryRepository.findById(parentId)
+                .orElseThrow(() -> {
+                    log.error("Parent category not found: {}", parentId);
+                    return new CategoryNotFoundException(
+                            "Parent category not found: " + parentId
+                    );
+                });
+
+        if (category.getParent() != null && category.getParent().getId().equals(parentId)) {
+            return parent;
+        }
+
+        lockNewParentChain(category, parent);
+
+        // Mover para dentro da própria subárvore criaria um ciclo
+        if (parent.getId().equals(category.getId())
+                || (parent.getPath() != null && parent.getPath().contains("/" + category.getId() + "/"))) {
+            log.error("Cannot move category {} under its own descendant {}", category.getId(), parentId);
+            throw new CategoryCycleException(
+                    "A category cannot be moved under itself or one of its subcategories"
+            );
+        }
+
+        return parent;
+    }
+
+    /**
+     * Movimentos concorrentes (A para baixo de B e B para baixo de A) passariam
+     * os dois pela checagem de ciclo: trava o novo pai e os ancestrais dele em
+     * ordem de id e relê o path sob o lock. Se a cadeia mudou depois da leitura,
+     * ou o banco desfez a espera por deadlock, o cliente recebe 409 e repete.
+     */
+    private void lockNewParentChain(Category category, Category parent) {
+        String path = parent.getPath();
+        Set<Long> chain = new LinkedHashSet<>();
+        chain.add(parent.getId());
+        if (path != null) {
+            Arrays.stream(path.split("/"))
+                    .filter(id -> !id.isEmpty())
+                    .map(Long::valueOf)
+                    .forEach(chain::add);
+        }
+
+        try {
+            categoryRepository.lockAllByIdIn(chain);
+            entityManager.refresh(parent, LockModeType.PESSIMISTIC_WRITE);
+        } catch (PessimisticLockingFailureException e) {
+            log.error("Lock conflict moving category {} under {}", category.getId(), parent.getId());
+            throw new CategoryConcurrentModificationException(
+                    "Category %d is being moved concurrently, reload and try again".formatted(category.getId())
+            );
+        }
+
+        if (!Objects.equals(path, parent.getPath())) {
+            log.error("Parent category {} moved while category {} was being moved under it",
+                    parent.getId(), category.getId());
+            throw new CategoryConcurrentModificationException(
+                    "Category %d was moved by someone else, reload and try again".formatted(parent.getId())
+            );
+        }
+    }
+
+    private CategoryResponse saveUpdated(Category category, String previousName, Category previousParent,
+                                         boolean previouslyEnabled) {
+        category.setChangeSeq(categorySyncService.currentChangeSeq());
+
+        Category saved;
+        try {
+            // flush aqui para que um conflito de versão apareça como 409 e não no commit
+            saved = categoryRepository.saveAndFlush(category);
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Concurrent update detected on category {}", category.getId());
+            throw new CategoryConcurrentModificationException(
+                    "Category %d was modified by someone else, reload and try again".formatted(category.getId())
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateNameOr(e, category.getName());
+        }
+        updateSubtreeCounters(saved, previousParent, previouslyEnabled);
+        updateTreeState(saved, previousParent, previouslyEnabled);
+        log.info("Category updated with id: {} (version {})", saved.getId(), saved.getVersion());
+
+        CategoryResponse response = CategoryConverter.toResponse(saved);
+        eventPublisher.publishEvent(CategoryChangeEvent.builder()
+                .type(CategoryChangeType.UPDATED)
+                .categoryId(saved.getId())
+                .category(response)
+                .previousName(previousName.equals(saved.getName()) ? null : previousName)
+                .build());
+        return response;
     }
 
     // =========================================================================
@@ -194,13 +503,28 @@ public class CategoryService {
             );
         }
 
-        // TODO: Deletar imagem (implementar depois) - US-0904
-        // if (category.getImage() != null) {
-        //     imageStorageService.deleteImage(category.getImage());
-        // }
+        if (productRepository.existsByCategoryId(id)) {
+            log.error("Cannot delete category {} - has products", id);
+            throw new CategoryHasProductsException(
+                    "Cannot delete category with products. Move or remove the products first."
+            );
+        }
+
+        // US-0904: a imagem é apagada depois do commit se ninguém mais a usa
+        imageStorageService.deleteImageIfOrphaned(category.getImage());
 
+        if (category.getParent() != null) {
+            categoryRepository.adjustChildCount(category.getParent().getId(), -1,
+                    categorySyncService.currentChangeSeq());
+            adjustAncestorCounters(category.getParent(), -1,
+                    Boolean.TRUE.equals(category.getEnabled()) ? -1 : 0);
+        }
+
+        categorySyncService.recordDeletion(category);
         categoryRepository.deleteById(id);
         log.info("Category {} deleted successfully", id);
+
+        publishChange(CategoryChangeType.DELETED, id, null);
     }
 
     // =========================================================================
@@ -212,8 +536,16 @@ public class CategoryService {
      */
     public Page<CategoryResponse> findTopLevelCategories(Pageable pageable) {
         log.debug("Finding top-level categories (no parent)");
-        return categoryRepository.findByParentIsNull(pageable)
-                .map(CategoryConverter::toResponse);
+        return readGuard.read("findTopLevelCategories:" + pageKey(pageable), () ->
+                categoryRepository.findByParentIsNull(pageable)
+                        .map(CategoryConverter::toResponse));
+    }
+
+    /**
+     * US-0907: Top-level só com os campos pedidos (ex.: dropdown de categoria pai)
+     */
+    public Page<Map<String, Object>> findTopLevelCategories(Pageable pageable, String fields) {
+        return findProjected("findTopLevelCategories", CategorySpecifications.isRoot(), pageable, fields);
     }
 
     /**
@@ -221,8 +553,9 @@ public class CategoryService {
      */
     public Page<CategoryResponse> findTopLevelWithChildren(Pageable pageable) {
         log.debug("Finding top-level categories with children");
-        return categoryRepository.findByParentIsNull(pageable)
-                .map(CategoryConverter::toResponseWithChildren);
+        return readGuard.read("findTopLevelWithChildren:" + pageKey(pageable), () ->
+                categoryRepository.findByParentIsNull(pageable)
+                        .map(CategoryConverter::toResponseWithChildren));
     }
 
     /**
@@ -231,15 +564,17 @@ public class CategoryService {
     public CategoryResponse findByIdWithChildren(Long id) {
         log.debug("Finding category with children, id: {}", id);
 
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Category not found: {}", id);
-                    return new CategoryNotFoundException(
-                            "Category not found with id: " + id
-                    );
-                });
+        return readGuard.read("findByIdWithChildren:" + id, () -> {
+            Category category = categoryRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Category not found: {}", id);
+                        return new CategoryNotFoundException(
+                                "Category not found with id: " + id
+                        );
+                    });
 
-        return CategoryConverter.toResponseWithChildren(category);
+            return CategoryConverter.toResponseWithChildren(category);
+        });
     }
 
     /**
@@ -248,16 +583,36 @@ public class CategoryService {
     public List<CategoryResponse> findSubcategories(Long parentId) {
         log.debug("Finding subcategories of category: {}", parentId);
 
-        if (!categoryRepository.existsById(parentId)) {
-            log.error("Parent category not found: {}", parentId);
-            throw new CategoryNotFoundException(
-                    "Parent category not found with id: " + parentId
-            );
-        }
+        return readGuard.read("findSubcategories:" + parentId, () -> {
+            if (!categoryRepository.existsById(parentId)) {
+                log.error("Parent category not found: {}", parentId);
+                throw new CategoryNotFoundException(
+                        "Parent category not found with id: " + parentId
+                );
+            }
+
+            return categoryRepository.findByParentId(parentId).stream()
+                    .map(CategoryConverter::toResponse)
+                    .toList();
+        });
+    }
 
-        return categoryRepository.findByParentId(parentId).stream()
-                .map(CategoryConverter::toResponse)
-                .toList();
+    public List<Map<String, Object>> findSubcategories(Long parentId, String fields) {
+        log.debug("Finding subcategories of category: {} (fields: {})", parentId, fields);
+
+        Set<CategoryField> selected = parseFields(fields);
+        return readGuard.read("findSubcategories:" + parentId + ":" + selected, () -> {
+            if (!categoryRepository.existsById(parentId)) {
+                log.error("Parent category not found: {}", parentId);
+                throw new CategoryNotFoundException(
+                        "Parent category not found with id: " + parentId
+                );
+            }
+
+            return categoryRepository.findProjected(CategorySpecifications.hasParent(parentId), selected, Pageable.unpaged())
+                    .map(tuple -> CategoryConverter.toFields(tuple, selected))
+                    .getContent();
+        });
     }
 
     // =========================================================================
@@ -269,8 +624,17 @@ public class CategoryService {
      */
     public Page<CategoryResponse> searchByName(String name, Pageable pageable) {
         log.debug("Searching categories by name: {}", name);
-        return categoryRepository.findByNameContainingIgnoreCase(name, pageable)
-                .map(CategoryConverter::toResponse);
+        return readGuard.read("searchByName:" + name.toLowerCase() + ":" + pageKey(pageable), () ->
+                categoryRepository.findByNameContainingIgnoreCase(name, pageable)
+                        .map(CategoryConverter::toResponse));
+    }
+
+    /**
+     * US-0914: Busca só com os campos pedidos (ex.: typeahead com id e name)
+     */
+    public Page<Map<String, Object>> searchByName(String name, Pageable pageable, String fields) {
+        return findProjected("searchByName:" + name.toLowerCase(),
+                CategorySpecifications.nameContains(name), pageable, fields);
     }
 
     // =========================================================================
@@ -291,24 +655,45 @@ public class CategoryService {
                 .map(CategoryConverter::toResponse);
     }
 
+    public Page<Map<String, Object>> findAllSorted(Pageable pageable, String sortBy, String direction, String fields) {
+        Pageable sortedPageable = PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                Sort.by(Sort.Direction.fromString(direction), sortBy)
+        );
+        return findProjected("findAllSorted", null, sortedPageable, fields);
+    }
+
     // =========================================================================
     // US-2100: List products within a category for the online shopper
     // =========================================================================
 
+    /**
+     * US-2100: "Enabled" aqui é o estado efetivo: categorias com algum
+     * ancestral desabilitado também ficam de fora.
+     */
     public Page<CategoryResponse> findAllEnabled(Pageable pageable) {
         log.debug("Finding all enabled categories");
-        return categoryRepository.findByEnabledTrue(pageable)
-                .map(CategoryConverter::toResponse);
+        return readGuard.read("findAllEnabled:" + pageKey(pageable), () ->
+                categoryRepository.findByEffectivelyEnabledTrue(pageable)
+                        .map(CategoryConverter::toResponse));
+    }
+
+    public Page<Map<String, Object>> findAllEnabled(Pageable pageable, String fields) {
+        return findProjected("findAllEnabled", CategorySpecifications.effectivelyEnabled(), pageable, fields);
     }
 
     /**
      * US-2100: List enabled categories for online shoppers
+     * Servido pelo snapshot mapeado quando ele está em dia; senão vai ao banco.
      */
     public List<CategoryResponse> findEnabledCategoriesForShopper() {
         log.debug("Finding enabled categories for shopper");
-        return categoryRepository.findByEnabledTrueOrderByNameAsc().stream()
-                .map(CategoryConverter::toResponse)
-                .toList();
+        return categorySnapshotService.findEnabledCategories()
+                .orElseGet(() -> readGuard.read("findEnabledCategoriesForShopper", () ->
+                        categoryRepository.findByEffectivelyEnabledTrueOrderByNameAsc().stream()
+                                .map(CategoryConverter::toResponse)
+                                .toList()));
     }
 
     /**
@@ -317,13 +702,52 @@ public class CategoryService {
     public List<CategoryResponse> findEnabledCategoriesWithChildren() {
         log.debug("Finding enabled categories with children for shopper");
 
-        // Buscar apenas categorias raiz habilitadas
-        List<Category> rootCategories = categoryRepository
-                .findByParentIsNullAndEnabledTrue();
+        Optional<List<CategoryResponse>> fromSnapshot = categorySnapshotService.findEnabledRootsWithChildren();
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+
+        return readGuard.read("findEnabledCategoriesWithChildren", () -> {
+            // Buscar apenas categorias raiz habilitadas
+            List<Category> rootCategories = categoryRepository
+                    .findByParentIsNullAndEffectivelyEnabledTrue();
 
-        return rootCategories.stream()
-                .map(CategoryConverter::toResponseWithChildren)
-                .toList();
+            return rootCategories.stream()
+                    .map(CategoryConverter::toResponseWithVisibleChildren)
+                    .toList();
+        });
+    }
+
+    /**
+     * US-2100: Habilita/desabilita a categoria e toda a sua subárvore de uma vez
+     * (ex.: tirar "Merchandise" do ar durante uma temporada).
+     */
+    @Transactional
+    public CategoryResponse setSubtreeEnabled(Long id, boolean enabled) {
+        log.debug("Setting subtree of category {} enabled={}", id, enabled);
+
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Category not found: {}", id);
+                    return new CategoryNotFoundException(
+                            "Category not found with id: " + id
+                    );
+                });
+
+        int previousEnabledInSubtree = (Boolean.TRUE.equals(category.getEnabled()) ? 1 : 0)
+                + category.getEnabledDescendantCount();
+        int enabledInSubtree = enabled ? 1 + category.getDescendantCount() : 0;
+        boolean effective = enabled && isEffectivelyEnabled(category.getParent());
+
+        adjustAncestorCounters(category.getParent(), 0, enabledInSubtree - previousEnabledInSubtree);
+        int updated = categoryRepository.updateSubtreeEnabled(
+                category.getPath(), enabled, effective, enabled ? 1 : 0, categorySyncService.currentChangeSeq());
+        log.info("Subtree of category {} set to enabled={} ({} categories)", id, enabled, updated);
+
+        CategoryResponse response = findById(id);
+        // Vários registros mudaram de uma vez: os clientes do feed recarregam
+        publishChange(CategoryChangeType.RESET, id, response);
+        return response;
     }
 
     // =========================================================================
@@ -363,11 +787,228 @@ public class CategoryService {
         return CategoryConverter.toResponse(category);
     }
 
+    /**
+     * Usa o contador desnormalizado (leitura por PK) em vez de consultar os filhos.
+     */
     public boolean hasChildren(Long categoryId) {
-        return categoryRepository.existsByParentId(categoryId);
+        return categoryRepository.findChildCountById(categoryId).orElse(0) > 0;
     }
 
     public boolean existsByName(String name) {
-        return categoryRepository.existsByName(name);
+        return nameExists(name);
+    }
+
+    /**
+     * Só um "talvez" do CategoryNameIndex vai ao banco.
+     */
+    private boolean nameExists(String name) {
+        return categoryNameIndex.mightExist(name) && categoryRepository.existsByName(name);
+    }
+
+    //  Renomeação: "Café" para "Cafe" é o mesmo nome para o MySQL e não conflita consigo mesma
+    private boolean nameExists(String name, Long exceptId) {
+        return categoryNameIndex.mightExist(name) && categoryRepository.existsByNameAndIdNot(name, exceptId);
+    }
+
+    /**
+     * A unique constraint de name barra o que passou pela checagem
+     * (ex.: dois creates concorrentes com o mesmo nome).
+     */
+    private static RuntimeException duplicateNameOr(DataIntegrityViolationException e, String name) {
+        if (!isUniqueViolation(e)) {
+            return e;
+        }
+        log.error("Category name already exists (unique constraint): {}", name);
+        return new DuplicateCategoryNameException("Category name already exists: " + name);
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            // MySQL ER_DUP_ENTRY; 23505 é o SQLState de unique violation do H2 (perfil loadtest)
+            if (cause instanceof SQLException sql
+                    && (sql.getErrorCode() == 1062 || "23505".equals(sql.getSQLState()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mantém childCount, descendantCount e enabledDescendantCount dos ancestrais
+     * depois de criar, mover ou (des)habilitar uma categoria. Roda na mesma
+     * transação da mutação, com UPDATEs incrementais no banco.
+     */
+    private void updateSubtreeCounters(Category category, Category previousParent, boolean previouslyEnabled) {
+        Category parent = category.getParent();
+        Long previousParentId = previousParent != null ? previousParent.getId() : null;
+        Long parentId = parent != null ? parent.getId() : null;
+
+        int subtreeSize = 1 + category.getDescendantCount();
+        int previousEnabledInSubtree = (previouslyEnabled ? 1 : 0) + category.getEnabledDescendantCount();
+        int enabledInSubtree = (Boolean.TRUE.equals(category.getEnabled()) ? 1 : 0) + category.getEnabledDescendantCount();
+
+        if (Objects.equals(previousParentId, parentId)) {
+            adjustAncestorCounters(parent, 0, enabledInSubtree - previousEnabledInSubtree);
+            return;
+        }
+
+        // Os produtos da subárvore mudam de ancestrais junto com ela
+        int subtreeProducts = category.getSubtreeProductCount();
+
+        if (previousParent != null) {
+            categoryRepository.adjustChildCount(previousParentId, -1, categorySyncService.currentChangeSeq());
+            adjustAncestorCounters(previousParent, -subtreeSize, -previousEnabledInSubtree);
+            adjustAncestorProductCounts(previousParent, -subtreeProducts);
+        }
+
+        if (parent != null) {
+            categoryRepository.adjustChildCount(parentId, 1, categorySyncService.currentChangeSeq());
+            adjustAncestorCounters(parent, subtreeSize, enabledInSubtree);
+            adjustAncestorProductCounts(parent, subtreeProducts);
+        }
+    }
+
+    /**
+     * Mantém path e effectivelyEnabled da subárvore depois de mover ou
+     * (des)habilitar uma categoria.
+     */
+    private void updateTreeState(Category category, Category previousParent, boolean previouslyEnabled) {
+        Category parent = category.getParent();
+        boolean parentChanged = !Objects.equals(
+                previousParent != null ? previousParent.getId() : null,
+                parent != null ? parent.getId() : null);
+        boolean enabled = Boolean.TRUE.equals(category.getEnabled());
+
+        if (parentChanged) {
+            String newPath = childPath(parent, category.getId());
+            categoryRepository.movePaths(category.getPath(), newPath, categorySyncService.currentChangeSeq());
+            productRepository.moveCategoryPaths(category.getPath(), newPath);
+            category.setPath(newPath);
+        }
+
+        if (!parentChanged && enabled == previouslyEnabled) {
+            return;
+        }
+
+        boolean effective = enabled && isEffectivelyEnabled(parent);
+        category.setEffectivelyEnabled(effective);
+
+        // Sem descendentes desabilitados, a subárvore inteira herda o estado num UPDATE só
+        if (!effective || category.getEnabledDescendantCount().equals(category.getDescendantCount())) {
+            categoryRepository.updateEffectivelyEnabledInSubtree(category.getPath(), effective,
+                    categorySyncService.currentChangeSeq());
+            return;
+        }
+
+        // Subárvore mista: calcula em memória (nós ordenados por path, pais antes dos filhos)
+        Map<Long, Boolean> effectiveById = new HashMap<>();
+        List<Long> visibleIds = new ArrayList<>();
+        List<Long> hiddenIds = new ArrayList<>();
+        for (CategoryTreeNode node : categoryRepository.findSubtreeNodes(category.getPath())) {
+            boolean nodeEffective = node.getId().equals(category.getId())
+                    ? effective
+                    : Boolean.TRUE.equals(node.getEnabled())
+                    && effectiveById.getOrDefault(node.getParentId(), false);
+            effectiveById.put(node.getId(), nodeEffective);
+            (nodeEffective ? visibleIds : hiddenIds).add(node.getId());
+        }
+
+        if (!visibleIds.isEmpty()) {
+            categoryRepository.updateEffectivelyEnabled(visibleIds, true, categorySyncService.currentChangeSeq());
+        }
+        if (!hiddenIds.isEmpty()) {
+            categoryRepository.updateEffectivelyEnabled(hiddenIds, false, categorySyncService.currentChangeSeq());
+        }
+    }
+
+    private static boolean isEffectivelyEnabled(Category category) {
+        return category == null || Boolean.TRUE.equals(category.getEffectivelyEnabled());
+    }
+
+    private static String childPath(Category parent, Long id) {
+        String parentPath = parent != null && parent.getPath() != null ? parent.getPath() : "/";
+        return parentPath + id + "/";
+    }
+
+    private void adjustAncestorCounters(Category parent, int sizeDelta, int enabledDelta) {
+        if (parent == null || (sizeDelta == 0 && enabledDelta == 0)) {
+            return;
+        }
+
+        List<Long> ancestorIds = new ArrayList<>();
+        for (Category ancestor = parent; ancestor != null; ancestor = ancestor.getParent()) {
+            ancestorIds.add(ancestor.getId());
+        }
+
+        categoryRepository.adjustDescendantCounts(ancestorIds, sizeDelta, enabledDelta,
+                categorySyncService.currentChangeSeq());
+    }
+
+    private void adjustAncestorProductCounts(Category parent, int delta) {
+        if (parent == null || delta == 0) {
+            return;
+        }
+
+        List<Long> ancestorIds = new ArrayList<>();
+        for (Category ancestor = parent; ancestor != null; ancestor = ancestor.getParent()) {
+            ancestorIds.add(ancestor.getId());
+        }
+
+        categoryRepository.adjustSubtreeProductCounts(ancestorIds, delta, categorySyncService.currentChangeSeq());
+    }
+
+    /**
+     * Listagem com projeção: só as colunas dos campos pedidos são selecionadas
+     * e o join com o parent só acontece se parentName for pedido.
+     */
+    private Page<Map<String, Object>> findProjected(String key, Specification<Category> spec,
+                                                    Pageable pageable, String fields) {
+        Set<CategoryField> selected = parseFields(fields);
+        log.debug("Finding categories ({}) with fields {} and pageable: {}", key, selected, pageable);
+
+        return readGuard.read(key + ":" + selected + ":" + pageKey(pageable), () ->
+                categoryRepository.findProjected(spec, selected, pageable)
+                        .map(tuple -> CategoryConverter.toFields(tuple, selected)));
+    }
+
+    /**
+     * "id, name" -> {ID, NAME}. A ordem do JSON segue a de CategoryResponse,
+     * não a do parâmetro, para que a mesma lista em outra ordem compartilhe a chave.
+     */
+    private static Set<CategoryField> parseFields(String fields) {
+        Set<CategoryField> selected = EnumSet.noneOf(CategoryField.class);
+        for (String property : fields.split(",")) {
+            String trimmed = property.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(CategoryField.fromProperty(trimmed).orElseThrow(() -> {
+                log.error("Unknown category field requested: {}", trimmed);
+                return new InvalidCategoryFieldException("Unknown category field '%s'. Allowed fields: %s".formatted(
+                        trimmed, Arrays.stream(CategoryField.values()).map(CategoryField::getProperty).toList()));
+            }));
+        }
+
+        if (selected.isEmpty()) {
+            throw new InvalidCategoryFieldException("The fields parameter must name at least one field");
+        }
+        return selected;
+    }
+
+    private static String pageKey(Pageable pageable) {
+        return pageable.isPaged()
+                ? pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort()
+                : "unpaged:" + pageable.getSort();
+    }
+
+    private void publishChange(CategoryChangeType type, Long categoryId, CategoryResponse category) {
+        eventPublisher.publishEvent(CategoryChangeEvent.builder()
+                .type(type)
+                .categoryId(categoryId)
+                .category(category)
+                .build());
     }
 }
\ No newline at end of file
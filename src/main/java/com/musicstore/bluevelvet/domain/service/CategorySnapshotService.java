@@ -0,0 +1,284 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.converter.CategoryConverter;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.snapshot.CategoryTreeSnapshot;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém o snapshot mapeado da árvore de categorias (CategoryTreeSnapshot)
+ * para as listagens do shopper (US-2100).
+ * Na subida o nó mapeia o arquivo deixado pelo processo anterior e já
+ * responde com ele; a versão é conferida com o banco em background e o
+ * snapshot é regravado quando o catálogo muda.
+ * <p>
+ * Escritas de outros nós não geram evento aqui: a versão do catálogo é relida
+ * (uma leitura por PK, fora da thread do request) no máximo uma vez por
+ * version-check-interval enquanto houver leituras, e um snapshot mais velho
+ * que ela deixa de ser servido até ser regravado. Uma escrita remota pode
+ * então aparecer com até version-check-interval (mais o round-trip da leitura)
+ * de atraso; escritas locais nunca são servidas velhas.
+ */
+@Log4j2
+@Service
+public class CategorySnapshotService {
+
+    private static final long REBUILD_DELAY_MS = 200;
+
+    private final CategoryRepository categoryRepository;
+    private final CategorySyncService categorySyncService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Tracer tracer;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "category-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CategoryTreeSnapshot snapshot;
+
+    //  Mudanças locais ainda não refletidas no snapshot: enquanto houver, lê-se do banco
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean(false);
+
+    //  Última versão do catálogo lida do banco (-1 = ainda não lida) e quando
+    private volatile long knownCatalogVersion = -1;
+    private volatile long versionCheckedAt = System.nanoTime();
+    private final AtomicBoolean versionCheckScheduled = new AtomicBoolean(false);
+
+    @Value("${bluevelvet.category.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bluevelvet.category.snapshot.location:./data/snapshot/category-tree.bin}")
+    private Path location;
+
+    @Value("${bluevelvet.category.snapshot.version-check-interval:1s}")
+    private Duration versionCheckInterval;
+
+    public CategorySnapshotService(CategoryRepository categoryRepository,
+                                   CategorySyncService categorySyncService,
+                                   PlatformTransactionManager transactionManager,
+                                   Tracer tracer) {
+        this.categoryRepository = categoryRepository;
+        this.categorySyncService = categorySyncService;
+        this.tracer = tracer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Só mapeia o arquivo: nenhuma consulta ao banco antes de servir.
+     */
+    @PostConstruct
+    void load() {
+        if (!enabled || !Files.isRegularFile(location)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            snapshot = CategoryTreeSnapshot.open(location);
+            log.info("Category snapshot mapped: {} categories, catalog version {}, written at {} ({} µs)",
+                    snapshot.size(), snapshot.catalogVersion(), snapshot.createdAt(),
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable category snapshot {}: {}", location, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateOnStartup() {
+        if (enabled) {
+            rebuilder.execute(this::validate);
+        }
+    }
+
+    /**
+     * Conferência de fundo, para quando não há leituras disparando a de current().
+     */
+    @Scheduled(fixedDelayString = "${bluevelvet.category.snapshot.validate-interval:30s}",
+            initialDelayString = "${bluevelvet.category.snapshot.validate-interval:30s}")
+    public void scheduledValidation() {
+        if (enabled) {
+            rebuilder.execute(this::validate);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        pendingChanges.incrementAndGet();
+        // Várias mudanças seguidas geram uma regravação só
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(tracer.wrap("category-snapshot-rebuild", () -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            }), REBUILD_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * US-2100: categorias visíveis ao shopper, em ordem de nome.
+     * Vazio se não houver snapshot utilizável (o chamador vai ao banco).
+     */
+    public Optional<List<CategoryResponse>> findEnabledCategories() {
+        return current().map(tree -> {
+            List<CategoryResponse> categories = new ArrayList<>();
+            for (int i = 0; i < tree.size(); i++) {
+                if (tree.effectivelyEnabled(i)) {
+                    categories.add(CategoryConverter.toResponse(tree, i));
+                }
+            }
+            return categories;
+        });
+    }
+
+    /**
+     * US-2100: raízes visíveis com os filhos diretos visíveis.
+     */
+    public Optional<List<CategoryResponse>> findEnabledRootsWithChildren() {
+        return current().map(tree -> {
+            Map<Integer, CategoryResponse> roots = new HashMap<>();
+            List<CategoryResponse> result = new ArrayList<>();
+            for (int i = 0; i < tree.size(); i++) {
+                if (tree.parentId(i) == null && tree.effectivelyEnabled(i)) {
+                    CategoryResponse root = CategoryConverter.toResponse(tree, i);
+                    root.setChildren(new ArrayList<>());
+                    roots.put(i, root);
+                    result.add(root);
+                }
+            }
+            for (int i = 0; i < tree.size(); i++) {
+                CategoryResponse root = roots.get(tree.parentIndex(i));
+                if (root != null && tree.effectivelyEnabled(i)) {
+                    root.getChildren().add(CategoryConverter.toResponse(tree, i));
+                }
+            }
+            return result;
+        });
+    }
+
+    private Optional<CategoryTreeSnapshot> current() {
+        CategoryTreeSnapshot current = snapshot;
+        if (current == null || pendingChanges.get() != 0) {
+            return Optional.empty();
+        }
+
+        checkVersionIfDue();
+        // Outro nó já comitou uma versão mais nova: banco até o snapshot ser regravado
+        if (knownCatalogVersion > current.catalogVersion()) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * O request nunca espera pelo banco aqui: a leitura da versão vai para a
+     * thread category-snapshot e este request usa a última versão conhecida.
+     */
+    private void checkVersionIfDue() {
+        if (System.nanoTime() - versionCheckedAt < versionCheckInterval.toNanos()
+                || !versionCheckScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                try {
+                    validate();
+                } finally {
+                    versionCheckScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            versionCheckScheduled.set(false);
+        }
+    }
+
+    private void validate() {
+        // Antes da leitura: com o banco fora, no máximo uma tentativa por intervalo
+        versionCheckedAt = System.nanoTime();
+        try {
+            long version = categorySyncService.latestChangeSeq();
+            knownCatalogVersion = version;
+            CategoryTreeSnapshot current = snapshot;
+            if (current != null && current.catalogVersion() == version && pendingChanges.get() == 0) {
+                log.debug("Category snapshot is current (version {})", version);
+                return;
+            }
+            log.info("Category snapshot version {} differs from catalog version {}, rebuilding",
+                    current != null ? current.catalogVersion() : null, version);
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Unable to validate category snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sempre na thread category-snapshot, então nunca há duas gravações ao mesmo tempo.
+     */
+    private void rebuild() {
+        long changesSeen = pendingChanges.get();
+        long start = System.nanoTime();
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // Mesma transação: versão e linhas vêm do mesmo estado do banco
+                long version = categorySyncService.latestChangeSeq();
+                List<Category> categories = categoryRepository.findAllByOrderByNameAsc();
+                try {
+                    CategoryTreeSnapshot.write(location, version, categories);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to write category snapshot " + location, e);
+                }
+            });
+            snapshot = CategoryTreeSnapshot.open(location);
+
+            // Mudanças que chegaram durante a gravação continuam pendentes
+            pendingChanges.addAndGet(-changesSeen);
+
+            log.info("Category snapshot written: {} categories, catalog version {} ({} ms)",
+                    snapshot.size(), snapshot.catalogVersion(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to rebuild category snapshot: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,348 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryChangesSinceResponse;
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.api.response.CategoryTombstoneResponse;
+import com.musicstore.bluevelvet.domain.converter.CategoryConverter;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.entity.CategoryTombstone;
+import com.musicstore.bluevelvet.infrastructure.entity.ChangeAllocation;
+import com.musicstore.bluevelvet.infrastructure.entity.ChangeSequence;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryTombstoneRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ChangeAllocationRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ChangeSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sincronização incremental para consumidores externos (produto, busca, CDN):
+ * cada transação que altera categorias recebe uma sequência monotônica,
+ * exclusões deixam um tombstone e GET /api/categories/changes-since devolve
+ * só o que mudou depois do cursor, em páginas limitadas.
+ * <p>
+ * A sequência vem de um INSERT em {@link ChangeAllocation} (auto-increment),
+ * sem lock até o commit: escritas do catálogo em qualquer nó rodam em
+ * paralelo, e por isso comitam fora da ordem das sequências. Quem lê só vai
+ * até a marca d'água de commit ({@link #latestChangeSeq()}): a maior
+ * sequência abaixo da qual não há transação aberta. Um buraco na sequência é
+ * uma transação ainda aberta ou desfeita; a marca só passa por cima dele
+ * quando a alocação seguinte tem mais que {@code commit-lag}. Para que isso
+ * nunca pule uma mudança, a transação que chega ao commit com a sequência
+ * mais velha que metade desse atraso troca a sua por uma nova antes de
+ * comitar (diferença de relógio entre nós deve ficar abaixo da outra metade).
+ * <p>
+ * Custo: uma mudança só aparece para os consumidores (e na versão do
+ * catálogo) quando as transações com sequência menor terminam, ou até
+ * {@code commit-lag} depois de um rollback.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class CategorySyncService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String CATEGORY_SEQUENCE = "category";
+    private static final Object TRANSACTION_SEQ_KEY = new Object();
+    private static final int WATERMARK_SCAN_LIMIT = 1000;
+
+    private final ChangeSequenceRepository changeSequenceRepository;
+    private final ChangeAllocationRepository allocationRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryTombstoneRepository tombstoneRepository;
+
+    //  Maior marca d'água já calculada neste nó: só cresce, e a próxima varredura começa dela
+    private final AtomicLong watermark = new AtomicLong();
+
+    @Value("${bluevelvet.category.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Value("${bluevelvet.category.sync.commit-lag:10s}")
+    private Duration commitLag;
+
+    /**
+     * Sequência da transação corrente: alocada na primeira chamada (um INSERT,
+     * sem lock) e reaproveitada pelas seguintes, então todas as linhas
+     * alteradas numa transação compartilham a mesma.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long currentChangeSeq() {
+        Long seq = (Long) TransactionSynchronizationManager.getResource(TRANSACTION_SEQ_KEY);
+        if (seq != null) {
+            return seq;
+        }
+
+        ChangeAllocation allocation = allocate();
+        TransactionSynchronizationManager.bindResource(TRANSACTION_SEQ_KEY, allocation.getSeq());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                restampIfLate(allocation);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SEQ_KEY);
+            }
+        });
+        return allocation.getSeq();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Category category) {
+        tombstoneRepository.save(CategoryTombstone.builder()
+                .categoryId(category.getId())
+                .name(category.getName())
+                .changeSeq(currentChangeSeq())
+                .deletedAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Obriga os clientes com cursor anterior à sequência corrente a refazer a
+     * carga completa (ex.: todas as categorias apagadas de uma vez no reset).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void requireFullResync() {
+        long seq = currentChangeSeq();
+        lockSequence().setResyncBefore(seq);
+        log.info("Category consumers with sequence before {} must resync", seq);
+    }
+
+    /**
+     * Versão do catálogo: a marca d'água de commit.
+     */
+    @Transactional(readOnly = true)
+    public long latestChangeSeq() {
+        return commitWatermark(watermark.get());
+    }
+
+    /**
+     * Sequências comitadas em (after, upTo]. Vazio quando não dá para saber:
+     * as alocações de after já foram expurgadas, ou há mais de limit delas.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<Long>> committedChangeSeqs(long after, long upTo, int limit) {
+        List<Long> seqs = allocationRepository.findSeqsBetween(after, upTo, PageRequest.of(0, limit + 1));
+        long floor = changeSequenceRepository.findById(CATEGORY_SEQUENCE)
+                .map(ChangeSequence::getValue)
+                .orElse(0L);
+        if (after < floor || seqs.size() > limit) {
+            return Optional.empty();
+        }
+        return Optional.of(seqs);
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryChangesSinceResponse changesSince(long seq, long afterId, int limit) {
+        log.debug("Finding category changes since {} (after id {}), limit {}", seq, afterId, limit);
+
+        // Lida antes da primeira consulta: o que ela cobre comitou antes do
+        // snapshot desta transação e aparece nas leituras abaixo
+        long knownWatermark = watermark.get();
+
+        ChangeSequence sequence = changeSequenceRepository.findById(CATEGORY_SEQUENCE)
+                .orElse(ChangeSequence.builder().name(CATEGORY_SEQUENCE).value(0L).resyncBefore(0L).build());
+        long upTo = commitWatermark(knownWatermark);
+        long lastAllocated = allocationRepository.findMaxSeq().orElse(0L);
+
+        // Cursor à frente de qualquer sequência alocada também indica dados recarregados
+        if (seq < sequence.getResyncBefore() || seq > Math.max(upTo, lastAllocated)) {
+            log.debug("Sequence {} outside [{}, {}], full resync required",
+                    seq, sequence.getResyncBefore(), Math.max(upTo, lastAllocated));
+            return CategoryChangesSinceResponse.builder()
+                    .changed(List.of())
+                    .deleted(List.of())
+                    .currentSeq(upTo)
+                    .fullResyncRequired(true)
+                    .build();
+        }
+
+        // Uma página de cada lado basta: o merge por (changeSeq, id) só consome até limit
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Category> categories = categoryRepository.findChangedSince(seq, afterId, upTo, page);
+        List<CategoryTombstone> tombstones = tombstoneRepository.findChangedSince(seq, afterId, upTo, page);
+
+        List<CategoryResponse> changed = new ArrayList<>();
+        List<CategoryTombstoneResponse> deleted = new ArrayList<>();
+        long nextSeq = seq;
+        long nextAfterId = afterId;
+        int c = 0;
+        int t = 0;
+
+        while (changed.size() + deleted.size() < limit && (c < categories.size() || t < tombstones.size())) {
+            boolean takeCategory = t >= tombstones.size() || (c < categories.size()
+                    && compare(categories.get(c).getChangeSeq(), categories.get(c).getId(),
+                    tombstones.get(t).getChangeSeq(), tombstones.get(t).getCategoryId()) < 0);
+
+            if (takeCategory) {
+                Category category = categories.get(c++);
+                changed.add(CategoryConverter.toResponse(category));
+                nextSeq = category.getChangeSeq();
+                nextAfterId = category.getId();
+            } else {
+                CategoryTombstone tombstone = tombstones.get(t++);
+                deleted.add(CategoryTombstoneResponse.builder()
+                        .id(tombstone.getCategoryId())
+                        .name(tombstone.getName())
+                        .changeSeq(tombstone.getChangeSeq())
+                        .deletedAt(tombstone.getDeletedAt())
+                        .build());
+                nextSeq = tombstone.getChangeSeq();
+                nextAfterId = tombstone.getCategoryId();
+            }
+        }
+
+        boolean hasMore = c < categories.size() || t < tombstones.size();
+
+        log.debug("Category changes since {}: {} changed, {} deleted, more: {}",
+                seq, changed.size(), deleted.size(), hasMore);
+
+        return CategoryChangesSinceResponse.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .nextSeq(nextSeq)
+                .nextAfterId(nextAfterId)
+                .hasMore(hasMore)
+                .currentSeq(upTo)
+                .fullResyncRequired(false)
+                .build();
+    }
+
+    /**
+     * Linhas com changeSeq = 0 não passaram pelo serviço (data.sql recarrega
+     * a tabela a cada subida, sem tombstones). Recebem uma sequência nova e
+     * os clientes anteriores a ela precisam refazer a carga completa.
+     * Roda antes do CategoryCounterRepairService, que também avança changeSeq.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void stampUnsequencedCategories() {
+        long seq = currentChangeSeq();
+        int stamped = categoryRepository.stampUnsequenced(seq);
+        if (stamped > 0) {
+            lockSequence().setResyncBefore(seq);
+            log.info("{} categories without change sequence stamped with {}", stamped, seq);
+        }
+    }
+
+    /**
+     * Tombstones ficam pelo período de retenção; quem sincroniza com menos
+     * frequência que isso recebe fullResyncRequired.
+     */
+    @Scheduled(cron = "${bluevelvet.category.sync.tombstone-purge-cron:0 30 4 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        Instant cutoff = Instant.now().minus(tombstoneRetention);
+        tombstoneRepository.findMaxChangeSeqDeletedBefore(cutoff).ifPresent(maxSeq -> {
+            int purged = tombstoneRepository.deleteUpToChangeSeq(maxSeq);
+            ChangeSequence sequence = lockSequence();
+            sequence.setResyncBefore(Math.max(sequence.getResyncBefore(), maxSeq));
+            log.info("{} category tombstones purged (up to sequence {})", purged, maxSeq);
+        });
+    }
+
+    /**
+     * Alocações abaixo da marca d'água não servem mais para calculá-la: o piso
+     * sobe até a marca e as linhas anteriores são apagadas. A da marca fica,
+     * para a checagem de cursor à frente em {@link #changesSince}.
+     */
+    @Scheduled(cron = "${bluevelvet.category.sync.tombstone-purge-cron:0 30 4 * * *}")
+    @Transactional
+    public void purgeAllocations() {
+        ChangeSequence sequence = lockSequence();
+        long settled = commitWatermark(watermark.get());
+        if (settled <= sequence.getValue()) {
+            return;
+        }
+
+        sequence.setValue(settled);
+        int purged = allocationRepository.deleteBefore(settled);
+        log.info("{} change allocations purged (watermark {})", purged, settled);
+    }
+
+    //  save e não saveAndFlush: o INSERT (IDENTITY) sai na hora sem descarregar
+    //  as outras entidades pendentes da transação
+    private ChangeAllocation allocate() {
+        return allocationRepository.save(ChangeAllocation.builder()
+                .allocatedAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Transação longa: outro nó pode já ter dado a sequência dela como
+     * desfeita e avançado a marca d'água. Comita com uma sequência nova, que
+     * ainda está à frente de qualquer marca.
+     */
+    private void restampIfLate(ChangeAllocation allocation) {
+        if (allocation.getAllocatedAt().isAfter(Instant.now().minus(commitLag.dividedBy(2)))) {
+            return;
+        }
+
+        long seq = allocation.getSeq();
+        long restamped = allocate().getSeq();
+        categoryRepository.restampChangeSeq(seq, restamped);
+        tombstoneRepository.restampChangeSeq(seq, restamped);
+        changeSequenceRepository.restampResyncBefore(seq, restamped);
+        log.warn("Transaction held change sequence {} since {}, committing as {}",
+                seq, allocation.getAllocatedAt(), restamped);
+    }
+
+    /**
+     * Anda pelas alocações comitadas a partir da marca conhecida enquanto elas
+     * forem contíguas. Um buraco é transação aberta ou desfeita: a marca só
+     * passa por cima quando a alocação seguinte já tem mais que commit-lag.
+     */
+    private long commitWatermark(long known) {
+        long floor = changeSequenceRepository.findById(CATEGORY_SEQUENCE)
+                .map(ChangeSequence::getValue)
+                .orElse(0L);
+        long mark = Math.max(known, floor);
+        Instant settledBefore = Instant.now().minus(commitLag);
+
+        for (ChangeAllocation allocation : allocationRepository.findAllocatedAfter(mark,
+                PageRequest.of(0, WATERMARK_SCAN_LIMIT))) {
+            if (allocation.getSeq() != mark + 1 && allocation.getAllocatedAt().isAfter(settledBefore)) {
+                break;
+            }
+            mark = allocation.getSeq();
+        }
+
+        watermark.accumulateAndGet(mark, Math::max);
+        return mark;
+    }
+
+    private ChangeSequence lockSequence() {
+        return changeSequenceRepository.findForUpdate(CATEGORY_SEQUENCE)
+                .orElseGet(() -> changeSequenceRepository.saveAndFlush(ChangeSequence.builder()
+                        .name(CATEGORY_SEQUENCE)
+                        .value(0L)
+                        .resyncBefore(0L)
+                        .build()));
+    }
+
+    private static int compare(long seqA, long idA, long seqB, long idB) {
+        return seqA != seqB ? Long.compare(seqA, seqB) : Long.compare(idA, idB);
+    }
+}
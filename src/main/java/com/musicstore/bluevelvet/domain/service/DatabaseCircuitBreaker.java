@@ -0,0 +1,76 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker das leituras do catálogo no MySQL.
+ * Depois de N falhas seguidas abre por um período: as chamadas nem tentam o
+ * banco (servem dados antigos ou 503 na hora). Passado o período, uma única
+ * chamada de teste decide se fecha de novo ou reabre.
+ */
+@Log4j2
+@Component
+public class DatabaseCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @Value("${bluevelvet.catalog.resilience.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${bluevelvet.catalog.resilience.open-duration:10s}")
+    private Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    //  Quando abriu ou, em HALF_OPEN, quando a chamada de teste saiu
+    private long openedAt;
+
+    /**
+     * @return false enquanto o circuito está aberto (ou com a chamada de teste em andamento)
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        // Em HALF_OPEN só sai outra chamada de teste se a anterior nunca respondeu
+        if (System.nanoTime() - openedAt >= openDuration.toNanos()) {
+            if (state == State.OPEN) {
+                log.info("Database circuit half-open, probing");
+            }
+            state = State.HALF_OPEN;
+            openedAt = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openedAt < openDuration.toNanos();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Database circuit closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Database circuit opened for {} ms after {} consecutive failures",
+                    openDuration.toMillis(), consecutiveFailures);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.domain.exception.ImageNotFoundException;
+import com.musicstore.bluevelvet.domain.exception.ImageStorageException;
+import com.musicstore.bluevelvet.domain.exception.InvalidImageException;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Armazenamento local das imagens de categoria (US-1306 / US-1307 / US-0904).
+ * Os arquivos são endereçados pelo conteúdo (sha256.ext): o mesmo upload feito
+ * duas vezes ocupa um arquivo só, e o nome nunca muda de conteúdo, o que permite
+ * cache imutável no navegador/CDN.
+ * O tipo vem dos primeiros bytes do arquivo, não do Content-Type do cliente.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ImageStorageService {
+
+    public static final String PUBLIC_PATH = "/images/categories/";
+
+    //  hash.ext para originais, hash-variante.ext para as variantes geradas
+    private static final Pattern STORED_NAME = Pattern.compile("^([a-f0-9]{64})(-[a-z]+)?\\.(jpg|png|gif|webp)$");
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int SNIFF_LENGTH = 12;
+
+    //  Locks por hash (listras): dedup do upload e limpeza de órfãos não se cruzam
+    private static final int LOCK_STRIPES = 64;
+
+    private final CategoryRepository categoryRepository;
+
+    private final Object[] locks = createLocks();
+
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "image-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${bluevelvet.images.location:./data/images}")
+    private Path location;
+
+    //  Arquivos tocados há menos que isso não são apagados: um upload deduplicado pode estar para comitar
+    @Value("${bluevelvet.images.orphan-grace-period:2m}")
+    private Duration orphanGracePeriod;
+
+    @PostConstruct
+    void init() {
+        try {
+            Files.createDirectories(location);
+            log.info("Category images stored in {}", location.toAbsolutePath());
+        } catch (IOException e) {
+            throw new ImageStorageException("Unable to create image directory " + location, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * Grava o upload e devolve o nome do arquivo (hash do conteúdo + extensão).
+     * A escrita vai para um arquivo temporário no mesmo diretório e só então é
+     * movida atomicamente, então leitores nunca veem um arquivo pela metade.
+     */
+    public String saveImage(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidImageException("Image file is empty");
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(location, "upload-", ".tmp");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String extension = sniffExtension(temp);
+            if (extension == null) {
+                log.error("Rejected image with unrecognized content (declared {})", file.getContentType());
+                throw new InvalidImageException("Unsupported image type: only JPEG, PNG and GIF are accepted");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String filename = hash + "." + extension;
+            Path target = location.resolve(filename);
+
+            synchronized (lockFor(hash)) {
+                if (Files.exists(target)) {
+                    // Renova a idade do arquivo: a limpeza de um órfão com o mesmo conteúdo espera o commit deste upload
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    log.debug("Image {} already stored, reusing it", filename);
+                    return filename;
+                }
+                moveAtomically(temp, target);
+            }
+            log.info("Image stored: {} ({} bytes)", filename, file.getSize());
+            return filename;
+        } catch (IOException e) {
+            throw new ImageStorageException("Unable to store image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Grava uma variante gerada a partir de um original (ex.: abc...-thumb.jpg),
+     * com a mesma escrita atômica dos uploads.
+     */
+    public String saveVariant(String original, String variant, String format, BufferedImage image) {
+        String filename = variantName(original, variant, format);
+        Path target = location.resolve(filename);
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(location, "variant-", ".tmp");
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new ImageStorageException("No image writer for format " + format);
+            }
+            moveAtomically(temp, target);
+            log.debug("Image variant stored: {}", filename);
+            return filename;
+        } catch (IOException e) {
+            throw new ImageStorageException("Unable to store image variant " + filename, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    public boolean exists(String filename) {
+        return isStoredImage(filename) && Files.isRegularFile(location.resolve(filename));
+    }
+
+    public static String variantName(String original, String variant, String format) {
+        return contentHash(original) + "-" + variant + "." + format;
+    }
+
+    /**
+     * Resolve um nome gerado por saveImage para o arquivo em disco.
+     * Nomes fora do padrão (ex.: "../") nunca chegam ao sistema de arquivos.
+     */
+    public Path resolve(String filename) {
+        if (!isStoredImage(filename)) {
+            throw new ImageNotFoundException("Image not found: " + filename);
+        }
+
+        Path path = location.resolve(filename);
+        if (!Files.isRegularFile(path)) {
+            throw new ImageNotFoundException("Image not found: " + filename);
+        }
+        return path;
+    }
+
+    /**
+     * Apaga a imagem depois do commit, se nenhuma categoria a referencia mais.
+     * Como os arquivos são deduplicados, outra categoria pode estar usando o mesmo.
+     */
+    public void deleteImageIfOrphaned(String filename) {
+        if (!isStoredImage(filename)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(filename);
+                }
+            });
+        } else {
+            deleteIfUnreferenced(filename);
+        }
+    }
+
+    public static boolean isStoredImage(String filename) {
+        return filename != null && STORED_NAME.matcher(filename).matches();
+    }
+
+    /**
+     * URL pública da imagem, ou null para nomes que não vieram deste storage.
+     */
+    public static String publicUrl(String filename) {
+        return isStoredImage(filename) ? PUBLIC_PATH + filename : null;
+    }
+
+    /**
+     * Hash do conteúdo do original (sem sufixo de variante).
+     */
+    public static String contentHash(String filename) {
+        var matcher = STORED_NAME.matcher(filename);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * ETag forte: hash do original mais o sufixo da variante, se houver.
+     */
+    public static String eTagValue(String filename) {
+        var matcher = STORED_NAME.matcher(filename);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return matcher.group(2) != null ? matcher.group(1) + matcher.group(2) : matcher.group(1);
+    }
+
+    /**
+     * Um upload do mesmo conteúdo pode ter reaproveitado o arquivo e ainda não
+     * ter comitado (existsByImage ainda não o vê): arquivos tocados dentro do
+     * período de carência são conferidos de novo depois dele.
+     */
+    private void deleteIfUnreferenced(String filename) {
+        try {
+            if (categoryRepository.existsByImage(filename)) {
+                log.debug("Image {} still referenced, keeping it", filename);
+                return;
+            }
+
+            String hash = contentHash(filename);
+            Path path = location.resolve(filename);
+            synchronized (lockFor(hash)) {
+                if (Files.exists(path)) {
+                    Duration age = Duration.between(Files.getLastModifiedTime(path).toInstant(), Instant.now());
+                    if (age.compareTo(orphanGracePeriod) < 0) {
+                        long delay = orphanGracePeriod.minus(age).toMillis();
+                        cleaner.schedule(() -> deleteIfUnreferenced(filename), delay, TimeUnit.MILLISECONDS);
+                        log.debug("Image {} touched {} ago, checking again in {} ms", filename, age, delay);
+                        return;
+                    }
+                }
+
+                if (Files.deleteIfExists(path)) {
+                    log.info("Orphaned image deleted: {}", filename);
+                }
+                try (DirectoryStream<Path> variants = Files.newDirectoryStream(location, hash + "-*")) {
+                    for (Path variant : variants) {
+                        Files.deleteIfExists(variant);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to delete orphaned image {}: {}", filename, e.getMessage());
+        }
+    }
+
+    /**
+     * Extensão pelos magic bytes (JPEG, PNG, GIF), ou null para qualquer outra coisa.
+     * WebP fica de fora: o ImageIO do JDK não tem reader para gerar as variantes.
+     */
+    static String sniffExtension(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SNIFF_LENGTH);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // Lê até SNIFF_LENGTH bytes ou o fim do arquivo
+            }
+        }
+        byte[] bytes = new byte[header.position()];
+        header.flip().get(bytes);
+        return sniffExtension(bytes);
+    }
+
+    static String sniffExtension(byte[] bytes) {
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (startsWith(bytes, PNG_SIGNATURE)) {
+            return "png";
+        }
+        if (startsWith(bytes, "GIF87a".getBytes(StandardCharsets.US_ASCII))
+                || startsWith(bytes, "GIF89a".getBytes(StandardCharsets.US_ASCII))) {
+            return "gif";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        } catch (FileAlreadyExistsException e) {
+            // Upload concorrente do mesmo conteúdo: o arquivo já está lá
+            log.debug("Image {} stored concurrently", target.getFileName());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete temporary file {}", path);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.ImageVariantStatusResponse;
+import com.musicstore.bluevelvet.domain.converter.CategoryConverter;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.enums.ImageVariantStatus;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.domain.exception.ImageProcessingBusyException;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Gera as variantes das imagens de categoria (thumb, medium e, se houver
+ * writer WebP no ImageIO, webp) fora da thread do request.
+ * A fila é limitada: com ela cheia o upload é recusado (503) em vez de
+ * acumular trabalho indefinidamente.
+ * O original nunca é decodificado inteiro: as dimensões são lidas antes
+ * (imagens acima de max-pixels são recusadas) e a leitura é subamostrada
+ * para o tamanho que as variantes precisam.
+ */
+@Log4j2
+@Service
+public class ImageVariantService {
+
+    private static final int THUMBNAIL_SIZE = 150;
+    private static final int MEDIUM_SIZE = 600;
+
+    private final ImageStorageService imageStorageService;
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategorySyncService categorySyncService;
+    private final TransactionTemplate transactionTemplate;
+    private final Tracer tracer;
+    private final ThreadPoolExecutor workers;
+    private final boolean webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+    private final long maxPixels;
+
+    private final Map<Long, ImageVariantStatusResponse> statusByCategory = new ConcurrentHashMap<>();
+
+    public ImageVariantService(ImageStorageService imageStorageService,
+                               CategoryRepository categoryRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               CategorySyncService categorySyncService,
+                               TransactionTemplate transactionTemplate,
+                               Tracer tracer,
+                               @Value("${bluevelvet.images.variants.queue-capacity:100}") int queueCapacity,
+                               @Value("${bluevelvet.images.variants.max-pixels:50000000}") long maxPixels) {
+        this.imageStorageService = imageStorageService;
+        this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.categorySyncService = categorySyncService;
+        this.transactionTemplate = transactionTemplate;
+        this.tracer = tracer;
+        this.maxPixels = maxPixels;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Image variant pipeline: {} workers, queue of {}, WebP {}",
+                threads, queueCapacity, webpSupported ? "enabled" : "not available");
+    }
+
+    /**
+     * Recusa o upload antes de gravar qualquer coisa se a fila estiver cheia.
+     */
+    public void checkCapacity() {
+        if (workers.getQueue().remainingCapacity() == 0) {
+            log.warn("Image variant queue is full, rejecting upload");
+            throw new ImageProcessingBusyException("Image processing is busy, try again in a few seconds");
+        }
+    }
+
+    /**
+     * Enfileira a geração das variantes depois do commit, para que o worker
+     * encontre a categoria já atualizada.
+     */
+    public void scheduleVariants(Long categoryId, String image) {
+        if (!ImageStorageService.isStoredImage(image)) {
+            return;
+        }
+
+        updateStatus(categoryId, image, ImageVariantStatus.QUEUED, null, null);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(categoryId, image);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        statusByCategory.remove(categoryId);
+                    }
+                }
+            });
+        } else {
+            submit(categoryId, image);
+        }
+    }
+
+    public ImageVariantStatusResponse getStatus(Long categoryId, Category category) {
+        ImageVariantStatusResponse status = statusByCategory.get(categoryId);
+        if (status != null && status.getImage() != null && status.getImage().equals(category.getImage())) {
+            return status;
+        }
+
+        Map<String, String> variants = CategoryConverter.toVariantUrls(category.getImageVariants());
+        return ImageVariantStatusResponse.builder()
+                .categoryId(categoryId)
+                .image(category.getImage())
+                .status(variants != null ? ImageVariantStatus.READY : ImageVariantStatus.NONE)
+                .variants(variants)
+                .build();
+    }
+
+    private void submit(Long categoryId, String image) {
+        try {
+            workers.execute(tracer.wrap("image-variants", () -> generate(categoryId, image)));
+        } catch (RejectedExecutionException e) {
+            log.error("Image variant queue full, variants for category {} not generated", categoryId);
+            updateStatus(categoryId, image, ImageVariantStatus.FAILED, null, "Processing queue full, upload again");
+        }
+    }
+
+    private void generate(Long categoryId, String image) {
+        updateStatus(categoryId, image, ImageVariantStatus.PROCESSING, null, null);
+        long start = System.nanoTime();
+        boolean finished = false;
+
+        try {
+            // JPEG continua JPEG; o resto vira PNG para preservar transparência
+            String format = image.endsWith(".jpg") ? "jpg" : "png";
+            Map<String, String> files = new LinkedHashMap<>();
+            files.put("thumb", ImageStorageService.variantName(image, "thumb", format));
+            files.put("medium", ImageStorageService.variantName(image, "medium", format));
+            if (webpSupported) {
+                files.put("webp", ImageStorageService.variantName(image, "medium", "webp"));
+            }
+
+            // Variantes derivam do hash do original: num upload deduplicado já existem
+            if (!files.values().stream().allMatch(imageStorageService::exists)) {
+                BufferedImage original = readDownsampled(imageStorageService.resolve(image), image);
+
+                BufferedImage medium = scale(original, MEDIUM_SIZE);
+                imageStorageService.saveVariant(image, "thumb", format, scale(original, THUMBNAIL_SIZE));
+                imageStorageService.saveVariant(image, "medium", format, medium);
+                if (webpSupported) {
+                    imageStorageService.saveVariant(image, "medium", "webp", medium);
+                }
+            }
+
+            String variants = files.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.joining(";"));
+            transactionTemplate.executeWithoutResult(status ->
+                    categoryRepository.updateImageVariants(image, variants, categorySyncService.currentChangeSeq()));
+
+            updateStatus(categoryId, image, ImageVariantStatus.READY, CategoryConverter.toVariantUrls(variants), null);
+            finished = true;
+            log.info("Image variants for category {} ready in {} ms", categoryId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            categoryRepository.findByImage(image).forEach(category ->
+                    eventPublisher.publishEvent(CategoryChangeEvent.builder()
+                            .type(CategoryChangeType.UPDATED)
+                            .categoryId(category.getId())
+                            .category(CategoryConverter.toResponse(category))
+                            .build()));
+        } catch (Exception e) {
+            log.error("Unable to generate image variants for category {}: {}", categoryId, e.getMessage());
+            updateStatus(categoryId, image, ImageVariantStatus.FAILED, null, e.getMessage());
+            finished = true;
+        } finally {
+            // Error (ex.: OutOfMemoryError) não passa pelo catch: o status não pode ficar em PROCESSING
+            if (!finished) {
+                updateStatus(categoryId, image, ImageVariantStatus.FAILED, null, "Image processing failed");
+            }
+        }
+    }
+
+    /**
+     * Lê as dimensões pelo cabeçalho antes de decodificar e decodifica só a
+     * resolução necessária (o dobro da maior variante) com subamostragem.
+     */
+    private BufferedImage readDownsampled(Path file, String image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                throw new IOException("Unreadable image " + image);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("No image reader for " + image);
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image %s is %dx%d, above the limit of %d pixels"
+                            .formatted(image, width, height, maxPixels));
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (MEDIUM_SIZE * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxSize) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void updateStatus(Long categoryId, String image, ImageVariantStatus status,
+                              Map<String, String> variants, String message) {
+        statusByCategory.put(categoryId, ImageVariantStatusResponse.builder()
+                .categoryId(categoryId)
+                .image(image)
+                .status(status)
+                .variants(variants)
+                .message(message)
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "image-variants-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.request.ProductRequest;
+import com.musicstore.bluevelvet.api.response.CategoryFacetResponse;
+import com.musicstore.bluevelvet.api.response.CategoryProductsResponse;
+import com.musicstore.bluevelvet.api.response.ProductResponse;
+import com.musicstore.bluevelvet.domain.converter.CategoryConverter;
+import com.musicstore.bluevelvet.domain.converter.ProductConverter;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.domain.exception.CategoryNotFoundException;
+import com.musicstore.bluevelvet.domain.exception.ProductNotFoundException;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.entity.Product;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ProductRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryProductCount;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * US-2100: produtos por categoria.
+ * Cada escrita mantém productCount (da categoria) e subtreeProductCount (da
+ * categoria e de todos os ancestrais), então a listagem e as facetas não
+ * precisam de COUNT por request. As categorias cujos contadores mudaram são
+ * publicadas como UPDATED (snapshot, feed SSE e dashboard) depois do commit.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ProductService {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategorySyncService categorySyncService;
+    private final CategoryReadGuard readGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    public ProductResponse findById(Long id) {
+        log.debug("Finding product with id: {}", id);
+
+        return readGuard.read("findProductById:" + id, () ->
+                ProductConverter.toResponse(findProduct(id)));
+    }
+
+    @Transactional
+    public ProductResponse createProduct(ProductRequest request) {
+        log.debug("Creating new product: {}", request.getName());
+
+        Category category = findCategory(request.getCategoryId());
+
+        Product product = ProductConverter.convertToProduct(request);
+        product.setCategory(category);
+        product.setCategoryPath(category.getPath());
+
+        Product saved = productRepository.save(product);
+        Set<Category> changed = new LinkedHashSet<>();
+        adjustProductCounters(category, saved.getEnabled() ? 1 : 0, changed);
+        publishCounterChanges(changed);
+        log.info("Product created with id: {} in category {}", saved.getId(), category.getId());
+
+        return ProductConverter.toResponse(saved);
+    }
+
+    /**
+     * PUT: substitui todos os campos, inclusive a categoria.
+     */
+    @Transactional
+    public ProductResponse updateProduct(Long id, ProductRequest request) {
+        log.debug("Updating product with id: {}", id);
+
+        Product product = findProduct(id);
+        Category previousCategory = product.getCategory();
+        boolean previouslyEnabled = Boolean.TRUE.equals(product.getEnabled());
+
+        Category category = previousCategory.getId().equals(request.getCategoryId())
+                ? previousCategory
+                : findCategory(request.getCategoryId());
+
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        product.setImage(request.getImage());
+        product.setEnabled(request.getEnabled() == null || request.getEnabled());
+        product.setCategory(category);
+        product.setCategoryPath(category.getPath());
+
+        Product saved = productRepository.saveAndFlush(product);
+
+        int enabled = saved.getEnabled() ? 1 : 0;
+        Set<Category> changed = new LinkedHashSet<>();
+        if (category == previousCategory) {
+            adjustProductCounters(category, enabled - (previouslyEnabled ? 1 : 0), changed);
+        } else {
+            adjustProductCounters(previousCategory, previouslyEnabled ? -1 : 0, changed);
+            adjustProductCounters(category, enabled, changed);
+        }
+        publishCounterChanges(changed);
+        log.info("Product updated with id: {} (version {})", saved.getId(), saved.getVersion());
+
+        return ProductConverter.toResponse(saved);
+    }
+
+    @Transactional
+    public void deleteById(Long id) {
+        log.debug("Deleting product: {}", id);
+
+        Product product = findProduct(id);
+
+        Set<Category> changed = new LinkedHashSet<>();
+        adjustProductCounters(product.getCategory(), Boolean.TRUE.equals(product.getEnabled()) ? -1 : 0, changed);
+        productRepository.delete(product);
+        publishCounterChanges(changed);
+        log.info("Product {} deleted", id);
+    }
+
+    /**
+     * US-2100: produtos visíveis da categoria e de todas as subcategorias,
+     * com a contagem por subcategoria direta.
+     * Categorias desabilitadas (ou com ancestral desabilitado) não são listadas.
+     */
+    public CategoryProductsResponse findByCategorySubtree(Long categoryId, Pageable pageable) {
+        log.debug("Finding products in subtree of category {} with pageable: {}", categoryId, pageable);
+
+        return readGuard.read("findProductsByCategorySubtree:" + categoryId + ":" + pageable, () -> {
+            Category category = categoryRepository.findById(categoryId)
+                    .filter(found -> Boolean.TRUE.equals(found.getEffectivelyEnabled()))
+                    .orElseThrow(() -> {
+                        log.error("Category not found or not visible: {}", categoryId);
+                        return new CategoryNotFoundException(
+                                "Category not found with id: " + categoryId
+                        );
+                    });
+
+            List<Product> products = productRepository.findVisibleInSubtree(category.getPath(), pageable);
+            Page<ProductResponse> page = PageableExecutionUtils.getPage(
+                    products.stream().map(ProductConverter::toResponse).toList(),
+                    pageable,
+                    () -> visibleProductCount(category));
+
+            List<Category> children = categoryRepository.findByParentId(categoryId).stream()
+                    .filter(child -> Boolean.TRUE.equals(child.getEffectivelyEnabled()))
+                    .sorted(Comparator.comparing(Category::getName))
+                    .toList();
+            Map<Long, Long> counted = countVisibleInChildSubtrees(children);
+
+            List<CategoryFacetResponse> facets = children.stream()
+                    .map(child -> CategoryFacetResponse.builder()
+                            .categoryId(child.getId())
+                            .name(child.getName())
+                            .productCount((int) (hasDisabledDescendants(child)
+                                    ? counted.getOrDefault(child.getId(), 0L)
+                                    : child.getSubtreeProductCount()))
+                            .build())
+                    .toList();
+
+            return CategoryProductsResponse.builder()
+                    .categoryId(category.getId())
+                    .categoryName(category.getName())
+                    .directProductCount(category.getProductCount())
+                    .facets(facets)
+                    .products(page)
+                    .build();
+        });
+    }
+
+    /**
+     * Produtos que o shopper enxerga na subárvore de uma categoria visível.
+     * Se nenhum descendente está desabilitado o contador mantido é exato;
+     * senão os produtos das subcategorias ocultas precisam ser descontados
+     * e aí sim há um COUNT (faixa do índice de category_path).
+     */
+    private long visibleProductCount(Category category) {
+        if (!hasDisabledDescendants(category)) {
+            return category.getSubtreeProductCount();
+        }
+        return productRepository.countVisibleInSubtree(category.getPath());
+    }
+
+    /**
+     * Facetas das subcategorias com descendentes desabilitados: um único
+     * COUNT agrupado por subcategoria, em vez de um por subcategoria.
+     */
+    private Map<Long, Long> countVisibleInChildSubtrees(List<Category> children) {
+        List<Long> ids = children.stream()
+                .filter(ProductService::hasDisabledDescendants)
+                .map(Category::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.countVisibleInSubtrees(ids).stream()
+                .collect(Collectors.toMap(CategoryProductCount::getCategoryId, CategoryProductCount::getProducts));
+    }
+
+    private static boolean hasDisabledDescendants(Category category) {
+        return !category.getEnabledDescendantCount().equals(category.getDescendantCount());
+    }
+
+    private void adjustProductCounters(Category category, int delta, Set<Category> changed) {
+        if (delta == 0) {
+            return;
+        }
+
+        List<Long> ancestorIds = new ArrayList<>();
+        for (Category ancestor = category; ancestor != null; ancestor = ancestor.getParent()) {
+            ancestorIds.add(ancestor.getId());
+            changed.add(ancestor);
+        }
+
+        long seq = categorySyncService.currentChangeSeq();
+        categoryRepository.adjustProductCount(category.getId(), delta, seq);
+        categoryRepository.adjustSubtreeProductCounts(ancestorIds, delta, seq);
+    }
+
+    /**
+     * Os UPDATEs em lote não passam pelas entidades já carregadas: o refresh
+     * lê os contadores novos (as linhas estão travadas por esta transação)
+     * antes de montar o evento, que os listeners só recebem após o commit.
+     */
+    private void publishCounterChanges(Set<Category> changed) {
+        for (Category category : changed) {
+            entityManager.refresh(category);
+            eventPublisher.publishEvent(CategoryChangeEvent.builder()
+                    .type(CategoryChangeType.UPDATED)
+                    .categoryId(category.getId())
+                    .category(CategoryConverter.toResponse(category))
+                    .build());
+        }
+    }
+
+    private Product findProduct(Long id) {
+        return productRepository.findWithCategoryById(id)
+                .orElseThrow(() -> {
+                    log.error("Product not found: {}", id);
+                    return new ProductNotFoundException(
+                            "Product not found with id: " + id
+                    );
+                });
+    }
+
+    private Category findCategory(Long categoryId) {
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> {
+                    log.error("Category not found: {}", categoryId);
+                    return new CategoryNotFoundException(
+                            "Category not found with id: " + categoryId
+                    );
+                });
+    }
+}
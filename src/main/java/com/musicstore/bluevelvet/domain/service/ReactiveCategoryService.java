@@ -0,0 +1,78 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.infrastructure.repository.reactive.ReactiveCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leituras públicas da API reativa (ReactiveCategoryHandler): mesmas regras
+ * do CategoryService, sem bloquear threads. O snapshot mapeado é lido
+ * direto da memória; sem ele, as linhas vêm do banco pelo R2DBC.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ReactiveCategoryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final CategorySnapshotService categorySnapshotService;
+    private final ReactiveCategoryRepository reactiveCategoryRepository;
+
+    /**
+     * US-2100: categorias visíveis ao shopper, em ordem de nome
+     */
+    public Flux<CategoryResponse> findEnabledCategoriesForShopper() {
+        return Flux.defer(() -> categorySnapshotService.findEnabledCategories()
+                .map(Flux::fromIterable)
+                .orElseGet(reactiveCategoryRepository::findVisibleOrderByName));
+    }
+
+    /**
+     * US-2100: raízes visíveis com os filhos diretos visíveis (uma query só,
+     * montada em memória em vez de uma consulta de filhos por raiz)
+     */
+    public Flux<CategoryResponse> findEnabledCategoriesWithChildren() {
+        return Flux.defer(() -> categorySnapshotService.findEnabledRootsWithChildren()
+                .map(Flux::fromIterable)
+                .orElseGet(() -> reactiveCategoryRepository.findVisibleOrderByName()
+                        .collectList()
+                        .flatMapIterable(ReactiveCategoryService::toRootsWithChildren)));
+    }
+
+    /**
+     * US-0914: busca por nome (case-insensitive), página a página
+     */
+    public Flux<CategoryResponse> searchByName(String name, int page, int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        long offset = (long) Math.max(page, 0) * limit;
+        log.debug("Reactive search by name: {} (page {}, size {})", name, page, limit);
+        return reactiveCategoryRepository.searchByName(name, limit, offset);
+    }
+
+    private static List<CategoryResponse> toRootsWithChildren(List<CategoryResponse> visible) {
+        Map<Long, CategoryResponse> roots = new LinkedHashMap<>();
+        for (CategoryResponse category : visible) {
+            if (category.getParentId() == null) {
+                category.setChildren(new ArrayList<>());
+                roots.put(category.getId(), category);
+            }
+        }
+        // Em ordem de nome, como os filhos do snapshot
+        for (CategoryResponse category : visible) {
+            CategoryResponse root = category.getParentId() != null ? roots.get(category.getParentId()) : null;
+            if (root != null) {
+                root.getChildren().add(category);
+            }
+        }
+        return new ArrayList<>(roots.values());
+    }
+}
@@ -0,0 +1,137 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.SingleFlightStatsResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de leituras idênticas: enquanto uma chave (método + argumentos)
+ * está sendo calculada, chamadas concorrentes esperam o mesmo resultado em vez
+ * de repetir as queries. A espera é limitada; passado o limite, quem esperava
+ * calcula por conta própria.
+ * O resultado é compartilhado entre as chamadas, então não deve ser alterado
+ * por quem o recebe.
+ */
+@Log4j2
+@Component
+public class SingleFlight {
+
+    //  Chaves distintas com métricas próprias; as demais somam em OTHER_KEYS
+    private static final int MAX_TRACKED_KEYS = 1000;
+    private static final String OTHER_KEYS = "(other)";
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, KeyMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Value("${bluevelvet.single-flight.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bluevelvet.single-flight.max-wait:2s}")
+    private Duration maxWait;
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        // Dentro de uma transação de escrita a leitura precisa ver as próprias mudanças
+        if (!enabled || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return loader.get();
+        }
+
+        KeyMetrics keyMetrics = metricsFor(key);
+        keyMetrics.calls.increment();
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, call);
+
+        if (leader == null) {
+            return (T) lead(key, call, loader, keyMetrics);
+        }
+
+        keyMetrics.shared.increment();
+        try {
+            return (T) leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            keyMetrics.timeouts.increment();
+            log.warn("Single-flight wait for {} exceeded {} ms, loading independently", key, maxWait.toMillis());
+            keyMetrics.executions.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            // Mesma exceção do líder (ex.: CategoryNotFoundException vira 404 para todos)
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        }
+    }
+
+    public List<SingleFlightStatsResponse> getStats() {
+        return metrics.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey(), inFlight.containsKey(entry.getKey())))
+                .sorted(Comparator.comparingLong(SingleFlightStatsResponse::getShared).reversed())
+                .toList();
+    }
+
+    private Object lead(String key, CompletableFuture<Object> call, Supplier<?> loader, KeyMetrics keyMetrics) {
+        keyMetrics.executions.increment();
+        try {
+            Object result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            keyMetrics.failures.increment();
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private KeyMetrics metricsFor(String key) {
+        KeyMetrics keyMetrics = metrics.get(key);
+        if (keyMetrics != null) {
+            return keyMetrics;
+        }
+        // Buscas por nome geram chaves sem limite: o mapa de métricas não pode crescer junto
+        return metrics.size() < MAX_TRACKED_KEYS
+                ? metrics.computeIfAbsent(key, k -> new KeyMetrics())
+                : metrics.computeIfAbsent(OTHER_KEYS, k -> new KeyMetrics());
+    }
+
+    private static final class KeyMetrics {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder shared = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        SingleFlightStatsResponse toResponse(String key, boolean inFlight) {
+            return SingleFlightStatsResponse.builder()
+                    .key(key)
+                    .calls(calls.sum())
+                    .executions(executions.sum())
+                    .shared(shared.sum())
+                    .timeouts(timeouts.sum())
+                    .failures(failures.sum())
+                    .inFlight(inFlight)
+                    .build();
+        }
+    }
+}
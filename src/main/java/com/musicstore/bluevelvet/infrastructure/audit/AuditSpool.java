@@ -0,0 +1,128 @@
+package com.musicstore.bluevelvet.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Segmentos locais (JSON lines) com os eventos de auditoria que não puderam ir
+ * para o banco. Cada segmento recebe appends até o tamanho máximo e então
+ * outro é aberto; o nome traz o id do primeiro evento, então a ordem dos
+ * arquivos é a ordem dos eventos. Usado só pela thread de gravação.
+ */
+@Log4j2
+public final class AuditSpool {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".jsonl";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final ObjectMapper objectMapper;
+
+    private FileChannel current;
+    private long currentSize;
+
+    public AuditSpool(Path directory, long maxSegmentBytes, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Grava e força para o disco antes de devolver: o evento só sai da
+     * memória quando está no banco ou aqui.
+     */
+    public void append(List<AuditEvent> events) throws IOException {
+        if (current == null || currentSize >= maxSegmentBytes) {
+            roll(events.get(0).getId());
+        }
+
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 256);
+        for (AuditEvent event : events) {
+            lines.write(objectMapper.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            currentSize += current.write(buffer);
+        }
+        current.force(false);
+    }
+
+    /**
+     * Segmentos a reenviar, do mais antigo para o mais novo. Fecha o segmento
+     * aberto: appends seguintes vão para um novo.
+     */
+    public List<Path> segments() throws IOException {
+        closeCurrent();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX)
+                            && file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Uma linha incompleta no fim (queda no meio do append) é descartada.
+     */
+    public List<AuditEvent> read(Path segment) throws IOException {
+        List<AuditEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    events.add(objectMapper.readValue(line, AuditEvent.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable audit spool line {}:{}: {}", segment, lineNumber, e.getMessage());
+                }
+            }
+        }
+        return events;
+    }
+
+    public void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+
+    public void closeCurrent() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private void roll(long firstId) throws IOException {
+        closeCurrent();
+        Files.createDirectories(directory);
+        Path segment = directory.resolve(PREFIX + "%020d".formatted(firstId) + SUFFIX);
+        current = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        currentSize = current.size();
+        log.info("Audit spool segment opened: {}", segment);
+    }
+}
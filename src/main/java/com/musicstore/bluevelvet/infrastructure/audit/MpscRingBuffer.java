@@ -0,0 +1,97 @@
+package com.musicstore.bluevelvet.infrastructure.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Fila circular de tamanho fixo (potência de dois) para vários produtores e
+ * um único consumidor, sem locks: cada slot tem uma sequência que diz se ele
+ * está livre para a volta corrente do produtor ou pronto para o consumidor.
+ * Produtores só disputam um CAS no tail; com a fila cheia, offer devolve
+ * false na hora em vez de esperar.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    //  Escrito só pelo consumidor; volatile para size() em outras threads
+    private volatile long head;
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.getAcquire(index) - position;
+
+            if (available == 0) {
+                long witness = tail.compareAndExchange(position, position + 1);
+                if (witness == position) {
+                    slots.setPlain(index, element);
+                    // Publica o elemento para o consumidor
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = witness;
+            } else if (available < 0) {
+                // O consumidor ainda não liberou o slot da volta anterior: cheia
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Só a thread consumidora chama. Entrega até max elementos, na ordem de
+     * entrada, e devolve quantos entregou.
+     */
+    public int drain(Consumer<? super E> consumer, int max) {
+        long position = head;
+        int drained = 0;
+
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            E element = slots.getPlain(index);
+            slots.setPlain(index, null);
+            // Libera o slot para a próxima volta dos produtores
+            sequences.setRelease(index, position + capacity);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+
+        head = position;
+        return drained;
+    }
+
+    //  Aproximado enquanto há produtores ativos
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
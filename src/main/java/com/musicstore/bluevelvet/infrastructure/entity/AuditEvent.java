@@ -0,0 +1,59 @@
+package com.musicstore.bluevelvet.infrastructure.entity;
+
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Evento de auditoria (mutações de categoria, cadastro e login).
+ * A tabela só recebe inserts, sem foreign keys, e a única chave única é o id,
+ * que cresce com o tempo (AuditLogService): dá para particionar por
+ * RANGE (id) e descartar partições antigas sem tocar nas recentes.
+ * Gravada em lote via JDBC (AuditEventBatchRepository), não pelo Hibernate.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_event", indexes = {
+        @Index(name = "idx_audit_event_occurred_at", columnList = "occurred_at"),
+        @Index(name = "idx_audit_event_subject", columnList = "subject_type, subject_id")
+})
+public class AuditEvent implements Serializable {
+
+    //  Atribuído pela thread de gravação: epoch ms | nó | sequência
+    @Id
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private AuditEventType type;
+
+    //  E-mail de quem fez login/cadastro; nas mudanças de categoria, o header X-Actor (não verificado) ou null
+    private String actor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", length = 20)
+    private AuditSubjectType subjectType;
+
+    @Column(name = "subject_id")
+    private Long subjectId;
+
+    @Column(length = 500)
+    private String summary;
+
+    @Column(name = "client_ip", length = 45)
+    private String clientIp;
+
+    @Column(name = "trace_id", length = 32)
+    private String traceId;
+}
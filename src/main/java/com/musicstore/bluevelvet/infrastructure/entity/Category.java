@@ -4,8 +4,14 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.List;
 
 @Entity
@@ -14,7 +20,13 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "category")
+@DynamicUpdate
+@Table(name = "category", indexes = {
+        @Index(name = "idx_category_path", columnList = "path"),
+        @Index(name = "idx_category_effectively_enabled_name", columnList = "effectively_enabled, name"),
+        @Index(name = "idx_category_change_seq_id", columnList = "change_seq, id"),
+        @Index(name = "idx_category_updated_at", columnList = "updated_at")
+})
 public class Category implements Serializable {
 
     @Id
@@ -27,6 +39,11 @@ public class Category implements Serializable {
 
     private String image;
 
+    //  Variantes geradas da imagem ("thumb=arquivo;medium=arquivo"), preenchido pelo ImageVariantService
+    @OptimisticLock(excluded = true)
+    @Column(name = "image_variants", length = 512)
+    private String imageVariants;
+
     @ManyToOne
     @JoinColumn(name = "parent_id")
     @JsonBackReference
@@ -37,4 +54,68 @@ public class Category implements Serializable {
     private List<Category> children;
 
     private Boolean enabled;
+
+    //  Caminho materializado ("/1/5/12/"), usado para operar na subárvore inteira
+    @OptimisticLock(excluded = true)
+    @Column(name = "path", length = 512)
+    private String path;
+
+    //  enabled && todos os ancestrais enabled; é o que o shopper enxerga
+    @Builder.Default
+    @OptimisticLock(excluded = true)
+    @ColumnDefault("1")
+    @Column(name = "effectively_enabled", nullable = false)
+    private Boolean effectivelyEnabled = true;
+
+    //  Contadores desnormalizados, mantidos pelo CategoryService
+    //  (recalculados pelo CategoryCounterRepairService)
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "child_count", nullable = false)
+    private Integer childCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "descendant_count", nullable = false)
+    private Integer descendantCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "enabled_descendant_count", nullable = false)
+    private Integer enabledDescendantCount = 0;
+
+    //  Produtos habilitados: na própria categoria e na subárvore inteira (US-2100)
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "product_count", nullable = false)
+    private Integer productCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "subtree_product_count", nullable = false)
+    private Integer subtreeProductCount = 0;
+
+    //  Controle de concorrência otimista (If-Match / ETag)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    //  Sequência da última mudança (CategorySyncService), base do GET /changes-since.
+    //  Também é avançada pelos UPDATEs em lote (contadores, path, subárvore)
+    @OptimisticLock(excluded = true)
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @CreationTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @OptimisticLock(excluded = true)
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 }
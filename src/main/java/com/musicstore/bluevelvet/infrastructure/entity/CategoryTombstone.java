@@ -0,0 +1,37 @@
+package com.musicstore.bluevelvet.infrastructure.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Registro de uma categoria apagada, para que consumidores do
+ * GET /api/categories/changes-since fiquem sabendo da exclusão.
+ * Expurgado depois do período de retenção (CategorySyncService).
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "category_tombstone", indexes = {
+        @Index(name = "idx_category_tombstone_change_seq_id", columnList = "change_seq, category_id"),
+        @Index(name = "idx_category_tombstone_deleted_at", columnList = "deleted_at")
+})
+public class CategoryTombstone implements Serializable {
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    private String name;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
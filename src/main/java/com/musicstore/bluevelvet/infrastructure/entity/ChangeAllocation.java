@@ -0,0 +1,32 @@
+package com.musicstore.bluevelvet.infrastructure.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Uma sequência de mudança alocada por uma transação de escrita.
+ * O INSERT (auto-increment) não trava nada até o commit, então as
+ * sequências podem ficar visíveis fora de ordem: a linha só aparece para
+ * os outros quando a transação que a alocou comita, e some se ela for
+ * desfeita. CategorySyncService usa essas linhas para calcular até onde
+ * todas as sequências já estão comitadas.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "change_allocation")
+public class ChangeAllocation implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "allocated_at", nullable = false)
+    private Instant allocatedAt;
+}
@@ -0,0 +1,36 @@
+package com.musicstore.bluevelvet.infrastructure.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Estado da sincronização incremental (uma linha por sequência).
+ * As sequências em si vêm de {@link ChangeAllocation}; esta linha só é
+ * travada pelas operações raras (reset, expurgo, carga do data.sql), nunca
+ * pelas escritas comuns do catálogo.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "change_sequence")
+public class ChangeSequence implements Serializable {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    //  Piso da marca d'água: toda sequência até aqui já foi comitada ou descartada
+    //  (avançado pelo expurgo das alocações antigas)
+    @Column(nullable = false)
+    private Long value;
+
+    //  Clientes com sequência anterior a esta precisam refazer a sincronização completa
+    //  (tombstones expurgados ou dados recarregados pelo data.sql)
+    @Column(name = "resync_before", nullable = false)
+    private Long resyncBefore;
+}
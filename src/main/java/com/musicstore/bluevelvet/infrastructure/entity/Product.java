@@ -0,0 +1,78 @@
+package com.musicstore.bluevelvet.infrastructure.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Produto da loja (US-2100). Cada produto pertence a uma categoria e guarda
+ * uma cópia do path dela, para que a subárvore inteira seja listada com uma
+ * faixa do índice (category_path LIKE '/1/5/%') sem percorrer a árvore.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamicUpdate
+//  category_path: faixa da subárvore; enabled + name: para subárvores grandes o
+//  MySQL pode percorrer em ordem de nome e parar no LIMIT, sem filesort
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_category_path_enabled", columnList = "category_path, enabled"),
+        @Index(name = "idx_product_enabled_name", columnList = "enabled, name"),
+        @Index(name = "idx_product_category_enabled", columnList = "category_id, enabled")
+})
+public class Product implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    private String name;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    private String image;
+
+    @Builder.Default
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    //  Cópia de category.path, mantida pelo ProductService e pelo CategoryService (mover categoria)
+    @Column(name = "category_path", length = 512)
+    private String categoryPath;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @CreationTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP(6)")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
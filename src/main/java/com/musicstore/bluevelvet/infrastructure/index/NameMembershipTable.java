@@ -0,0 +1,263 @@
+package com.musicstore.bluevelvet.infrastructure.index;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * Conjunto de nomes em memória para checagens de duplicidade sem ir ao banco:
+ * um Bloom filter (bits que cabem em cache) na frente de uma tabela hash
+ * aberta de fingerprints de 64 bits (8 bytes por nome, sem as strings).
+ * mightContain = false é definitivo; true pode ser falso positivo e deve ser
+ * confirmado no banco.
+ * <p>
+ * A igualdade do MySQL (utf8mb4_0900_ai_ci, NO PAD) só é reproduzida para
+ * nomes ASCII imprimíveis: sem caixa, com espaços nas pontas contando. Uma
+ * consulta com qualquer outro caractere é sempre "talvez". Nomes gravados
+ * fora do ASCII entram pela chave ASCII equivalente (acentos removidos,
+ * ligaduras e expansões como ß = ss e æ = ae desfeitas); quando sobra uma
+ * letra latina ou um símbolo que a tabela não sabe dobrar, não há como dizer
+ * "não" com segurança e a tabela passa a responder "talvez" para tudo até ser
+ * remontada. Letras de outras escritas nunca igualam um nome ASCII, então
+ * esses nomes só são conferidos no banco.
+ * Leituras sem lock, de qualquer thread; add só com o chamador serializando as escritas.
+ */
+public final class NameMembershipTable {
+
+    private static final long EMPTY = 0L;
+    private static final int BLOOM_HASHES = 7;
+    //  ~10 bits por nome com 7 hashes: ~1% de falsos positivos no filtro
+    private static final int BLOOM_BITS_PER_NAME = 10;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    //  Letras que o 0900_ai_ci iguala a ASCII e que a decomposição NFKD não desfaz
+    private static final Map<Integer, String> EXPANSIONS = Map.of(
+            (int) 'ß', "ss",
+            (int) 'æ', "ae",
+            (int) 'œ', "oe",
+            (int) 'ø', "o",
+            (int) 'đ', "d",
+            (int) 'ð', "d",
+            (int) 'ħ', "h",
+            (int) 'ł', "l",
+            (int) 'þ', "th");
+
+    private final AtomicLongArray bloom;
+    private final long bloomMask;
+    private final AtomicLongArray slots;
+    private final int slotMask;
+    private final int maxSize;
+
+    //  Só o escritor altera
+    private int size;
+
+    //  Nomes gravados sem chave ASCII conhecida: enquanto houver, tudo é "talvez"
+    private volatile int uncertainNames;
+
+    private NameMembershipTable(int maxSize) {
+        this.maxSize = maxSize;
+        int slotCount = powerOfTwoAtLeast(maxSize * 2L);
+        this.slots = new AtomicLongArray(slotCount);
+        this.slotMask = slotCount - 1;
+        int bloomWords = powerOfTwoAtLeast(Math.max(1L, (long) maxSize * BLOOM_BITS_PER_NAME / 64));
+        this.bloom = new AtomicLongArray(bloomWords);
+        this.bloomMask = (long) bloomWords * 64 - 1;
+    }
+
+    /**
+     * Tabela para até maxSize nomes; passado isso add devolve false e o
+     * chamador copia para uma maior (copyWithCapacity).
+     */
+    public static NameMembershipTable withCapacity(int maxSize) {
+        return new NameMembershipTable(Math.max(16, maxSize));
+    }
+
+    public NameMembershipTable copyWithCapacity(int newMaxSize) {
+        NameMembershipTable copy = withCapacity(newMaxSize);
+        forEach(copy::add);
+        copy.uncertainNames = uncertainNames;
+        return copy;
+    }
+
+    /**
+     * Só caracteres de 0x20 a 0x7E: para esses o MySQL compara ignorando só a caixa.
+     */
+    public static boolean isPlainAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x20 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * false: nenhum nome incluído é igual a este para a unique constraint.
+     */
+    public boolean mightContain(String name) {
+        if (uncertainNames > 0 || !isPlainAscii(name)) {
+            return true;
+        }
+        return mightContain(fingerprint(name));
+    }
+
+    /**
+     * false quando a tabela está cheia (o nome não foi incluído).
+     */
+    public boolean add(String name) {
+        String key = asciiKey(name);
+        if (key == null) {
+            uncertainNames++;
+            return true;
+        }
+        // Letra de outra escrita: nunca igual a uma consulta ASCII, nada a incluir
+        return !isPlainAscii(key) || add(fingerprint(key));
+    }
+
+    /**
+     * Chave ASCII com que o nome se compara a nomes ASCII no MySQL. Devolve
+     * o próprio nome dobrado (fora do ASCII) quando ele tem letra de outra
+     * escrita e null quando sobra algo que a tabela não sabe dobrar.
+     */
+    static String asciiKey(String name) {
+        if (isPlainAscii(name)) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+
+        String folded = COMBINING_MARKS
+                .matcher(Normalizer.normalize(name.toLowerCase(Locale.ROOT), Normalizer.Form.NFKD))
+                .replaceAll("");
+        StringBuilder key = new StringBuilder(folded.length() + 4);
+        boolean uncertain = false;
+        for (int i = 0; i < folded.length(); ) {
+            int c = folded.codePointAt(i);
+            i += Character.charCount(c);
+
+            String expansion = EXPANSIONS.get(c);
+            if (expansion != null) {
+                key.append(expansion);
+            } else if (c >= 0x20 && c <= 0x7e) {
+                key.append((char) c);
+            } else {
+                Character.UnicodeScript script = Character.UnicodeScript.of(c);
+                if (script != Character.UnicodeScript.LATIN && script != Character.UnicodeScript.COMMON
+                        && script != Character.UnicodeScript.INHERITED && script != Character.UnicodeScript.UNKNOWN) {
+                    return folded;
+                }
+                // Controles, símbolos e letras latinas sem expansão conhecida (ı, ŋ...)
+                uncertain = true;
+            }
+        }
+        return uncertain ? null : key.toString();
+    }
+
+    /**
+     * Hash de 64 bits de um nome ASCII, com a caixa desfeita durante o
+     * próprio hash, sem alocar nada.
+     */
+    static long fingerprint(String name) {
+        // FNV-1a 64 bits seguido do finalizador do MurmurHash3 para espalhar os bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            hash ^= c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash != EMPTY ? hash : 1L;
+    }
+
+    boolean mightContain(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (h1 + (long) i * h2) & bloomMask;
+            if ((bloom.getOpaque((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        // O filtro diz talvez: a tabela de fingerprints tira os falsos positivos dele
+        int index = slotIndex(fingerprint);
+        while (true) {
+            long slot = slots.getAcquire(index);
+            if (slot == fingerprint) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & slotMask;
+        }
+    }
+
+    boolean add(long fingerprint) {
+        int index = slotIndex(fingerprint);
+        while (true) {
+            long slot = slots.getPlain(index);
+            if (slot == fingerprint) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                break;
+            }
+            index = (index + 1) & slotMask;
+        }
+        if (size >= maxSize) {
+            return false;
+        }
+
+        // Bits do filtro antes do slot: quem achar o slot também passa pelo filtro
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = (h1 + (long) i * h2) & bloomMask;
+            int word = (int) (bit >>> 6);
+            bloom.setRelease(word, bloom.getPlain(word) | (1L << bit));
+        }
+        slots.setRelease(index, fingerprint);
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public int uncertainNames() {
+        return uncertainNames;
+    }
+
+    private void forEach(LongConsumer consumer) {
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.getPlain(i);
+            if (slot != EMPTY) {
+                consumer.accept(slot);
+            }
+        }
+    }
+
+    private int slotIndex(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & slotMask;
+    }
+
+    private static int powerOfTwoAtLeast(long value) {
+        long capacity = Long.highestOneBit(Math.max(1L, value - 1)) << 1;
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Name table too large: " + value);
+        }
+        return (int) capacity;
+    }
+}
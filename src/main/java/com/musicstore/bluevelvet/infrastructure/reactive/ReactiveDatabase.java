@@ -0,0 +1,56 @@
+package com.musicstore.bluevelvet.infrastructure.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Pool R2DBC da API reativa. De propósito não é um ConnectionFactory no
+ * contexto: com um, o Spring Boot passaria a rodar o data.sql pelo R2DBC em
+ * vez do DataSource usado pelo JPA. As conexões só abrem no primeiro uso.
+ */
+@Log4j2
+@Component
+public class ReactiveDatabase {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveDatabase(@Value("${bluevelvet.reactive.r2dbc.url}") String url,
+                            @Value("${bluevelvet.reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+                            @Value("${bluevelvet.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+                            @Value("${bluevelvet.reactive.r2dbc.max-size:20}") int maxSize,
+                            @Value("${bluevelvet.reactive.r2dbc.max-acquire-time:2s}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-api")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .validationQuery("SELECT 1")
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public DatabaseClient client() {
+        return databaseClient;
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+        log.debug("Reactive connection pool disposed");
+    }
+}
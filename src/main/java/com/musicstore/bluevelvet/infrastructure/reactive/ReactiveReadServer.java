@@ -0,0 +1,91 @@
+package com.musicstore.bluevelvet.infrastructure.reactive;
+
+import com.musicstore.bluevelvet.api.reactive.ReactiveCategoryHandler;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Servidor Netty da API reativa de leitura, ao lado do Tomcat da aplicação:
+ * um número pequeno e fixo de threads de event loop atende todas as conexões,
+ * sem uma thread presa por request enquanto o MySQL responde.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "bluevelvet.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReactiveCategoryHandler categoryHandler;
+    private final ObjectProvider<CodecCustomizer> codecCustomizers;
+
+    @Value("${bluevelvet.reactive.port:8081}")
+    private int port;
+
+    @Value("${bluevelvet.reactive.worker-threads:4}")
+    private int workerThreads;
+
+    private LoopResources loops;
+    private volatile DisposableServer server;
+
+    public ReactiveReadServer(ReactiveCategoryHandler categoryHandler,
+                              ObjectProvider<CodecCustomizer> codecCustomizers) {
+        this.categoryHandler = categoryHandler;
+        this.codecCustomizers = codecCustomizers;
+    }
+
+    @Override
+    public void start() {
+        // Mesmo ObjectMapper (datas, módulos) da API bloqueante
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> codecCustomizers.orderedStream()
+                        .forEach(customizer -> customizer.customize(configurer)))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(categoryHandler.routes(), strategies);
+
+        loops = LoopResources.create("reactive-api", 1, workerThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .compress(true)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+
+        log.info("Reactive read API listening on port {} with {} event loop threads", server.port(), workerThreads);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow(SHUTDOWN_TIMEOUT);
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block(SHUTDOWN_TIMEOUT);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    //  Porta efetiva (com bluevelvet.reactive.port=0 o sistema escolhe)
+    public int getPort() {
+        return server != null ? server.port() : -1;
+    }
+}
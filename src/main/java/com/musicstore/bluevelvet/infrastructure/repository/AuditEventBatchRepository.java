@@ -0,0 +1,18 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Gravação em lote dos eventos de auditoria, implementada com JDBC em
+ * AuditEventBatchRepositoryImpl (o Hibernate não agrupa inserts aqui).
+ */
+public interface AuditEventBatchRepository {
+
+    /**
+     * Insere os eventos num único batch. Ids já gravados (ex.: reenvio de um
+     * segmento do spool interrompido no meio) são ignorados.
+     */
+    void insertBatch(List<AuditEvent> events);
+}
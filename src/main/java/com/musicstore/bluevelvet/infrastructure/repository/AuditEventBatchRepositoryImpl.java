@@ -0,0 +1,66 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+public class AuditEventBatchRepositoryImpl implements AuditEventBatchRepository {
+
+    private static final String INSERT = """
+            insert into audit_event (id, occurred_at, type, actor, subject_type, subject_id, summary, client_ip, trace_id)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditEventBatchRepositoryImpl(DataSource dataSource,
+                                         @Value("${bluevelvet.audit.write-timeout:5s}") Duration writeTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, writeTimeout.toSeconds()));
+    }
+
+    /**
+     * Sem transação: cada batch é um statement (com rewriteBatchedStatements o
+     * driver do MySQL manda um insert de várias linhas).
+     */
+    @Override
+    public void insertBatch(List<AuditEvent> events) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT, events, events.size(), AuditEventBatchRepositoryImpl::bind);
+        } catch (DuplicateKeyException e) {
+            // Parte do lote já estava gravada: uma linha por vez, pulando as repetidas
+            for (AuditEvent event : events) {
+                try {
+                    jdbcTemplate.update(INSERT, ps -> bind(ps, event));
+                } catch (DuplicateKeyException ignored) {
+                    // Já gravado antes
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, AuditEvent event) throws SQLException {
+        ps.setLong(1, event.getId());
+        ps.setTimestamp(2, Timestamp.from(event.getOccurredAt()));
+        ps.setString(3, event.getType().name());
+        ps.setString(4, event.getActor());
+        ps.setString(5, event.getSubjectType() != null ? event.getSubjectType().name() : null);
+        if (event.getSubjectId() != null) {
+            ps.setLong(6, event.getSubjectId());
+        } else {
+            ps.setNull(6, Types.BIGINT);
+        }
+        ps.setString(7, event.getSummary());
+        ps.setString(8, event.getClientIp());
+        ps.setString(9, event.getTraceId());
+    }
+}
@@ -0,0 +1,40 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long>, AuditEventBatchRepository {
+
+    /**
+     * Keyset por id decrescente (mais recentes primeiro), sem count da tabela inteira.
+     */
+    @Query("""
+            select e from AuditEvent e
+            where (:type is null or e.type = :type)
+              and (:subjectType is null or e.subjectType = :subjectType)
+              and (:subjectId is null or e.subjectId = :subjectId)
+              and (:actor is null or e.actor = :actor)
+              and (:from is null or e.occurredAt >= :from)
+              and (:to is null or e.occurredAt < :to)
+              and (:beforeId is null or e.id < :beforeId)
+            order by e.id desc
+            """)
+    List<AuditEvent> search(@Param("type") AuditEventType type,
+                            @Param("subjectType") AuditSubjectType subjectType,
+                            @Param("subjectId") Long subjectId,
+                            @Param("actor") String actor,
+                            @Param("from") Instant from,
+                            @Param("to") Instant to,
+                            @Param("beforeId") Long beforeId,
+                            Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryField;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+/**
+ * Consultas com projeção dinâmica (fields=), implementadas com Criteria em
+ * CategoryProjectionRepositoryImpl.
+ */
+public interface CategoryProjectionRepository {
+
+    /**
+     * Seleciona só as colunas dos campos pedidos; o join com o parent só
+     * entra na query quando parentName está entre eles.
+     * Cada tupla traz as colunas pelo alias de CategoryField.
+     */
+    Page<Tuple> findProjected(Specification<Category> spec, Set<CategoryField> fields, Pageable pageable);
+}
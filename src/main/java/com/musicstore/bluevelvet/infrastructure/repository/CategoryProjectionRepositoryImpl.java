@@ -0,0 +1,95 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class CategoryProjectionRepositoryImpl implements CategoryProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Tuple> findProjected(Specification<Category> spec, Set<CategoryField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Category> root = query.from(Category.class);
+
+        Join<Category, Category> parent = fields.contains(CategoryField.PARENT_NAME)
+                ? root.join("parent", JoinType.LEFT)
+                : null;
+
+        // imageUrl e image saem da mesma coluna: selecionada uma vez só
+        Map<String, Selection<?>> selections = new LinkedHashMap<>();
+        for (CategoryField field : fields) {
+            selections.computeIfAbsent(field.alias(), alias -> path(root, parent, field).alias(alias));
+        }
+        query.multiselect(new ArrayList<>(selections.values()));
+
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Category> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Category> root = query.from(Category.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Path<?> path(Root<Category> root, Join<Category, Category> parent, CategoryField field) {
+        return switch (field) {
+            // parent.id é a FK da própria linha: o Hibernate não gera join
+            case PARENT_ID -> root.get("parent").get("id");
+            case PARENT_NAME -> parent.get("name");
+            default -> root.get(field.getAttribute());
+        };
+    }
+
+    private static Predicate toPredicate(Specification<Category> spec, Root<Category> root,
+                                         CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec != null ? spec.toPredicate(root, query, cb) : null;
+    }
+}
@@ -1,25 +1,35 @@
 package com.musicstore.bluevelvet.infrastructure.repository;
 
 import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryTreeNode;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryProjectionRepository {
 
     Optional<Category> findByName(String name);
     boolean existsByName(String name);
+    boolean existsByNameAndIdNot(String name, Long id);
+    boolean existsByImage(String image);
 
-    Page<Category> findByEnabledTrue(Pageable pageable);
-    List<Category> findByEnabledTrueOrderByNameAsc();
+    Page<Category> findByEffectivelyEnabledTrue(Pageable pageable);
+    List<Category> findByEffectivelyEnabledTrueOrderByNameAsc();
 
     Page<Category> findByParentIsNull(Pageable pageable);
-    List<Category> findByParentIsNullAndEnabledTrue();
+    List<Category> findByParentIsNullAndEffectivelyEnabledTrue();
 
     List<Category> findByParentId(Long parentId);
     boolean existsByParentId(Long parentId);
@@ -27,4 +37,189 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     List<Category> findAllByOrderByNameAsc();
+
+    //  Só a coluna name, para o CategoryNameIndex
+    @Query("select c.name from Category c")
+    List<String> findAllNames();
+
+    @Query("select c from Category c left join fetch c.parent where c.id in :ids")
+    List<Category> findAllWithParentByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.childCount from Category c where c.id = :id")
+    Optional<Integer> findChildCountById(@Param("id") Long id);
+
+    @Query("""
+            select c.id as id, p.id as parentId, c.enabled as enabled,
+                   c.path as path, c.effectivelyEnabled as effectivelyEnabled,
+                   c.childCount as childCount, c.descendantCount as descendantCount,
+                   c.enabledDescendantCount as enabledDescendantCount,
+                   c.productCount as productCount, c.subtreeProductCount as subtreeProductCount
+            from Category c left join c.parent p
+            """)
+    List<CategoryTreeNode> findTreeNodes();
+
+    @Query("""
+            select c.id as id, p.id as parentId, c.enabled as enabled,
+                   c.path as path, c.effectivelyEnabled as effectivelyEnabled,
+                   c.childCount as childCount, c.descendantCount as descendantCount,
+                   c.enabledDescendantCount as enabledDescendantCount,
+                   c.productCount as productCount, c.subtreeProductCount as subtreeProductCount
+            from Category c left join c.parent p
+            where c.path like concat(:path, '%')
+            order by c.path
+            """)
+    List<CategoryTreeNode> findSubtreeNodes(@Param("path") String path);
+
+    /**
+     * Keyset por (changeSeq, id): páginas estáveis mesmo com várias linhas na
+     * mesma sequência (uma transação usa uma sequência só). Para em upTo, a
+     * marca d'água de commit: acima dela ainda pode haver sequência aberta.
+     */
+    @Query("""
+            select c from Category c left join fetch c.parent
+            where (c.changeSeq > :seq or (c.changeSeq = :seq and c.id > :afterId))
+              and c.changeSeq <= :upTo
+            order by c.changeSeq, c.id
+            """)
+    List<Category> findChangedSince(@Param("seq") long seq,
+                                    @Param("afterId") long afterId,
+                                    @Param("upTo") long upTo,
+                                    Pageable pageable);
+
+    //  Linhas que não passaram pelo CategorySyncService (ex.: inseridas pelo data.sql)
+    @Modifying
+    @Query("update Category c set c.changeSeq = :seq, c.updatedAt = current_timestamp where c.changeSeq = 0")
+    int stampUnsequenced(@Param("seq") long seq);
+
+    //  Transação que comitou com outra sequência (ver CategorySyncService)
+    @Modifying(flushAutomatically = true)
+    @Query("update Category c set c.changeSeq = :restamped where c.changeSeq = :seq")
+    int restampChangeSeq(@Param("seq") long seq, @Param("restamped") long restamped);
+
+    //  SELECT ... FOR UPDATE na linha editada: só ela, não o catálogo inteiro
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Category c where c.id = :id")
+    Optional<Category> findForUpdate(@Param("id") Long id);
+
+    //  Em ordem de id: dois movimentos que travam cadeias cruzadas pedem as linhas na mesma ordem
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Category c where c.id in :ids order by c.id")
+    List<Category> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.childCount = c.childCount + :delta,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.id = :id
+            """)
+    int adjustChildCount(@Param("id") Long id, @Param("delta") int delta, @Param("seq") long seq);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.descendantCount = c.descendantCount + :sizeDelta,
+                c.enabledDescendantCount = c.enabledDescendantCount + :enabledDelta,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.id in :ids
+            """)
+    int adjustDescendantCounts(@Param("ids") Collection<Long> ids,
+                               @Param("sizeDelta") int sizeDelta,
+                               @Param("enabledDelta") int enabledDelta,
+                               @Param("seq") long seq);
+
+    //  ProductService: produtos habilitados que entram/saem da categoria
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.productCount = c.productCount + :delta,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.id = :id
+            """)
+    int adjustProductCount(@Param("id") Long id, @Param("delta") int delta, @Param("seq") long seq);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.subtreeProductCount = c.subtreeProductCount + :delta,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.id in :ids
+            """)
+    int adjustSubtreeProductCounts(@Param("ids") Collection<Long> ids,
+                                   @Param("delta") int delta,
+                                   @Param("seq") long seq);
+
+    /**
+     * Chamado pelos workers de imagem, fora de qualquer transação de request.
+     * Atualiza todas as categorias que usam a mesma imagem (arquivos deduplicados).
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Category c
+            set c.imageVariants = :variants,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.image = :image
+            """)
+    int updateImageVariants(@Param("image") String image,
+                            @Param("variants") String variants,
+                            @Param("seq") long seq);
+
+    @Query("select c from Category c left join fetch c.parent where c.image = :image")
+    List<Category> findByImage(@Param("image") String image);
+
+    /**
+     * Reescreve o prefixo do path de toda a subárvore (mover categoria).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.path = concat(:newPath, substring(c.path, length(:oldPath) + 1)),
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.path like concat(:oldPath, '%')
+            """)
+    int movePaths(@Param("oldPath") String oldPath, @Param("newPath") String newPath, @Param("seq") long seq);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.effectivelyEnabled = :effective,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.path like concat(:path, '%')
+            """)
+    int updateEffectivelyEnabledInSubtree(@Param("path") String path,
+                                          @Param("effective") boolean effective,
+                                          @Param("seq") long seq);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Category c
+            set c.effectivelyEnabled = :effective,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.id in :ids
+            """)
+    int updateEffectivelyEnabled(@Param("ids") Collection<Long> ids,
+                                 @Param("effective") boolean effective,
+                                 @Param("seq") long seq);
+
+    /**
+     * Habilita/desabilita a subárvore inteira num único UPDATE.
+     * Como todos os nós ficam com o mesmo enabled, enabledDescendantCount
+     * vira descendantCount (habilitar) ou 0 (desabilitar).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Category c
+            set c.enabled = :enabled,
+                c.effectivelyEnabled = :effective,
+                c.enabledDescendantCount = c.descendantCount * :enabledFactor,
+                c.version = c.version + 1,
+                c.changeSeq = :seq, c.updatedAt = current_timestamp
+            where c.path like concat(:path, '%')
+            """)
+    int updateSubtreeEnabled(@Param("path") String path,
+                             @Param("enabled") boolean enabled,
+                             @Param("effective") boolean effective,
+                             @Param("enabledFactor") int enabledFactor,
+                             @Param("seq") long seq);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filtros das listagens para as consultas com projeção
+ * (equivalentes aos métodos derivados do CategoryRepository).
+ */
+public final class CategorySpecifications {
+
+    private CategorySpecifications() {
+    }
+
+    //  findByParentIsNull
+    public static Specification<Category> isRoot() {
+        return (root, query, cb) -> cb.isNull(root.get("parent"));
+    }
+
+    //  findByParentId
+    public static Specification<Category> hasParent(Long parentId) {
+        return (root, query, cb) -> cb.equal(root.get("parent").get("id"), parentId);
+    }
+
+    //  findByEffectivelyEnabledTrue
+    public static Specification<Category> effectivelyEnabled() {
+        return (root, query, cb) -> cb.isTrue(root.get("effectivelyEnabled"));
+    }
+
+    //  findByNameContainingIgnoreCase (com os curingas do LIKE escapados)
+    public static Specification<Category> nameContains(String name) {
+        String escaped = name.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + escaped + "%", '\\');
+    }
+}
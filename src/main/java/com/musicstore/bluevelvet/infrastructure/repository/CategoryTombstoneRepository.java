@@ -0,0 +1,42 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.CategoryTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryTombstoneRepository extends JpaRepository<CategoryTombstone, Long> {
+
+    /**
+     * Keyset por (changeSeq, categoryId), mesma ordem de CategoryRepository.findChangedSince.
+     */
+    @Query("""
+            select t from CategoryTombstone t
+            where (t.changeSeq > :seq or (t.changeSeq = :seq and t.categoryId > :afterId))
+              and t.changeSeq <= :upTo
+            order by t.changeSeq, t.categoryId
+            """)
+    List<CategoryTombstone> findChangedSince(@Param("seq") long seq,
+                                             @Param("afterId") long afterId,
+                                             @Param("upTo") long upTo,
+                                             Pageable pageable);
+
+    @Query("select max(t.changeSeq) from CategoryTombstone t where t.deletedAt < :cutoff")
+    Optional<Long> findMaxChangeSeqDeletedBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from CategoryTombstone t where t.changeSeq <= :seq")
+    int deleteUpToChangeSeq(@Param("seq") long seq);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update CategoryTombstone t set t.changeSeq = :restamped where t.changeSeq = :seq")
+    int restampChangeSeq(@Param("seq") long seq, @Param("restamped") long restamped);
+}
@@ -0,0 +1,31 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.ChangeAllocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeAllocationRepository extends JpaRepository<ChangeAllocation, Long> {
+
+    //  Alocações comitadas acima da marca d'água, em ordem de sequência
+    @Query("select a from ChangeAllocation a where a.seq > :seq order by a.seq")
+    List<ChangeAllocation> findAllocatedAfter(@Param("seq") long seq, Pageable pageable);
+
+    //  Sequências comitadas em (after, upTo], em ordem
+    @Query("select a.seq from ChangeAllocation a where a.seq > :after and a.seq <= :upTo order by a.seq")
+    List<Long> findSeqsBetween(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("select max(a.seq) from ChangeAllocation a")
+    Optional<Long> findMaxSeq();
+
+    @Modifying
+    @Query("delete from ChangeAllocation a where a.seq < :seq")
+    int deleteBefore(@Param("seq") long seq);
+}
@@ -0,0 +1,27 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.ChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+
+    //  SELECT ... FOR UPDATE: só nas operações raras que mexem em resyncBefore e no piso,
+    //  as escritas comuns alocam a sequência sem passar por aqui
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChangeSequence s where s.name = :name")
+    Optional<ChangeSequence> findForUpdate(@Param("name") String name);
+
+    //  Transação que comitou com outra sequência (ver CategorySyncService)
+    @Modifying(flushAutomatically = true)
+    @Query("update ChangeSequence s set s.resyncBefore = :restamped where s.resyncBefore = :seq")
+    int restampResyncBefore(@Param("seq") long seq, @Param("restamped") long restamped);
+}
@@ -0,0 +1,90 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.infrastructure.entity.Product;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryProductCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    boolean existsByCategoryId(Long categoryId);
+
+    @Query("select p from Product p join fetch p.category where p.id = :id")
+    Optional<Product> findWithCategoryById(@Param("id") Long id);
+
+    /**
+     * Produtos visíveis da subárvore: faixa em idx_product_category_path_enabled;
+     * o join com a categoria (por PK) só descarta subcategorias desabilitadas.
+     * O total vem dos contadores da categoria, não de um COUNT (ver ProductService).
+     */
+    @Query("""
+            select p from Product p join fetch p.category c
+            where p.categoryPath like concat(:path, '%')
+              and p.enabled = true
+              and c.effectivelyEnabled = true
+            """)
+    List<Product> findVisibleInSubtree(@Param("path") String path, Pageable pageable);
+
+    //  Usado só quando a subárvore tem categorias desabilitadas (contador não serve de total)
+    @Query("""
+            select count(p) from Product p join p.category c
+            where p.categoryPath like concat(:path, '%')
+              and p.enabled = true
+              and c.effectivelyEnabled = true
+            """)
+    long countVisibleInSubtree(@Param("path") String path);
+
+    /**
+     * Mesmo COUNT de countVisibleInSubtree para várias subárvores de uma vez
+     * (facetas): uma faixa de category_path por categoria, agrupada pelo id dela.
+     * Subárvores sem produto visível não aparecem no resultado.
+     */
+    @Query("""
+            select s.id as categoryId, count(p) as products
+            from Product p join p.category c, Category s
+            where s.id in :ids
+              and p.categoryPath like concat(s.path, '%')
+              and p.enabled = true
+              and c.effectivelyEnabled = true
+            group by s.id
+            """)
+    List<CategoryProductCount> countVisibleInSubtrees(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select p.category.id as categoryId, count(p) as products
+            from Product p
+            where p.enabled = true
+            group by p.category.id
+            """)
+    List<CategoryProductCount> countEnabledByCategory();
+
+    /**
+     * Acompanha CategoryRepository.movePaths quando uma categoria muda de pai.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Product p
+            set p.categoryPath = concat(:newPath, substring(p.categoryPath, length(:oldPath) + 1))
+            where p.categoryPath like concat(:oldPath, '%')
+            """)
+    int moveCategoryPaths(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+    //  Reparo: produtos cujo category_path não bate com o path da categoria
+    @Modifying
+    @Query("""
+            update Product p
+            set p.categoryPath = (select c.path from Category c where c.id = p.category.id)
+            where p.categoryPath is null
+               or p.categoryPath <> (select c.path from Category c where c.id = p.category.id)
+            """)
+    int repairCategoryPaths();
+}
@@ -0,0 +1,59 @@
+package com.musicstore.bluevelvet.infrastructure.repository.projection;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Campos que podem ser pedidos em fields= (mesmos nomes do JSON de
+ * CategoryResponse), com o atributo da entidade que cada um seleciona.
+ */
+public enum CategoryField {
+
+    ID("id", "id"),
+    NAME("name", "name"),
+    IMAGE("image", "image"),
+    //  Derivado de image (ImageStorageService.publicUrl)
+    IMAGE_URL("imageUrl", "image"),
+    IMAGE_VARIANTS("imageVariants", "imageVariants"),
+    ENABLED("enabled", "enabled"),
+    EFFECTIVELY_ENABLED("effectivelyEnabled", "effectivelyEnabled"),
+    VERSION("version", "version"),
+    CHANGE_SEQ("changeSeq", "changeSeq"),
+    UPDATED_AT("updatedAt", "updatedAt"),
+    CHILD_COUNT("childCount", "childCount"),
+    DESCENDANT_COUNT("descendantCount", "descendantCount"),
+    ENABLED_DESCENDANT_COUNT("enabledDescendantCount", "enabledDescendantCount"),
+    PRODUCT_COUNT("productCount", "productCount"),
+    SUBTREE_PRODUCT_COUNT("subtreeProductCount", "subtreeProductCount"),
+    //  FK da própria linha: não precisa de join
+    PARENT_ID("parentId", "parent.id"),
+    //  Único campo que faz join com o parent
+    PARENT_NAME("parentName", "parent.name");
+
+    private final String property;
+    private final String attribute;
+
+    CategoryField(String property, String attribute) {
+        this.property = property;
+        this.attribute = attribute;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    //  Alias da coluna na tupla (campos derivados da mesma coluna compartilham o alias)
+    public String alias() {
+        return attribute.replace('.', '_');
+    }
+
+    public static Optional<CategoryField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+}
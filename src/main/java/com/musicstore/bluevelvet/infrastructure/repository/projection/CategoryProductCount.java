@@ -0,0 +1,12 @@
+package com.musicstore.bluevelvet.infrastructure.repository.projection;
+
+/**
+ * Produtos por categoria: habilitados diretamente nela (CategoryCounterRepairService)
+ * ou visíveis na subárvore (facetas do ProductService).
+ */
+public interface CategoryProductCount {
+
+    Long getCategoryId();
+
+    Long getProducts();
+}
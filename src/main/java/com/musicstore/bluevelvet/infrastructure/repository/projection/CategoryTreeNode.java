@@ -0,0 +1,28 @@
+package com.musicstore.bluevelvet.infrastructure.repository.projection;
+
+/**
+ * Projeção leve da árvore de categorias (sem nome/imagem), usada para
+ * recalcular os contadores e as colunas derivadas (path, effectivelyEnabled).
+ */
+public interface CategoryTreeNode {
+
+    Long getId();
+
+    Long getParentId();
+
+    Boolean getEnabled();
+
+    String getPath();
+
+    Boolean getEffectivelyEnabled();
+
+    Integer getChildCount();
+
+    Integer getDescendantCount();
+
+    Integer getEnabledDescendantCount();
+
+    Integer getProductCount();
+
+    Integer getSubtreeProductCount();
+}
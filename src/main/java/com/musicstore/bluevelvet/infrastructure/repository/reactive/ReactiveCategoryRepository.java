@@ -0,0 +1,59 @@
+package com.musicstore.bluevelvet.infrastructure.repository.reactive;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.converter.CategoryConverter;
+import com.musicstore.bluevelvet.infrastructure.reactive.ReactiveDatabase;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Leituras de categorias pelo driver R2DBC (API reativa, US-2100/US-0914).
+ * Mesmas colunas que o JPA mapeia em Category, sem passar pelo Hibernate:
+ * cada linha vira um CategoryResponse assim que chega do banco.
+ */
+@Repository
+public class ReactiveCategoryRepository {
+
+    private static final String SELECT = """
+            SELECT c.id, c.name, c.image, c.image_variants, c.enabled, c.effectively_enabled,
+                   c.version, c.change_seq, c.updated_at, c.child_count, c.descendant_count,
+                   c.enabled_descendant_count, c.product_count, c.subtree_product_count,
+                   c.parent_id, p.name AS parent_name
+            FROM category c
+            LEFT JOIN category p ON p.id = c.parent_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCategoryRepository(ReactiveDatabase reactiveDatabase) {
+        this.databaseClient = reactiveDatabase.client();
+    }
+
+    /**
+     * Categorias visíveis ao shopper (effectively_enabled), em ordem de nome.
+     */
+    public Flux<CategoryResponse> findVisibleOrderByName() {
+        // Lambda e não CategoryConverter::toResponse: a referência também casaria com map(BiFunction)
+        return databaseClient.sql(SELECT + "WHERE c.effectively_enabled = TRUE ORDER BY c.name")
+                .map(row -> CategoryConverter.toResponse(row))
+                .all();
+    }
+
+    /**
+     * Mesma busca de findByNameContainingIgnoreCase, paginada por LIMIT/OFFSET.
+     */
+    public Flux<CategoryResponse> searchByName(String name, int limit, long offset) {
+        return databaseClient.sql(SELECT + "WHERE LOWER(c.name) LIKE :pattern ORDER BY c.name LIMIT :limit OFFSET :offset")
+                .bind("pattern", "%" + escapeLike(name.toLowerCase()) + "%")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(row -> CategoryConverter.toResponse(row))
+                .all();
+    }
+
+    //  % e _ digitados pelo usuário são literais, como no Containing do Spring Data
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
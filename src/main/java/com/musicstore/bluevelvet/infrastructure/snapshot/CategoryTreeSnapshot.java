@@ -0,0 +1,297 @@
+package com.musicstore.bluevelvet.infrastructure.snapshot;
+
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot binário da árvore de categorias, lido via mmap (sem desserializar
+ * nada na subida: os campos são lidos direto do page cache quando pedidos).
+ *
+ * <pre>
+ * header (32 bytes): magic "BVCT" | formato (short) | reservado (short)
+ *                    | versão do catálogo (long) | registros (int)
+ *                    | offset das strings (int) | criado em, epoch ms (long)
+ * registro (96 bytes, em ordem de nome): id | parentId (0 = raiz) | version
+ *                    | changeSeq | updatedAt segundos (long) | updatedAt nanos
+ *                    | childCount | descendantCount | enabledDescendantCount
+ *                    | name, image, imageVariants (offset + tamanho, -1 = null)
+ *                    | flags (bit 0 enabled, bit 1 effectivelyEnabled) | padding
+ *                    | productCount | subtreeProductCount
+ * strings: UTF-8 concatenadas
+ * </pre>
+ */
+public final class CategoryTreeSnapshot {
+
+    private static final int MAGIC = 0x42564354; // "BVCT"
+    //  2: contadores de produtos (arquivos do formato 1 são descartados e regravados)
+    private static final short FORMAT = 2;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 96;
+
+    private static final int ID = 0;
+    private static final int PARENT_ID = 8;
+    private static final int VERSION = 16;
+    private static final int CHANGE_SEQ = 24;
+    private static final int UPDATED_SECONDS = 32;
+    private static final int UPDATED_NANOS = 40;
+    private static final int CHILD_COUNT = 44;
+    private static final int DESCENDANT_COUNT = 48;
+    private static final int ENABLED_DESCENDANT_COUNT = 52;
+    private static final int NAME = 56;
+    private static final int IMAGE = 64;
+    private static final int IMAGE_VARIANTS = 72;
+    private static final int FLAGS = 80;
+    private static final int PRODUCT_COUNT = 84;
+    private static final int SUBTREE_PRODUCT_COUNT = 88;
+
+    private static final byte ENABLED = 1;
+    private static final byte EFFECTIVELY_ENABLED = 2;
+
+    private final ByteBuffer buffer;
+    private final long catalogVersion;
+    private final int size;
+    private final int stringsOffset;
+    private final Instant createdAt;
+
+    //  Índice do pai de cada registro (-1 = raiz), montado na abertura
+    private final int[] parentIndex;
+
+    private CategoryTreeSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a category snapshot");
+        }
+        if (buffer.getShort(4) != FORMAT) {
+            throw new IOException("Unsupported category snapshot format " + buffer.getShort(4));
+        }
+
+        this.catalogVersion = buffer.getLong(8);
+        this.size = buffer.getInt(16);
+        this.stringsOffset = buffer.getInt(20);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(24));
+
+        if (size < 0 || stringsOffset != HEADER_SIZE + (long) size * RECORD_SIZE || stringsOffset > buffer.capacity()) {
+            throw new IOException("Truncated category snapshot");
+        }
+
+        Map<Long, Integer> indexById = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            indexById.put(id(i), i);
+        }
+        this.parentIndex = new int[size];
+        for (int i = 0; i < size; i++) {
+            Long parentId = parentId(i);
+            parentIndex[i] = parentId != null ? indexById.getOrDefault(parentId, -1) : -1;
+        }
+    }
+
+    /**
+     * Mapeia o arquivo em memória; o conteúdo é validado (magic, formato, tamanhos).
+     */
+    public static CategoryTreeSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois de fechar o canal
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CategoryTreeSnapshot(mapped);
+        }
+    }
+
+    /**
+     * Grava o snapshot num temporário e move por cima do atual: leitores que
+     * já mapearam o arquivo anterior continuam com ele até soltá-lo.
+     */
+    public static void write(Path file, long catalogVersion, List<Category> categories) throws IOException {
+        List<byte[]> strings = new ArrayList<>();
+        int[] stringOffset = {0};
+
+        ByteBuffer records = ByteBuffer.allocate(categories.size() * RECORD_SIZE);
+        for (Category category : categories) {
+            int base = records.position();
+            Instant updatedAt = category.getUpdatedAt();
+
+            records.putLong(base + ID, category.getId());
+            records.putLong(base + PARENT_ID, category.getParent() != null ? category.getParent().getId() : 0L);
+            records.putLong(base + VERSION, orZero(category.getVersion()));
+            records.putLong(base + CHANGE_SEQ, orZero(category.getChangeSeq()));
+            records.putLong(base + UPDATED_SECONDS, updatedAt != null ? updatedAt.getEpochSecond() : Long.MIN_VALUE);
+            records.putInt(base + UPDATED_NANOS, updatedAt != null ? updatedAt.getNano() : 0);
+            records.putInt(base + CHILD_COUNT, orZero(category.getChildCount()));
+            records.putInt(base + DESCENDANT_COUNT, orZero(category.getDescendantCount()));
+            records.putInt(base + ENABLED_DESCENDANT_COUNT, orZero(category.getEnabledDescendantCount()));
+            putString(records, base + NAME, category.getName(), strings, stringOffset);
+            putString(records, base + IMAGE, category.getImage(), strings, stringOffset);
+            putString(records, base + IMAGE_VARIANTS, category.getImageVariants(), strings, stringOffset);
+            records.put(base + FLAGS, (byte) ((Boolean.TRUE.equals(category.getEnabled()) ? ENABLED : 0)
+                    | (Boolean.TRUE.equals(category.getEffectivelyEnabled()) ? EFFECTIVELY_ENABLED : 0)));
+            records.putInt(base + PRODUCT_COUNT, orZero(category.getProductCount()));
+            records.putInt(base + SUBTREE_PRODUCT_COUNT, orZero(category.getSubtreeProductCount()));
+            records.position(base + RECORD_SIZE);
+        }
+        records.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putShort(FORMAT)
+                .putShort((short) 0)
+                .putLong(catalogVersion)
+                .putInt(categories.size())
+                .putInt(HEADER_SIZE + categories.size() * RECORD_SIZE)
+                .putLong(System.currentTimeMillis())
+                .flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "category-tree-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(header);
+                channel.write(records);
+                for (byte[] string : strings) {
+                    channel.write(ByteBuffer.wrap(string));
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public long catalogVersion() {
+        return catalogVersion;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public long id(int index) {
+        return buffer.getLong(record(index) + ID);
+    }
+
+    public Long parentId(int index) {
+        long parentId = buffer.getLong(record(index) + PARENT_ID);
+        return parentId != 0 ? parentId : null;
+    }
+
+    //  Índice do registro pai, ou -1 para raízes
+    public int parentIndex(int index) {
+        return parentIndex[index];
+    }
+
+    public long version(int index) {
+        return buffer.getLong(record(index) + VERSION);
+    }
+
+    public long changeSeq(int index) {
+        return buffer.getLong(record(index) + CHANGE_SEQ);
+    }
+
+    public Instant updatedAt(int index) {
+        long seconds = buffer.getLong(record(index) + UPDATED_SECONDS);
+        return seconds != Long.MIN_VALUE
+                ? Instant.ofEpochSecond(seconds, buffer.getInt(record(index) + UPDATED_NANOS))
+                : null;
+    }
+
+    public int childCount(int index) {
+        return buffer.getInt(record(index) + CHILD_COUNT);
+    }
+
+    public int descendantCount(int index) {
+        return buffer.getInt(record(index) + DESCENDANT_COUNT);
+    }
+
+    public int enabledDescendantCount(int index) {
+        return buffer.getInt(record(index) + ENABLED_DESCENDANT_COUNT);
+    }
+
+    public int productCount(int index) {
+        return buffer.getInt(record(index) + PRODUCT_COUNT);
+    }
+
+    public int subtreeProductCount(int index) {
+        return buffer.getInt(record(index) + SUBTREE_PRODUCT_COUNT);
+    }
+
+    public String name(int index) {
+        return string(record(index) + NAME);
+    }
+
+    public String image(int index) {
+        return string(record(index) + IMAGE);
+    }
+
+    public String imageVariants(int index) {
+        return string(record(index) + IMAGE_VARIANTS);
+    }
+
+    public boolean enabled(int index) {
+        return (buffer.get(record(index) + FLAGS) & ENABLED) != 0;
+    }
+
+    public boolean effectivelyEnabled(int index) {
+        return (buffer.get(record(index) + FLAGS) & EFFECTIVELY_ENABLED) != 0;
+    }
+
+    private static int record(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private String string(int position) {
+        int length = buffer.getInt(position + 4);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(stringsOffset + buffer.getInt(position), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer records, int position, String value,
+                                  List<byte[]> strings, int[] nextOffset) {
+        if (value == null) {
+            records.putInt(position, 0);
+            records.putInt(position + 4, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        records.putInt(position, nextOffset[0]);
+        records.putInt(position + 4, bytes.length);
+        strings.add(bytes);
+        nextOffset[0] += bytes.length;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
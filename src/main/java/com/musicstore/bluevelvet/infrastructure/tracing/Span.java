@@ -0,0 +1,133 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Um trecho cronometrado de uma requisição (ou tarefa em background).
+ * Criado por Tracer.start e encerrado com close(), normalmente num
+ * try-with-resources.
+ */
+public final class Span implements AutoCloseable {
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentId;
+    private final SpanKind kind;
+    private final boolean sampled;
+    private final String thread;
+    private final Instant startedAt;
+    private final long startNanos;
+
+    //  Span corrente quando este começou; volta a ser o corrente no close()
+    private final Span previous;
+
+    private String name;
+    private Map<String, Object> tags;
+    private String error;
+    private volatile long durationNanos = -1;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentId, String name,
+         SpanKind kind, boolean sampled, Span previous) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.previous = previous;
+        this.thread = Thread.currentThread().getName();
+        this.startedAt = Instant.now();
+        this.startNanos = System.nanoTime();
+    }
+
+    public Span tag(String key, Object value) {
+        if (sampled && value != null) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    //  A rota (ex.: /api/categories/{id}) só é conhecida depois do dispatch
+    public Span rename(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        this.error = throwable.getClass().getSimpleName()
+                + (throwable.getMessage() != null ? ": " + throwable.getMessage() : "");
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (durationNanos < 0) {
+            durationNanos = System.nanoTime() - startNanos;
+            tracer.end(this);
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public boolean isRoot() {
+        return parentId == null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SpanKind getKind() {
+        return kind;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Map<String, Object> getTags() {
+        return tags != null ? tags : Collections.emptyMap();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+}
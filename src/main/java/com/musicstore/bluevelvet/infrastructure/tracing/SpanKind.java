@@ -0,0 +1,12 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+public enum SpanKind {
+    HTTP,
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    HASHING,
+    SERIALIZATION,
+    //  Tarefa executada em outro executor, filha de quem a agendou
+    ASYNC
+}
@@ -0,0 +1,52 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spans encerrados de um trace. Fica completo quando a raiz termina; spans
+ * assíncronos que terminam depois disso ainda são anexados.
+ */
+public final class Trace {
+
+    private final Span root;
+    private final List<Span> spans = new ArrayList<>();
+    private int droppedSpans;
+    private volatile boolean complete;
+
+    Trace(Span root) {
+        this.root = root;
+    }
+
+    synchronized void add(Span span, int maxSpans) {
+        if (spans.size() < maxSpans) {
+            spans.add(span);
+        } else {
+            droppedSpans++;
+        }
+    }
+
+    void complete() {
+        complete = true;
+    }
+
+    public String getTraceId() {
+        return root.getTraceId();
+    }
+
+    public Span getRoot() {
+        return root;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public synchronized int getDroppedSpans() {
+        return droppedSpans;
+    }
+}
@@ -0,0 +1,137 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musicstore.bluevelvet.domain.converter.TraceConverter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guarda os últimos traces completos em memória (GET /api/traces) e, se
+ * configurado, grava cada um como uma linha JSON num arquivo local.
+ * A gravação roda numa thread própria; se ela atrasar, traces são descartados
+ * em vez de segurar as requisições.
+ */
+@Log4j2
+@Component
+public class TraceRecorder {
+
+    private final Map<String, Trace> open = new ConcurrentHashMap<>();
+    private final Map<String, Trace> completed;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor exporter;
+    private final Path exportFile;
+    private final int maxSpansPerTrace;
+
+    //  Usado só pela thread do exporter
+    private BufferedWriter writer;
+
+    public TraceRecorder(ObjectMapper objectMapper,
+                         @Value("${bluevelvet.tracing.max-traces:200}") int maxTraces,
+                         @Value("${bluevelvet.tracing.max-spans-per-trace:1000}") int maxSpansPerTrace,
+                         @Value("${bluevelvet.tracing.export-file:}") String exportFile) {
+        this.objectMapper = objectMapper;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.exportFile = exportFile.isBlank() ? null : Path.of(exportFile);
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(maxTraces * 2, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Trace> eldest) {
+                return size() > maxTraces;
+            }
+        });
+        this.exporter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), runnable -> {
+                    Thread thread = new Thread(runnable, "trace-exporter");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    void begin(Span root) {
+        open.put(root.getTraceId(), new Trace(root));
+    }
+
+    void record(Span span) {
+        if (span.isRoot()) {
+            Trace trace = open.remove(span.getTraceId());
+            if (trace != null) {
+                trace.complete();
+                completed.put(trace.getTraceId(), trace);
+                export(trace);
+            }
+            return;
+        }
+
+        Trace trace = open.get(span.getTraceId());
+        if (trace == null) {
+            // Tarefa assíncrona que terminou depois da requisição
+            trace = completed.get(span.getTraceId());
+        }
+        if (trace != null) {
+            trace.add(span, maxSpansPerTrace);
+        }
+    }
+
+    /**
+     * Traces completos, do mais recente para o mais antigo.
+     */
+    public List<Trace> getTraces() {
+        List<Trace> traces;
+        synchronized (completed) {
+            traces = new ArrayList<>(completed.values());
+        }
+        Collections.reverse(traces);
+        return traces;
+    }
+
+    public Optional<Trace> getTrace(String traceId) {
+        return Optional.ofNullable(completed.get(traceId));
+    }
+
+    private void export(Trace trace) {
+        if (exportFile == null) {
+            return;
+        }
+        exporter.execute(() -> {
+            try {
+                if (writer == null) {
+                    Files.createDirectories(exportFile.toAbsolutePath().getParent());
+                    writer = Files.newBufferedWriter(exportFile, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                writer.write(objectMapper.writeValueAsString(TraceConverter.toResponse(trace)));
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                log.warn("Unable to export trace {} to {}: {}", trace.getTraceId(), exportFile, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        exporter.shutdown();
+        // Depois do término a thread do exporter não usa mais o writer
+        if (exporter.awaitTermination(5, TimeUnit.SECONDS) && writer != null) {
+            writer.close();
+        }
+    }
+}
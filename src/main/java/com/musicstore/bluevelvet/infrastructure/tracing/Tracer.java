@@ -0,0 +1,112 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracing sem coletor externo: o span corrente fica num ThreadLocal, os
+ * spans encerrados vão para o TraceRecorder (memória + arquivo JSON lines)
+ * e GET /api/traces mostra o detalhamento de cada requisição.
+ */
+@Component
+@RequiredArgsConstructor
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final TraceRecorder recorder;
+
+    @Value("${bluevelvet.tracing.enabled:true}")
+    private boolean enabled;
+
+    //  1% por padrão: o custo do trace completo fica só numa fração das requisições
+    @Value("${bluevelvet.tracing.sample-rate:0.01}")
+    private double sampleRate;
+
+    /**
+     * Abre um span filho do corrente. Sem span corrente, só HTTP e SERVICE
+     * (tarefas agendadas) começam um trace novo; queries soltas, como as da
+     * subida da aplicação, não são registradas.
+     */
+    public Span start(String name, SpanKind kind) {
+        Span parent = CURRENT.get();
+        Span span;
+
+        if (parent != null) {
+            span = new Span(this, parent.getTraceId(), parent.isSampled() ? newId(8) : null,
+                    parent.getSpanId(), name, kind, parent.isSampled(), parent);
+        } else {
+            boolean sampled = enabled
+                    && (kind == SpanKind.HTTP || kind == SpanKind.SERVICE)
+                    && ThreadLocalRandom.current().nextDouble() < sampleRate;
+            span = new Span(this, sampled ? newId(16) : null, sampled ? newId(8) : null,
+                    null, name, kind, sampled, null);
+            if (sampled) {
+                recorder.begin(span);
+            }
+        }
+
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Propaga o contexto para outro executor: a tarefa roda como span ASYNC
+     * filho de quem a agendou (com o tempo que ficou na fila).
+     */
+    public Runnable wrap(String name, Runnable task) {
+        Span parent = CURRENT.get();
+        if (parent == null || !parent.isSampled()) {
+            return task;
+        }
+
+        long scheduledAt = System.nanoTime();
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(parent);
+            Span span = start(name, SpanKind.ASYNC);
+            span.tag("queue.wait.ms", TimeUnit.NANOSECONDS.toMillis(span.getStartNanos() - scheduledAt));
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.close();
+                restore(previous);
+            }
+        };
+    }
+
+    //  Trace da thread corrente, se amostrado (ex.: para ligar um evento de auditoria ao trace)
+    public String currentTraceId() {
+        Span span = CURRENT.get();
+        return span != null && span.isSampled() ? span.getTraceId() : null;
+    }
+
+    void end(Span span) {
+        restore(span.getPrevious());
+        if (span.isSampled()) {
+            recorder.record(span);
+        }
+    }
+
+    private static void restore(Span span) {
+        if (span != null) {
+            CURRENT.set(span);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    private static String newId(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+}
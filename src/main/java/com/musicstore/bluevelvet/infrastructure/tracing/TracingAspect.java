@@ -0,0 +1,124 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um span por chamada de controller, de método público de serviço e de
+ * repositório (com a quantidade de linhas devolvidas ou alteradas).
+ * Chamadas internas da própria classe não passam pelo proxy e ficam
+ * dentro do span de quem chamou.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private static final String BASE_PACKAGE = "com.musicstore.bluevelvet.";
+
+    /**
+     * Métodos públicos dos serviços, menos os que não são trabalho de request:
+     * callbacks de ciclo de vida (isRunning/getPhase a cada refresh do contexto),
+     * listeners de evento (rodam dentro do span de quem publicou), o circuit
+     * breaker e o índice de nomes, chamados em toda leitura/escrita e só em memória.
+     */
+    static final String SERVICE_METHODS = "within(com.musicstore.bluevelvet.domain.service..*)"
+            + " && execution(public * *(..))"
+            + " && !within(com.musicstore.bluevelvet.domain.service.DatabaseCircuitBreaker)"
+            + " && !within(com.musicstore.bluevelvet.domain.service.CategoryNameIndex)"
+            + " && !execution(* org.springframework.context.Lifecycle.*(..))"
+            + " && !execution(* org.springframework.context.SmartLifecycle.*(..))"
+            + " && !execution(* org.springframework.context.Phased.*(..))"
+            + " && !@annotation(org.springframework.context.event.EventListener)"
+            + " && !@annotation(org.springframework.transaction.event.TransactionalEventListener)";
+
+    private final Tracer tracer;
+
+    //  Proxy do Spring Data -> nome da interface do repositório (ex.: CategoryRepository)
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.musicstore.bluevelvet.api.controller..*) || within(com.musicstore.bluevelvet.web.controller..*)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), SpanKind.CONTROLLER);
+    }
+
+    @Around(SERVICE_METHODS)
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Event loop da API reativa: sem trace de request, e um span aqui abriria uma raiz por chamada
+        if (Schedulers.isInNonBlockingThread()) {
+            return joinPoint.proceed();
+        }
+        return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), SpanKind.SERVICE);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), TracingAspect::repositoryName);
+
+        Span span = tracer.start(repository + "." + joinPoint.getSignature().getName(), SpanKind.REPOSITORY);
+        try {
+            Object result = joinPoint.proceed();
+            if (span.isSampled()) {
+                tagRows(span, result, ((MethodSignature) joinPoint.getSignature()).getMethod()
+                        .isAnnotationPresent(Modifying.class));
+            }
+            return result;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String type, SpanKind kind) throws Throwable {
+        Span span = tracer.start(type + "." + joinPoint.getSignature().getName(), kind);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    private static void tagRows(Span span, Object result, boolean modifying) {
+        if (modifying && result instanceof Number affected) {
+            span.tag("db.rows.affected", affected);
+        } else if (result instanceof Page<?> page) {
+            span.tag("db.rows", page.getNumberOfElements()).tag("db.total", page.getTotalElements());
+        } else if (result instanceof Collection<?> rows) {
+            span.tag("db.rows", rows.size());
+        } else if (result instanceof Optional<?> row) {
+            span.tag("db.rows", row.isPresent() ? 1 : 0);
+        } else if (result instanceof Number || result instanceof Boolean) {
+            span.tag("db.result", result);
+        } else if (result != null) {
+            span.tag("db.rows", 1);
+        }
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+            if (type.getName().startsWith(BASE_PACKAGE)
+                    && org.springframework.data.repository.Repository.class.isAssignableFrom(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
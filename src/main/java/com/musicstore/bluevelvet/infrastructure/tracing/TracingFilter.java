@@ -0,0 +1,82 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Span raiz de cada requisição. O id do trace volta no header X-Trace-Id
+ * para ser procurado em GET /api/traces/{traceId}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    //  O próprio visualizador e arquivos estáticos não geram trace
+    private static final List<String> IGNORED_PREFIXES = List.of(
+            "/api/traces", "/css/", "/js/", "/images/", "/favicon", "/swagger-ui", "/v3/api-docs");
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IGNORED_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Span span = tracer.start(request.getMethod() + " " + request.getRequestURI(), SpanKind.HTTP);
+        if (span.isSampled()) {
+            response.setHeader(TRACE_ID_HEADER, span.getTraceId());
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                span.rename(request.getMethod() + " " + route);
+            }
+            span.tag("http.method", request.getMethod())
+                    .tag("http.path", request.getRequestURI())
+                    .tag("http.query", redactQuery(request.getQueryString()))
+                    .tag("http.status", response.getStatus());
+            span.close();
+        }
+    }
+
+    /**
+     * Só os nomes dos parâmetros: os valores (buscas, e-mails, tokens) não
+     * vão para o trace guardado em memória nem para o arquivo exportado.
+     */
+    static String redactQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return null;
+        }
+        StringJoiner redacted = new StringJoiner("&");
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            redacted.add(separator >= 0 ? parameter.substring(0, separator) + "=*" : parameter);
+        }
+        return redacted.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.musicstore.bluevelvet.infrastructure.web;
+
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import com.musicstore.bluevelvet.domain.service.DatabaseCircuitBreaker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * ETag das listagens de categorias pela versão do catálogo (última changeSeq
+ * comitada). O cache do dashboard revalida com If-None-Match e recebe 304
+ * com uma leitura por PK, sem executar a listagem.
+ * A versão é lida antes dos dados: se uma escrita comitar no meio, o corpo
+ * é mais novo que o ETag e a próxima revalidação traz a página de novo.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionInterceptor implements HandlerInterceptor {
+
+    public static final String VERSION_HEADER = "X-Catalog-Version";
+
+    private final CategorySyncService categorySyncService;
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Com o banco fora o CategoryReadGuard decide o que servir, sem ETag
+        if (!HttpMethod.GET.matches(request.getMethod()) || circuitBreaker.isOpen()) {
+            return true;
+        }
+
+        long version;
+        try {
+            version = categorySyncService.latestChangeSeq();
+        } catch (RuntimeException e) {
+            log.debug("Catalog version unavailable, skipping ETag: {}", e.getMessage());
+            return true;
+        }
+
+        response.setHeader(VERSION_HEADER, String.valueOf(version));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(eTag(version));
+    }
+
+    public static String eTag(long version) {
+        return "W/\"catalog-" + version + "\"";
+    }
+}
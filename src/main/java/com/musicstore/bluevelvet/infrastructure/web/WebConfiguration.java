@@ -0,0 +1,29 @@
+package com.musicstore.bluevelvet.infrastructure.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final CatalogVersionInterceptor catalogVersionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Só listagens: GET /{id} já tem ETag pela versão da própria categoria
+        registry.addInterceptor(catalogVersionInterceptor)
+                .addPathPatterns(
+                        "/api/categories",
+                        "/api/categories/top-level",
+                        "/api/categories/hierarchy",
+                        "/api/categories/search",
+                        "/api/categories/sorted",
+                        "/api/categories/enabled",
+                        "/api/categories/export",
+                        "/api/categories/*/subcategories",
+                        "/api/categories/*/with-children");
+    }
+}
@@ -1,13 +1,75 @@
 package com.musicstore.bluevelvet.web.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.musicstore.bluevelvet.api.response.DashboardBootstrapResponse;
+import com.musicstore.bluevelvet.domain.service.CategoryChangeFeedService;
+import com.musicstore.bluevelvet.domain.service.CategoryService;
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.time.Instant;
+
+@Log4j2
 @Controller
+@RequiredArgsConstructor
 public class WebDashboardController {
 
+    //  Precisam bater com os valores iniciais do dashboard.js
+    private static final int INITIAL_PAGE_SIZE = 10;
+    private static final String INITIAL_SORT = "name,asc";
+    private static final int MAX_PARENT_OPTIONS = 100;
+    private static final String PARENT_FIELDS = "id,name,enabled";
+
+    private final CategoryService categoryService;
+    private final CategorySyncService categorySyncService;
+    private final CategoryChangeFeedService changeFeedService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A primeira página de categorias, as opções de categoria pai e a versão
+     * do catálogo vão embutidas no HTML como JSON: o dashboard abre com um
+     * único round trip. Se o banco falhar, a página sai sem os dados e o
+     * dashboard.js busca tudo pela API como antes.
+     */
     @GetMapping("/dashboard")
-    public String showDashboard() {
+    public String showDashboard(Model model, HttpServletResponse response) {
+        // A página carrega dados do catálogo: não pode ser reaproveitada do cache
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        model.addAttribute("bootstrap", bootstrapJson());
         return "dashboard";
     }
+
+    private String bootstrapJson() {
+        try {
+            // Lida antes dos dados: mudanças no meio do caminho são reenviadas pelo feed
+            long changeSequence = changeFeedService.getLastSequence();
+
+            DashboardBootstrapResponse bootstrap = DashboardBootstrapResponse.builder()
+                    .changeSequence(changeSequence)
+                    .catalogVersion(categorySyncService.latestChangeSeq())
+                    .categories(categoryService.findAll(
+                            PageRequest.of(0, INITIAL_PAGE_SIZE, Sort.by("name").ascending())))
+                    .parentCategories(categoryService.findTopLevelCategories(
+                            PageRequest.of(0, MAX_PARENT_OPTIONS, Sort.by("name")), PARENT_FIELDS))
+                    .pageSize(INITIAL_PAGE_SIZE)
+                    .sort(INITIAL_SORT)
+                    .generatedAt(Instant.now())
+                    .build();
+
+            // Dentro de <script> um "</script>" no nome de uma categoria fecharia a tag
+            return objectMapper.writeValueAsString(bootstrap).replace("<", "\\u003c");
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Rendering dashboard without bootstrap data: {}", e.getMessage());
+            return null;
+        }
+    }
 }
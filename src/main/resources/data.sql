@@ -1,13 +1,15 @@
 -- Desabilitar verificação de foreign keys temporariamente
 SET FOREIGN_KEY_CHECKS = 0;
 
--- Limpar dados existentes
+-- Limpar dados existentes (produtos junto: product.category_id aponta para category)
+TRUNCATE TABLE product;
 TRUNCATE TABLE category;
 
 -- Reabilitar verificação de foreign keys
 SET FOREIGN_KEY_CHECKS = 1;
 
 -- Resetar auto-increment
+ALTER TABLE product AUTO_INCREMENT = 1;
 ALTER TABLE category AUTO_INCREMENT = 1;
 
 -- Categorias Raiz (Top-Level)
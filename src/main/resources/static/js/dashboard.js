@@ -32,6 +32,7 @@ document.addEventListener('DOMContentLoaded', () => {
 
     // Variáveis de estado
     let currentCategoryId = null;
+    let currentCategoryVersion = null;
     let currentPage = 0;
     let pageSize = parseInt(elements.itemsPerPageSelect?.value) || 10;
     let currentSort = 'name,asc';
@@ -41,13 +42,35 @@ document.addEventListener('DOMContentLoaded', () => {
     let totalCategories = 0;
     let totalPages = 0;
     let abortController = null;
+    let parentCategories = [];
+    let changeFeed = null;
+    let lastChangeSequence = null;
+    let catalogVersion = null;
+    let catalogVersionCheckedAt = 0;
+    let categoriesLoadToken = 0;
+
+    const PARENT_CATEGORIES_URL = '/api/categories/top-level?size=100&fields=id,name,enabled';
+    // Sem mudança no feed, a versão confirmada vale por este tempo sem revalidar
+    const CATALOG_TRUST_MS = 60000;
+    const VIRTUAL_CHUNK_SIZE = 1000;
+    const VIRTUAL_PARALLEL_CHUNKS = 4;
+    const VIRTUAL_ROW_HEIGHT = 56;
+    const VIRTUAL_OVERSCAN = 10;
+    // Só o que a linha da tabela usa
+    const VIRTUAL_FIELDS = 'id,name,parentId,enabled,childCount,descendantCount,version';
+
+    const catalogCache = createCatalogCache();
+    const virtualTable = { active: false, rows: [], start: -1, end: -1, frame: 0 };
 
     // === INICIALIZAÇÃO ===
     async function init() {
         try {
             await loadUserInfo();
-            await loadParentCategories();
-            await loadCategories(0);
+            // Dados embutidos pelo servidor: sem chamadas à API na abertura
+            if (!applyBootstrap(readBootstrap())) {
+                await loadParentCategories();
+                await loadCategories(0);
+            }
             setupEventListeners();
             setupModernFeatures();
         } catch (error) {
@@ -104,6 +127,7 @@ document.addEventListener('DOMContentLoaded', () => {
     function setupModernFeatures() {
         addSkeletonLoading();
         setupOfflineDetection();
+        setupChangeFeed();
 
         if ('serviceWorker' in navigator) {
             navigator.serviceWorker.register('/sw.js')
@@ -167,6 +191,46 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     }
 
+    // === DADOS INICIAIS EMBUTIDOS NA PÁGINA ===
+    function readBootstrap() {
+        const script = document.getElementById('dashboardBootstrap');
+        if (!script) return null;
+
+        try {
+            return JSON.parse(script.textContent);
+        } catch (error) {
+            console.error('Dados iniciais inválidos:', error);
+            return null;
+        } finally {
+            // Só vale para a primeira renderização
+            script.remove();
+        }
+    }
+
+    function applyBootstrap(bootstrap) {
+        // Só serve se bater com o estado inicial da tela
+        if (!bootstrap?.categories || bootstrap.pageSize !== pageSize || bootstrap.sort !== currentSort
+            || currentSearch || currentStatusFilter !== 'all' || currentTypeFilter !== 'all') {
+            return false;
+        }
+
+        // As mesmas respostas da API: entram no cache com o ETag da versão embutida
+        rememberCatalogVersion(bootstrap.catalogVersion);
+        cacheResponse(PARENT_CATEGORIES_URL, bootstrap.parentCategories);
+        cacheResponse(buildCategoriesUrl(0), bootstrap.categories);
+
+        parentCategories = bootstrap.parentCategories?.content || [];
+        renderParentCategories(parentCategories);
+
+        renderCategories(bootstrap.categories);
+        updatePagination(bootstrap.categories, 0);
+        updateDashboardInfo(bootstrap.categories);
+
+        // O feed retoma da posição lida antes dos dados
+        lastChangeSequence = bootstrap.changeSequence ?? null;
+        return true;
+    }
+
     // === CARREGAR CATEGORIAS PAI PARA O SELECT ===
     async function loadParentCategories() {
         if (!elements.parentCategorySelect) return;
@@ -174,11 +238,12 @@ document.addEventListener('DOMContentLoaded', () => {
         try {
             showSelectLoading();
 
-            const { data, error } = await safeFetch('/api/categories/top-level?size=100');
+            // Só o que o select usa: sem imagem, contadores nem join com o parent
+            const { data, error } = await cachedFetch(PARENT_CATEGORIES_URL);
             if (error) throw error;
 
-            const categories = data?.content || data || [];
-            renderParentCategories(categories);
+            parentCategories = data?.content || data || [];
+            renderParentCategories(parentCategories);
 
         } catch (error) {
             console.error('Error loading parent categories:', error);
@@ -304,6 +369,7 @@ document.addEventListener('DOMContentLoaded', () => {
 
         row.style.animationDelay = `${index * 0.05}s`;
         row.className = 'fade-in-row';
+        row.dataset.categoryId = category.id;
 
         row.innerHTML = `
             <td>
@@ -316,6 +382,9 @@ document.addEventListener('DOMContentLoaded', () => {
             '<span class="root-category-indent" title="Categoria Principal">●</span>'
         }
                     <span class="category-name">${safeName}</span>
+                    ${category.childCount > 0 ?
+            `<span class="child-count-badge" title="${category.descendantCount} categorias na subárvore">${category.childCount}</span>` : ''
+        }
                     ${!category.enabled ? '<span class="disabled-badge" title="Categoria desativada">Desativada</span>' : ''}
                 </div>
             </td>
@@ -339,6 +408,7 @@ document.addEventListener('DOMContentLoaded', () => {
                             data-name="${safeName}" 
                             data-enabled="${category.enabled}" 
                             data-parent="${category.parentId || ''}" 
+                            data-version="${category.version ?? ''}" 
                             title="Editar categoria">
                         <span class="btn-text">Editar</span>
                     </button>
@@ -485,12 +555,13 @@ document.addEventListener('DOMContentLoaded', () => {
         if (elements.categoryEnabledCheckbox) elements.categoryEnabledCheckbox.checked = true;
         if (elements.parentCategorySelect) elements.parentCategorySelect.value = '';
         currentCategoryId = null;
+        currentCategoryVersion = null;
 
         clearError('nameError');
         showModal(elements.modal);
     }
 
-    function openEditModal(categoryId, categoryName, enabled, parentId) {
+    function openEditModal(categoryId, categoryName, enabled, parentId, version) {
         if (!elements.modal || !elements.categoryNameInput) return;
 
         elements.modalTitle.textContent = 'Editar Categoria';
@@ -498,6 +569,7 @@ document.addEventListener('DOMContentLoaded', () => {
         if (elements.categoryEnabledCheckbox) elements.categoryEnabledCheckbox.checked = Boolean(enabled);
         if (elements.parentCategorySelect) elements.parentCategorySelect.value = parentId || '';
         currentCategoryId = categoryId;
+        currentCategoryVersion = version || null;
 
         clearError('nameError');
         showModal(elements.modal);
@@ -519,6 +591,7 @@ document.addEventListener('DOMContentLoaded', () => {
         if (!elements.modal) return;
         elements.modal.classList.add('hidden');
         currentCategoryId = null;
+        currentCategoryVersion = null;
         if (elements.categoryNameInput) {
             elements.categoryNameInput.classList.remove('input-focus', 'input-error');
         }
@@ -549,16 +622,36 @@ document.addEventListener('DOMContentLoaded', () => {
             const url = currentCategoryId ?
                 `/api/categories/${currentCategoryId}` : '/api/categories';
 
+            const headers = { 'Content-Type': 'application/json' };
+            if (currentCategoryId && currentCategoryVersion) {
+                // Evita sobrescrever edições de outro administrador
+                headers['If-Match'] = `"${currentCategoryVersion}"`;
+            }
+
             const { data, error } = await safeFetch(url, {
                 method,
-                headers: { 'Content-Type': 'application/json' },
+                headers,
                 body: JSON.stringify(categoryData)
             });
 
+            if (error?.status === 409 || error?.status === 412) {
+                closeModal();
+                await loadCategories(currentPage);
+                showToast('Esta categoria foi alterada por outro usuário. Revise e tente novamente.', 'warning');
+                return;
+            }
             if (error) throw error;
 
             closeModal();
-            await loadCategories(currentPage);
+            if (isChangeFeedOpen()) {
+                applyCategoryChange({
+                    type: method === 'PUT' ? 'UPDATED' : 'CREATED',
+                    categoryId: data?.id,
+                    category: data
+                });
+            } else {
+                await loadCategories(currentPage);
+            }
             showToast(
                 currentCategoryId ? 'Categoria atualizada com sucesso!' : 'Categoria criada com sucesso!',
                 'success'
@@ -600,7 +693,9 @@ document.addEventListener('DOMContentLoaded', () => {
         updateDetailElement('detailName', category.name);
         updateDetailElement('detailStatus', category.enabled ? 'Ativa' : 'Inativa');
         updateDetailElement('detailParent', category.parentName || 'Nenhuma (Categoria Raiz)');
-        updateDetailElement('detailHasChildren', category.children?.length ? 'Sim' : 'Não');
+        updateDetailElement('detailHasChildren', category.childCount > 0 ?
+            `Sim (${category.childCount} diretas, ${category.descendantCount} no total, ${category.enabledDescendantCount} ativas)` :
+            'Não');
 
         const statusEl = document.getElementById('detailStatus');
         if (statusEl) {
@@ -703,7 +798,11 @@ document.addEventListener('DOMContentLoaded', () => {
 
                     if (error) throw error;
 
-                    await loadCategories(currentPage);
+                    if (isChangeFeedOpen()) {
+                        applyCategoryChange({ type: 'DELETED', categoryId: Number(categoryId) });
+                    } else {
+                        await loadCategories(currentPage);
+                    }
                     showToast('Categoria excluída com sucesso!', 'success');
                 } catch (error) {
                     console.error('Error deleting category:', error);
@@ -851,7 +950,8 @@ document.addEventListener('DOMContentLoaded', () => {
                 categoryId,
                 target.dataset.name,
                 target.dataset.enabled === 'true',
-                target.dataset.parent
+                target.dataset.parent,
+                target.dataset.version
             );
         } else if (target.classList.contains('btn-delete')) {
             deleteCategory(categoryId, categoryName);
@@ -897,26 +997,134 @@ document.addEventListener('DOMContentLoaded', () => {
         trapFocus(confirmModal);
     }
 
+    // === FEED DE MUDANÇAS (SSE) ===
+    function setupChangeFeed() {
+        if (!('EventSource' in window)) return;
+
+        // O EventSource reconecta sozinho enviando Last-Event-ID; a primeira
+        // conexão retoma da sequência dos dados embutidos na página
+        const since = lastChangeSequence !== null ? `?since=${lastChangeSequence}` : '';
+        changeFeed = new EventSource(`/api/categories/changes${since}`);
+
+        ['CREATED', 'UPDATED', 'DELETED'].forEach(type => {
+            changeFeed.addEventListener(type, handleChangeEvent);
+        });
+
+        changeFeed.addEventListener('RESET', (event) => {
+            lastChangeSequence = Number(event.lastEventId) || null;
+            invalidateCatalogVersion();
+            loadParentCategories();
+            loadCategories(currentPage);
+        });
+
+        changeFeed.onerror = () => {
+            console.log('Feed de mudanças desconectado, tentando reconectar...');
+        };
+
+        window.addEventListener('beforeunload', () => changeFeed?.close());
+    }
+
+    function isChangeFeedOpen() {
+        return changeFeed?.readyState === EventSource.OPEN;
+    }
+
+    function handleChangeEvent(event) {
+        try {
+            const change = JSON.parse(event.data);
+            if (lastChangeSequence !== null && change.sequence <= lastChangeSequence) return;
+            lastChangeSequence = change.sequence;
+            invalidateCatalogVersion();
+            applyCategoryChange(change);
+        } catch (error) {
+            console.error('Erro ao aplicar mudança:', error);
+        }
+    }
+
+    function applyCategoryChange(change) {
+        if (!change?.categoryId) return;
+
+        if (virtualTable.active) {
+            applyVirtualChange(change);
+            applyParentCategoryChange(change);
+            return;
+        }
+
+        const existingRow = elements.tableBody.querySelector(`tr[data-category-id="${change.categoryId}"]`);
+
+        if (change.type === 'DELETED') {
+            if (existingRow) {
+                existingRow.remove();
+                adjustTotalCategories(-1);
+            }
+        } else if (change.category) {
+            const row = createCategoryRow(change.category, 0);
+            if (existingRow) {
+                existingRow.replaceWith(row);
+            } else if (change.type === 'CREATED' && matchesCurrentView(change.category)) {
+                elements.tableBody.querySelector('.empty-state')?.closest('tr')?.remove();
+                elements.tableBody.prepend(row);
+                adjustTotalCategories(1);
+            }
+        }
+
+        applyParentCategoryChange(change);
+    }
+
+    function matchesCurrentView(category) {
+        if (currentPage !== 0) return false;
+        if (currentSearch && !category.name?.toLowerCase().includes(currentSearch.toLowerCase())) return false;
+        if (currentStatusFilter === 'active' && !category.enabled) return false;
+        if (currentStatusFilter === 'inactive' && category.enabled) return false;
+        if (currentTypeFilter === 'root' && category.parentId) return false;
+        if (currentTypeFilter === 'subcategory' && !category.parentId) return false;
+        return true;
+    }
+
+    function applyParentCategoryChange(change) {
+        const others = parentCategories.filter(category => category.id !== change.categoryId);
+        const isRoot = change.category && !change.category.parentId;
+
+        if (others.length === parentCategories.length && !isRoot) return;
+
+        parentCategories = isRoot ?
+            [...others, change.category].sort((a, b) => (a.name || '').localeCompare(b.name || '')) :
+            others;
+        renderParentCategories(parentCategories);
+    }
+
+    function adjustTotalCategories(delta) {
+        totalCategories = Math.max(0, totalCategories + delta);
+        updateElementText('totalCategories', totalCategories);
+        updateElementText('totalItems', totalCategories);
+        updateElementText('activeCount',
+            elements.tableBody.querySelectorAll('.status-badge.status-active').length);
+    }
+
     // === UTILITÁRIOS AVANÇADOS ===
+    // E-mail do login, gravado como autor nas mudanças auditadas
+    function actorHeader() {
+        const actor = sessionStorage.getItem('bluevelvet.actor');
+        return actor ? { 'X-Actor': actor } : {};
+    }
+
     async function safeFetch(url, options = {}) {
         try {
             const response = await fetch(url, {
                 ...options,
                 headers: {
                     'Content-Type': 'application/json',
+                    ...actorHeader(),
                     ...options.headers,
                 },
             });
 
+            // Qualquer escrita (mesmo recusada) pode ter mudado o catálogo
+            if (options.method && options.method !== 'GET') {
+                invalidateCatalogVersion();
+            }
+
             if (!response.ok) {
-                let errorMessage = `HTTP error! status: ${response.status}`;
-                try {
-                    const errorData = await response.json();
-                    errorMessage = errorData.message || errorMessage;
-                } catch {
-                    // Ignora erro de parsing
-                }
-                return { data: null, error: new Error(errorMessage) };
+                return { data: null, error: await responseError(response) };
             }
 
             const data = await response.json();
@@ -926,6 +1134,164 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     }
 
+    async function responseError(response) {
+        let errorMessage = `HTTP error! status: ${response.status}`;
+        try {
+            const errorData = await response.json();
+            errorMessage = errorData.message || errorMessage;
+        } catch {
+            // Ignora erro de parsing
+        }
+        const error = new Error(errorMessage);
+        error.status = response.status;
+        return error;
+    }
+
+    // === CACHE LOCAL DO CATÁLOGO (IndexedDB) ===
+    // Listagens guardadas por URL junto com a versão do catálogo (ETag
+    // W/"catalog-<versão>" do servidor). Com o feed SSE aberto e a versão
+    // confirmada há pouco, a resposta sai do cache sem rede; fora disso a
+    // requisição vai com If-None-Match e o servidor responde 304 sem consultar.
+    async function cachedFetch(url) {
+        const entry = await catalogCache.get(url);
+        if (entry && isCatalogVersionTrusted(entry.version)) {
+            return { data: entry.data, error: null };
+        }
+
+        try {
+            const response = await fetch(url, {
+                headers: entry?.etag ? { 'If-None-Match': entry.etag } : {}
+            });
+
+            if (response.status === 304 && entry) {
+                rememberCatalogVersion(response.headers.get('X-Catalog-Version'));
+                return { data: entry.data, error: null };
+            }
+            if (!response.ok) {
+                return { data: null, error: await responseError(response) };
+            }
+
+            const data = await response.json();
+            const etag = response.headers.get('ETag');
+            // Dado antigo servido com o banco fora não entra no cache
+            if (etag && !response.headers.has('X-Catalog-Stale')) {
+                rememberCatalogVersion(response.headers.get('X-Catalog-Version'));
+                catalogCache.put({ url, etag, version: catalogVersion, data, storedAt: Date.now() });
+            }
+            return { data, error: null };
+        } catch (error) {
+            // Sem rede a última cópia é melhor que nada
+            if (entry) return { data: entry.data, error: null };
+            return { data: null, error };
+        }
+    }
+
+    function cacheResponse(url, data) {
+        if (!data || catalogVersion === null) return;
+        catalogCache.put({
+            url,
+            etag: `W/"catalog-${catalogVersion}"`,
+            version: catalogVersion,
+            data,
+            storedAt: Date.now()
+        });
+    }
+
+    function isCatalogVersionTrusted(version) {
+        return catalogVersion !== null && version === catalogVersion && isChangeFeedOpen()
+            && Date.now() - catalogVersionCheckedAt < CATALOG_TRUST_MS;
+    }
+
+    function rememberCatalogVersion(value) {
+        if (value === null || value === undefined) return;
+
+        const version = Number(value);
+        if (Number.isNaN(version)) return;
+
+        catalogVersion = version;
+        catalogVersionCheckedAt = Date.now();
+        catalogCache.prune(version);
+    }
+
+    function invalidateCatalogVersion() {
+        catalogVersion = null;
+    }
+
+    function createCatalogCache() {
+        const STORE = 'responses';
+        const MAX_MEMORY_ENTRIES = 200;
+        const memory = new Map();
+        let prunedBelow = null;
+
+        // Sem IndexedDB (ex.: navegação privada) fica só o cache em memória
+        const dbPromise = new Promise(resolve => {
+            if (!('indexedDB' in window)) {
+                resolve(null);
+                return;
+            }
+            const request = indexedDB.open('bluevelvet-catalog', 1);
+            request.onupgradeneeded = () => request.result.createObjectStore(STORE, { keyPath: 'url' });
+            request.onsuccess = () => resolve(request.result);
+            request.onerror = () => resolve(null);
+            request.onblocked = () => resolve(null);
+        });
+
+        function withStore(mode, run) {
+            return dbPromise.then(db => {
+                if (!db) return null;
+                return new Promise(resolve => {
+                    const transaction = db.transaction(STORE, mode);
+                    const request = run(transaction.objectStore(STORE));
+                    transaction.oncomplete = () => resolve(request?.result ?? null);
+                    transaction.onerror = () => resolve(null);
+                    transaction.onabort = () => resolve(null);
+                });
+            }).catch(() => null);
+        }
+
+        function remember(entry) {
+            memory.delete(entry.url);
+            memory.set(entry.url, entry);
+            if (memory.size > MAX_MEMORY_ENTRIES) {
+                memory.delete(memory.keys().next().value);
+            }
+        }
+
+        return {
+            async get(url) {
+                if (memory.has(url)) return memory.get(url);
+                const entry = await withStore('readonly', store => store.get(url));
+                if (entry) remember(entry);
+                return entry || null;
+            },
+
+            put(entry) {
+                remember(entry);
+                withStore('readwrite', store => store.put(entry));
+            },
+
+            // Versões anteriores não servem mais nem para revalidar
+            prune(version) {
+                if (prunedBelow !== null && version <= prunedBelow) return;
+                prunedBelow = version;
+
+                for (const [url, entry] of memory) {
+                    if (entry.version < version) memory.delete(url);
+                }
+                withStore('readwrite', store => {
+                    const cursorRequest = store.openCursor();
+                    cursorRequest.onsuccess = () => {
+                        const cursor = cursorRequest.result;
+                        if (!cursor) return;
+                        if (cursor.value.version < version) cursor.delete();
+                        cursor.continue();
+                    };
+                    return null;
+                });
+            }
+        };
+    }
+
     function showLoading() {
         const loadingOverlay = document.getElementById('loadingOverlay');
         if (loadingOverlay) loadingOverlay.classList.remove('hidden');
@@ -940,7 +1306,8 @@ document.addEventListener('DOMContentLoaded', () => {
         if (!elements.tableBody) return;
 
         elements.tableBody.innerHTML = '';
-        for (let i = 0; i < pageSize; i++) {
+        const skeletonRows = virtualTable.active ? VIRTUAL_OVERSCAN : pageSize;
+        for (let i = 0; i < skeletonRows; i++) {
             const row = document.createElement('tr');
             row.className = 'loading-row';
             row.innerHTML = `
@@ -1139,6 +1506,7 @@ document.addEventListener('DOMContentLoaded', () => {
             modal.style.display = 'none';
         }
         currentCategoryId = null;
+        currentCategoryVersion = null;
 
         // Remove classes de erro dos inputs
         const nameInput = document.getElementById('categoryName');
@@ -1213,6 +1581,8 @@ document.addEventListener('DOMContentLoaded', () => {
         // Eventos da tabela (delegação)
         if (elements.tableBody) {
             elements.tableBody.addEventListener('click', handleTableClick);
+            elements.tableBody.closest('.table-container')
+                ?.addEventListener('scroll', handleVirtualScroll, { passive: true });
         }
 
         // Fechar modais com ESC
@@ -1285,6 +1655,7 @@ document.addEventListener('DOMContentLoaded', () => {
             modal.style.display = 'none';
         });
         currentCategoryId = null;
+        currentCategoryVersion = null;
 
         // Remove classes de erro
         const nameInput = document.getElementById('categoryName');
@@ -1325,7 +1696,10 @@ document.addEventListener('DOMContentLoaded', () => {
     }
 
     function handlePageSizeChange() {
-        pageSize = parseInt(elements.itemsPerPageSelect?.value) || 10;
+        const value = elements.itemsPerPageSelect?.value;
+        // "Todas": a consulta inteira em blocos, renderizando só as linhas visíveis
+        setVirtualMode(value === 'all');
+        pageSize = virtualTable.active ? VIRTUAL_CHUNK_SIZE : (parseInt(value) || 10);
         currentPage = 0;
         console.log('Itens por página:', pageSize); // Debug
         loadCategories(currentPage);
@@ -1340,13 +1714,21 @@ document.addEventListener('DOMContentLoaded', () => {
             type: currentTypeFilter
         });
 
+        if (virtualTable.active) {
+            return loadAllCategories();
+        }
+
+        const token = ++categoriesLoadToken;
         showTableLoading();
 
         try {
             const url = buildCategoriesUrl(page);
             console.log('URL da requisição:', url); // Debug
 
-            const { data, error } = await safeFetch(url);
+            const { data, error } = await cachedFetch(url);
+
+            // Uma carga mais nova (outro filtro ou página) já assumiu a tabela
+            if (token !== categoriesLoadToken) return;
 
             if (error) {
                 console.error('Erro na requisição:', error);
@@ -1365,8 +1747,10 @@ document.addEventListener('DOMContentLoaded', () => {
             renderCategories(data);
             updatePagination(data, page);
             updateDashboardInfo(data);
+            prefetchPage(page + 1, data);
 
         } catch (error) {
+            if (token !== categoriesLoadToken) return;
             console.error('Error loading categories:', error);
 
             // Em caso de erro, mostra dados de teste
@@ -1377,6 +1761,158 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     }
 
+    // A próxima página vai para o cache enquanto o usuário lê a atual
+    function prefetchPage(page, data) {
+        if (page >= (data?.totalPages || 0)) return;
+
+        const url = buildCategoriesUrl(page);
+        const schedule = window.requestIdleCallback || (callback => setTimeout(callback, 200));
+        schedule(() => cachedFetch(url));
+    }
+
+    // === TABELA VIRTUALIZADA (Por Página: Todas) ===
+    function setVirtualMode(active) {
+        virtualTable.active = active;
+        virtualTable.rows = [];
+        virtualTable.start = virtualTable.end = -1;
+        elements.tableBody.closest('.table-container')?.classList.toggle('virtual-scroll', active);
+    }
+
+    async function loadAllCategories() {
+        const token = ++categoriesLoadToken;
+        showTableLoading();
+
+        try {
+            const first = await fetchCategoryChunk(0);
+            const chunks = [first];
+            const chunkCount = first?.totalPages || 1;
+
+            // Poucos blocos por vez para não disputar conexões com o resto da página
+            for (let next = 1; next < chunkCount; next += VIRTUAL_PARALLEL_CHUNKS) {
+                if (token !== categoriesLoadToken) return;
+                const pending = [];
+                for (let page = next; page < Math.min(chunkCount, next + VIRTUAL_PARALLEL_CHUNKS); page++) {
+                    pending.push(fetchCategoryChunk(page));
+                }
+                chunks.push(...await Promise.all(pending));
+            }
+
+            if (token !== categoriesLoadToken) return;
+            renderVirtualTable(chunks.flatMap(chunk => chunk?.content || []));
+
+        } catch (error) {
+            if (token !== categoriesLoadToken) return;
+            console.error('Error loading categories:', error);
+            showToast('Erro ao carregar categorias', 'error');
+            renderEmptyState();
+        } finally {
+            hideTableLoading();
+        }
+    }
+
+    async function fetchCategoryChunk(page) {
+        const url = new URL(buildCategoriesUrl(page), window.location.origin);
+        url.searchParams.set('fields', VIRTUAL_FIELDS);
+
+        const { data, error } = await cachedFetch(url.pathname + url.search);
+        if (error) throw error;
+        return data;
+    }
+
+    function renderVirtualTable(rows) {
+        virtualTable.rows = rows;
+        virtualTable.start = virtualTable.end = -1;
+
+        const container = elements.tableBody.closest('.table-container');
+        if (container) container.scrollTop = 0;
+
+        renderVirtualWindow();
+        updateVirtualInfo();
+    }
+
+    function renderVirtualWindow() {
+        virtualTable.frame = 0;
+
+        const rows = virtualTable.rows;
+        if (!rows.length) {
+            virtualTable.start = virtualTable.end = -1;
+            renderEmptyState();
+            return;
+        }
+
+        const container = elements.tableBody.closest('.table-container');
+        const scrollTop = container?.scrollTop || 0;
+        const viewport = container?.clientHeight || window.innerHeight;
+
+        const start = Math.max(0, Math.floor(scrollTop / VIRTUAL_ROW_HEIGHT) - VIRTUAL_OVERSCAN);
+        const end = Math.min(rows.length, start + Math.ceil(viewport / VIRTUAL_ROW_HEIGHT) + 2 * VIRTUAL_OVERSCAN);
+        if (start === virtualTable.start && end === virtualTable.end) return;
+
+        virtualTable.start = start;
+        virtualTable.end = end;
+
+        // Espaçadores no lugar das linhas fora da tela mantêm a barra de rolagem
+        const fragment = document.createDocumentFragment();
+        fragment.appendChild(createSpacerRow(start * VIRTUAL_ROW_HEIGHT));
+        for (let i = start; i < end; i++) {
+            const row = createCategoryRow(rows[i], 0);
+            row.className = 'virtual-row';
+            row.style.animationDelay = '';
+            fragment.appendChild(row);
+        }
+        fragment.appendChild(createSpacerRow((rows.length - end) * VIRTUAL_ROW_HEIGHT));
+
+        elements.tableBody.replaceChildren(fragment);
+    }
+
+    function createSpacerRow(height) {
+        const row = document.createElement('tr');
+        row.className = 'virtual-spacer';
+        row.style.height = `${height}px`;
+        row.innerHTML = '<td colspan="5"></td>';
+        return row;
+    }
+
+    function handleVirtualScroll() {
+        if (virtualTable.active && !virtualTable.frame) {
+            virtualTable.frame = requestAnimationFrame(renderVirtualWindow);
+        }
+    }
+
+    function updateVirtualInfo() {
+        const data = {
+            content: virtualTable.rows,
+            totalElements: virtualTable.rows.length,
+            totalPages: 1,
+            number: 0,
+            first: true,
+            last: true
+        };
+        updatePagination(data, 0);
+        updateDashboardInfo(data);
+    }
+
+    function applyVirtualChange(change) {
+        const rows = virtualTable.rows;
+        const index = rows.findIndex(category => category.id === change.categoryId);
+
+        if (change.type === 'DELETED') {
+            if (index < 0) return;
+            rows.splice(index, 1);
+        } else if (change.category && index >= 0) {
+            rows[index] = change.category;
+        } else if (change.category && change.type === 'CREATED' && matchesCurrentView(change.category)) {
+            // Como no modo paginado: a nova categoria aparece no topo
+            rows.unshift(change.category);
+        } else {
+            return;
+        }
+
+        virtualTable.start = virtualTable.end = -1;
+        renderVirtualWindow();
+        updateVirtualInfo();
+    }
+
 // Função para mostrar dados de teste
     function renderTestData() {
         const testData = {
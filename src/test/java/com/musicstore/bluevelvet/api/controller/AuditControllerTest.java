@@ -0,0 +1,91 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.response.AuditEventPageResponse;
+import com.musicstore.bluevelvet.api.response.AuditEventResponse;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.domain.exception.AuditAccessDeniedException;
+import com.musicstore.bluevelvet.domain.service.AuditLogService;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.CrossOrigin;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditControllerTest {
+
+    private final AuditLogService auditLogService = mock(AuditLogService.class);
+    private final AuditController controller = new AuditController(auditLogService);
+
+    {
+        ReflectionTestUtils.setField(controller, "localOnly", true);
+        when(auditLogService.findEvents(any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(
+                        event(1, AuditEventType.CATEGORY_UPDATED, "admin@bluevelvet.com"),
+                        event(2, AuditEventType.LOGIN_SUCCEEDED, "admin@bluevelvet.com"),
+                        event(3, AuditEventType.LOGIN_FAILED, "someone@example.com")));
+    }
+
+    @Test
+    void servesLoopbackRequestsOnly() {
+        assertThat(search(request("127.0.0.1")).getEvents()).hasSize(3);
+
+        assertThatThrownBy(() -> search(request("203.0.113.7")))
+                .isInstanceOf(AuditAccessDeniedException.class);
+
+        MockHttpServletRequest proxied = request("127.0.0.1");
+        proxied.addHeader("X-Forwarded-For", "203.0.113.7");
+        assertThatThrownBy(() -> controller.stats(proxied))
+                .isInstanceOf(AuditAccessDeniedException.class);
+    }
+
+    @Test
+    void remoteAccessCanBeEnabled() {
+        ReflectionTestUtils.setField(controller, "localOnly", false);
+
+        assertThat(controller.stats(request("203.0.113.7")).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void doesNotAllowCrossOriginReads() {
+        assertThat(AuditController.class.isAnnotationPresent(CrossOrigin.class)).isFalse();
+    }
+
+    @Test
+    void onlyAuthenticatedActorsAreMarkedAsVerified() {
+        assertThat(search(request("127.0.0.1")).getEvents())
+                .extracting(AuditEventResponse::isActorVerified)
+                .containsExactly(false, true, false);
+    }
+
+    private AuditEventPageResponse search(MockHttpServletRequest request) {
+        return controller.search(null, null, null, null, null, null, null, 50, request).getBody();
+    }
+
+    private static AuditEvent event(long id, AuditEventType type, String actor) {
+        return AuditEvent.builder()
+                .id(id)
+                .occurredAt(Instant.now())
+                .type(type)
+                .actor(actor)
+                .subjectType(type.name().startsWith("CATEGORY") ? AuditSubjectType.CATEGORY : AuditSubjectType.USER)
+                .build();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/audit");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,44 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.request.CategoryBatchRequest;
+import com.musicstore.bluevelvet.api.response.CategoryBatchResponse;
+import com.musicstore.bluevelvet.domain.service.CategoryChangeFeedService;
+import com.musicstore.bluevelvet.domain.service.CategoryCounterRepairService;
+import com.musicstore.bluevelvet.domain.service.CategoryReadGuard;
+import com.musicstore.bluevelvet.domain.service.CategoryService;
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import com.musicstore.bluevelvet.domain.service.ProductService;
+import com.musicstore.bluevelvet.domain.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryControllerTest {
+
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final CategoryController controller = new CategoryController(categoryService,
+            mock(CategoryChangeFeedService.class), mock(CategoryCounterRepairService.class),
+            mock(CategorySyncService.class), mock(SingleFlight.class), mock(CategoryReadGuard.class),
+            mock(ProductService.class));
+
+    @Test
+    void batchBodyWithoutIdsIsAnEmptyBatch() {
+        CategoryBatchResponse empty = CategoryBatchResponse.builder()
+                .categories(List.of())
+                .missingIds(List.of())
+                .build();
+        when(categoryService.findAllByIds(null)).thenReturn(empty);
+
+        // {} no corpo: ids chega null
+        ResponseEntity<CategoryBatchResponse> response = controller.postBatch(new CategoryBatchRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(empty);
+    }
+}
@@ -0,0 +1,78 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.exception.InvalidIfMatchException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IfMatchTest {
+
+    @Test
+    void absentOrWildcardAcceptsAnyVersion() {
+        assertThat(IfMatch.parse(null)).isNull();
+        assertThat(IfMatch.parse("  ")).isNull();
+        assertThat(IfMatch.parse(" * ")).isNull();
+    }
+
+    @Test
+    void parsesSingleStrongTag() {
+        assertThat(IfMatch.parse("\"3\"")).containsExactly(3L);
+    }
+
+    @Test
+    void parsesCommaSeparatedList() {
+        assertThat(IfMatch.parse("\"3\", \"4\",\"7\"")).containsExactly(3L, 4L, 7L);
+        assertThat(IfMatch.parse("\"3\", , \"4\"")).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void weakTagsNeverMatch() {
+        assertThat(IfMatch.parse("W/\"3\"")).isEmpty();
+        assertThat(IfMatch.parse("W/\"3\", \"5\"")).containsExactly(5L);
+    }
+
+    @Test
+    void strongTagsThatAreNotVersionsNeverMatch() {
+        assertThat(IfMatch.parse("\"abc\", \"\"")).isEmpty();
+    }
+
+    @Test
+    void versionsTooLongForALongNeverMatch() {
+        assertThat(IfMatch.parse("\"99999999999999999999\"")).isEmpty();
+        assertThat(IfMatch.parse("\"9999999999999999999\", \"3\"")).containsExactly(3L);
+        assertThat(IfMatch.parse("\"999999999999999999\"")).containsExactly(999999999999999999L);
+    }
+
+    @Test
+    void getETagChangesWithoutAVersionBump() {
+        CategoryResponse category = CategoryResponse.builder().id(1L).version(3L).changeSeq(10L).parentName("Rock").build();
+        String etag = IfMatch.toETag(category);
+
+        // Contadores/path/variantes: UPDATE em lote avança só o changeSeq
+        category.setChangeSeq(11L);
+        String afterBulkUpdate = IfMatch.toETag(category);
+        assertThat(afterBulkUpdate).isNotEqualTo(etag);
+
+        // Pai renomeado: nada muda na linha da categoria
+        category.setParentName("Classic Rock");
+        assertThat(IfMatch.toETag(category)).isNotEqualTo(afterBulkUpdate);
+    }
+
+    @Test
+    void ifMatchComparesOnlyTheVersionOfAGetETag() {
+        CategoryResponse category = CategoryResponse.builder().id(1L).version(3L).changeSeq(10L).parentName("Rock").build();
+
+        assertThat(IfMatch.parse(IfMatch.toETag(category))).containsExactly(3L);
+        assertThat(IfMatch.parse("\"3-10-0\", \"4\"")).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        assertThatThrownBy(() -> IfMatch.parse("3")).isInstanceOf(InvalidIfMatchException.class);
+        assertThatThrownBy(() -> IfMatch.parse("\"3")).isInstanceOf(InvalidIfMatchException.class);
+        assertThatThrownBy(() -> IfMatch.parse("\"3\" \"4\"")).isInstanceOf(InvalidIfMatchException.class);
+        assertThatThrownBy(() -> IfMatch.parse("W/3")).isInstanceOf(InvalidIfMatchException.class);
+    }
+}
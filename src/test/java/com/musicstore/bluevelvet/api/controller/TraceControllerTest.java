@@ -0,0 +1,59 @@
+package com.musicstore.bluevelvet.api.controller;
+
+import com.musicstore.bluevelvet.domain.exception.TraceAccessDeniedException;
+import com.musicstore.bluevelvet.infrastructure.tracing.TraceRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TraceControllerTest {
+
+    private final TraceRecorder traceRecorder = mock(TraceRecorder.class);
+    private final TraceController controller = new TraceController(traceRecorder);
+
+    {
+        ReflectionTestUtils.setField(controller, "localOnly", true);
+        when(traceRecorder.getTraces()).thenReturn(List.of());
+    }
+
+    @Test
+    void servesLoopbackRequests() {
+        assertThat(controller.list(null, null, false, 50, request("127.0.0.1")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(controller.list(null, null, false, 50, request("0:0:0:0:0:0:0:1")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void rejectsRemoteAndProxiedRequests() {
+        assertThatThrownBy(() -> controller.list(null, null, false, 50, request("203.0.113.7")))
+                .isInstanceOf(TraceAccessDeniedException.class);
+
+        MockHttpServletRequest proxied = request("127.0.0.1");
+        proxied.addHeader("X-Forwarded-For", "203.0.113.7");
+        assertThatThrownBy(() -> controller.getById("abc", proxied))
+                .isInstanceOf(TraceAccessDeniedException.class);
+    }
+
+    @Test
+    void remoteAccessCanBeEnabled() {
+        ReflectionTestUtils.setField(controller, "localOnly", false);
+
+        assertThat(controller.list(null, null, false, 50, request("203.0.113.7")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/traces");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
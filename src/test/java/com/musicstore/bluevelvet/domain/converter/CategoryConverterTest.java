@@ -0,0 +1,52 @@
+package com.musicstore.bluevelvet.domain.converter;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryField;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryConverterTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Test
+    void everyFieldNamesACategoryResponseProperty() {
+        for (CategoryField field : CategoryField.values()) {
+            assertThat(ReflectionUtils.findField(CategoryResponse.class, field.getProperty()))
+                    .as("CategoryResponse.%s", field.getProperty())
+                    .isNotNull();
+            assertThat(CategoryField.fromProperty(field.getProperty())).contains(field);
+        }
+        assertThat(CategoryField.fromProperty("password")).isEmpty();
+        assertThat(CategoryField.PARENT_NAME.alias()).isEqualTo("parent_name");
+    }
+
+    @Test
+    void toFieldsReturnsOnlyTheRequestedKeysInResponseOrder() {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get("id")).thenReturn(7L);
+        when(tuple.get("name")).thenReturn("Guitarras");
+        when(tuple.get("image")).thenReturn(HASH + ".png");
+        when(tuple.get("imageVariants")).thenReturn("thumb=" + HASH + "-thumb.png");
+        when(tuple.get("parent_id")).thenReturn(null);
+
+        Map<String, Object> fields = CategoryConverter.toFields(tuple, EnumSet.of(
+                CategoryField.PARENT_ID, CategoryField.IMAGE_VARIANTS, CategoryField.IMAGE_URL,
+                CategoryField.NAME, CategoryField.ID));
+
+        assertThat(fields).containsOnlyKeys("id", "name", "imageUrl", "imageVariants", "parentId");
+        assertThat(fields.keySet()).containsExactly("id", "name", "imageUrl", "imageVariants", "parentId");
+        assertThat(fields.get("imageUrl")).isEqualTo("/images/categories/" + HASH + ".png");
+        assertThat(fields.get("imageVariants"))
+                .isEqualTo(Map.of("thumb", "/images/categories/" + HASH + "-thumb.png"));
+        assertThat(fields.get("parentId")).isNull();
+    }
+}
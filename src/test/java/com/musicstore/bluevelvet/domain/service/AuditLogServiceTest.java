@@ -0,0 +1,197 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.infrastructure.audit.AuditSpool;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import com.musicstore.bluevelvet.infrastructure.repository.AuditEventRepository;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final AuditEventRepository auditEventRepository = mock(AuditEventRepository.class);
+    private final DatabaseCircuitBreaker circuitBreaker = mock(DatabaseCircuitBreaker.class);
+    //  O writer limpa a lista depois do insert: guarda cópias
+    private final List<AuditEvent> inserted = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path spoolDirectory;
+
+    private AuditLogService service;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void categoryChangeRecordsTheActorDeclaredByTheClient() throws Exception {
+        captureInserts();
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/categories/7");
+        request.addHeader(AuditLogService.ACTOR_HEADER, " admin@bluevelvet.com ");
+        request.setRemoteAddr("10.0.0.5");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        service = startedService();
+        service.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.UPDATED, 7L,
+                CategoryResponse.builder().id(7L).name("Rock").enabled(true).version(3L).build()));
+        awaitUntil(() -> inserted.size() == 1);
+
+        AuditEvent event = inserted.get(0);
+        assertThat(event.getType()).isEqualTo(AuditEventType.CATEGORY_UPDATED);
+        assertThat(event.getActor()).isEqualTo("admin@bluevelvet.com");
+        assertThat(event.getClientIp()).isEqualTo("10.0.0.5");
+        assertThat(event.getSubjectType()).isEqualTo(AuditSubjectType.CATEGORY);
+        assertThat(event.getSubjectId()).isEqualTo(7L);
+        assertThat(event.getSummary()).isEqualTo("name=Rock, parentId=null, enabled=true, version=3");
+    }
+
+    @Test
+    void categoryChangeWithoutActorHeaderOrOutsideARequestHasNoActor() throws Exception {
+        captureInserts();
+        service = startedService();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("DELETE", "/api/categories/7")));
+        service.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.DELETED, 7L, null));
+        RequestContextHolder.resetRequestAttributes();
+        service.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.RESET, null, null));
+        awaitUntil(() -> inserted.size() == 2);
+
+        assertThat(inserted).extracting(AuditEvent::getActor).containsOnlyNulls();
+        assertThat(inserted).extracting(AuditEvent::getType)
+                .containsExactly(AuditEventType.CATEGORY_DELETED, AuditEventType.CATEGORIES_RESET);
+    }
+
+    @Test
+    void eventsAreSpooledWhileTheDatabaseIsDown() throws Exception {
+        when(circuitBreaker.isOpen()).thenReturn(true);
+        service = startedService();
+
+        service.record(AuditEventType.LOGIN_FAILED, "someone@bluevelvet.com", AuditSubjectType.USER, null, "unknown email");
+        awaitUntil(() -> service.getStats().getSpooled() == 1);
+        service.stop();
+
+        AuditSpool spool = new AuditSpool(spoolDirectory, DataSize.ofMegabytes(1).toBytes(), objectMapper);
+        List<Path> segments = spool.segments();
+        assertThat(segments).hasSize(1);
+        assertThat(spool.read(segments.get(0))).extracting(AuditEvent::getActor)
+                .containsExactly("someone@bluevelvet.com");
+        verify(auditEventRepository, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void spoolLeftByAPreviousRunIsReplayedAndDeleted() throws Exception {
+        spoolEvents(1, 2, 3);
+        captureInserts();
+
+        service = startedService();
+        awaitUntil(() -> inserted.size() == 3 && segmentCount() == 0);
+
+        assertThat(inserted).extracting(AuditEvent::getId).containsExactly(1L, 2L, 3L);
+        assertThat(service.getStats().getWritten()).isEqualTo(3);
+    }
+
+    @Test
+    void failedReplayKeepsTheSegmentAndRetries() throws Exception {
+        spoolEvents(1, 2);
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new QueryTimeoutException("database down");
+            }
+            inserted.addAll(invocation.getArgument(0));
+            return null;
+        }).when(auditEventRepository).insertBatch(anyList());
+
+        service = startedService();
+        awaitUntil(() -> attempts.get() >= 1);
+        assertThat(segmentCount()).isEqualTo(1);
+
+        awaitUntil(() -> segmentCount() == 0);
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(inserted).extracting(AuditEvent::getId).containsExactly(1L, 2L);
+    }
+
+    private void captureInserts() {
+        doAnswer(invocation -> {
+            List<AuditEvent> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            return null;
+        }).when(auditEventRepository).insertBatch(anyList());
+    }
+
+    private AuditLogService startedService() {
+        AuditLogService auditLogService = new AuditLogService(auditEventRepository, circuitBreaker, mock(Tracer.class),
+                objectMapper, true, 16, 2, 0, spoolDirectory, DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(auditLogService, "flushInterval", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(auditLogService, "replayInterval", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(auditLogService, "shutdownTimeout", Duration.ofSeconds(5));
+        auditLogService.start();
+        return auditLogService;
+    }
+
+    private void spoolEvents(long... ids) throws Exception {
+        AuditSpool spool = new AuditSpool(spoolDirectory, DataSize.ofMegabytes(1).toBytes(), objectMapper);
+        spool.append(Arrays.stream(ids).mapToObj(id -> AuditEvent.builder()
+                .id(id)
+                .occurredAt(Instant.now())
+                .type(AuditEventType.CATEGORY_CREATED)
+                .build()).toList());
+        spool.closeCurrent();
+    }
+
+    private long segmentCount() {
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
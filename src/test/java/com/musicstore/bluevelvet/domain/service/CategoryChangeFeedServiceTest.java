@@ -0,0 +1,156 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryChangeFeedServiceTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private CategoryChangeFeedService service = new CategoryChangeFeedService(Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resumesAfterTheLastEventIdTheClientSaw() throws InterruptedException {
+        publish(3);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        service.subscribe(1L, emitter);
+        awaitUntil(() -> emitter.ids().size() == 2);
+        publish(1);
+        awaitUntil(() -> emitter.ids().size() == 3);
+
+        assertThat(emitter.ids()).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void clientTooFarBehindIsAskedToReset() throws InterruptedException {
+        publish(300);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        service.subscribe(10L, emitter);
+        awaitUntil(() -> !emitter.events.isEmpty());
+
+        assertThat(emitter.events).hasSize(1);
+        assertThat(emitter.events.get(0)).contains("id:300\n", "event:RESET\n");
+    }
+
+    @Test
+    void clientAheadOfTheFeedIsAskedToReset() throws InterruptedException {
+        publish(3);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Last-Event-ID de antes de um restart do servidor
+        service.subscribe(50L, emitter);
+        awaitUntil(() -> !emitter.events.isEmpty());
+
+        assertThat(emitter.events.get(0)).contains("id:3\n", "event:RESET\n");
+    }
+
+    @Test
+    void slowClientIsDisconnectedWhenItsBufferOverflows() throws InterruptedException {
+        RecordingEmitter slow = new RecordingEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        slow.blockSends();
+        service.subscribe(null, slow);
+        service.subscribe(null, fast);
+
+        publish(300);
+
+        assertThat(slow.completed).isTrue();
+        awaitUntil(() -> fast.ids().size() == 300);
+        assertThat(fast.completed).isFalse();
+        slow.releaseSends();
+    }
+
+    @Test
+    void idleClientsReceiveHeartbeats() throws InterruptedException {
+        service.shutdown();
+        service = new CategoryChangeFeedService(Duration.ofMillis(20));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        service.subscribe(null, emitter);
+
+        awaitUntil(() -> emitter.events.size() >= 2);
+        assertThat(emitter.events).allMatch(event -> event.equals(":heartbeat\n\n"));
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            long id = service.getLastSequence() + 1;
+            service.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.CREATED, id,
+                    CategoryResponse.builder().id(id).name("Category " + id).build()));
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Guarda o texto de cada evento (sem o JSON do data) em vez de escrever
+     * numa resposta HTTP.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch sendsAllowed = new CountDownLatch(0);
+        private volatile boolean completed;
+
+        void blockSends() {
+            sendsAllowed = new CountDownLatch(1);
+        }
+
+        void releaseSends() {
+            sendsAllowed.countDown();
+        }
+
+        List<Long> ids() {
+            return events.stream()
+                    .map(EVENT_ID::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> Long.valueOf(matcher.group(1)))
+                    .toList();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                sendsAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(builder.build().stream()
+                    .map(data -> data.getData() instanceof String text ? text : "")
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
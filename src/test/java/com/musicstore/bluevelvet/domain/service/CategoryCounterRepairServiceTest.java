@@ -0,0 +1,182 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ProductRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryProductCount;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryTreeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryCounterRepairServiceTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final CategoryCounterRepairService service = new CategoryCounterRepairService(categoryRepository,
+            productRepository, categorySyncService, jdbcTemplate, transactionTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(categorySyncService.currentChangeSeq()).thenReturn(42L);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void correctCountersAreLeftAlone() {
+        when(categoryRepository.findTreeNodes()).thenReturn(List.of(
+                node(1L, null, true, "/1/", true, 1, 1, 0, 0, 2),
+                node(5L, 1L, false, "/1/5/", false, 0, 0, 0, 2, 2)));
+        when(productRepository.countEnabledByCategory()).thenReturn(List.of(count(5L, 2L)));
+
+        assertThat(service.recomputeCounters()).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void wrongCountersAreRecomputedFromTheTreeAndComparedWithWhatWasRead() {
+        // Music -> Vinyl (desabilitada) -> Jazz: contadores zerados e estado efetivo errado
+        when(categoryRepository.findTreeNodes()).thenReturn(List.of(
+                node(1L, null, true, "/1/", true, 0, 0, 0, 0, 0),
+                node(5L, 1L, false, "/1/5/", false, 0, 0, 0, 0, 0),
+                node(7L, 5L, true, null, true, 0, 0, 0, 0, 0)));
+        when(productRepository.countEnabledByCategory()).thenReturn(List.of(count(7L, 3L)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1, 1});
+
+        assertThat(service.recomputeCounters()).isEqualTo(3);
+
+        List<Object[]> rows = batchUpdates().get(0);
+        // {childCount, descendantCount, enabledDescendantCount, productCount, subtreeProductCount,
+        //  path, effectivelyEnabled, changeSeq, id, ...valores lidos}
+        assertThat(row(rows, 7L)).startsWith(0, 0, 0, 3, 3, "/1/5/7/", false, 42L, 7L);
+        assertThat(row(rows, 5L)).startsWith(1, 1, 1, 0, 3, "/1/5/", false, 42L, 5L);
+        assertThat(row(rows, 1L)).startsWith(1, 2, 1, 0, 3, "/1/", true, 42L, 1L);
+        assertThat(row(rows, 7L)).endsWith(0, 0, 0, 0, 0, "", true);
+    }
+
+    @Test
+    void rowsChangedByAWriterDuringTheRepairAreRetriedInANewRound() {
+        when(categoryRepository.findTreeNodes())
+                .thenReturn(List.of(node(1L, null, true, "/1/", true, 0, 0, 0, 0, 9)))
+                .thenReturn(List.of(node(1L, null, true, "/1/", true, 0, 0, 0, 0, 8)));
+        // 1ª rodada: a linha mudou depois da leitura (0 linhas); 2ª: gravada
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{0})
+                .thenReturn(new int[]{1});
+
+        assertThat(service.recomputeCounters()).isEqualTo(1);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void repairGivesUpAfterTheLastRound() {
+        when(categoryRepository.findTreeNodes())
+                .thenReturn(List.of(node(1L, null, true, "/1/", true, 0, 0, 0, 0, 9)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+
+        assertThat(service.recomputeCounters()).isZero();
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batchUpdates() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static Object[] row(List<Object[]> rows, Long id) {
+        return rows.stream()
+                .filter(row -> id.equals(row[8]))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static CategoryTreeNode node(Long id, Long parentId, boolean enabled, String path,
+                                         boolean effectivelyEnabled, int childCount, int descendantCount,
+                                         int enabledDescendantCount, int productCount, int subtreeProductCount) {
+        return new CategoryTreeNode() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getParentId() {
+                return parentId;
+            }
+
+            @Override
+            public Boolean getEnabled() {
+                return enabled;
+            }
+
+            @Override
+            public String getPath() {
+                return path;
+            }
+
+            @Override
+            public Boolean getEffectivelyEnabled() {
+                return effectivelyEnabled;
+            }
+
+            @Override
+            public Integer getChildCount() {
+                return childCount;
+            }
+
+            @Override
+            public Integer getDescendantCount() {
+                return descendantCount;
+            }
+
+            @Override
+            public Integer getEnabledDescendantCount() {
+                return enabledDescendantCount;
+            }
+
+            @Override
+            public Integer getProductCount() {
+                return productCount;
+            }
+
+            @Override
+            public Integer getSubtreeProductCount() {
+                return subtreeProductCount;
+            }
+        };
+    }
+
+    private static CategoryProductCount count(Long categoryId, Long products) {
+        return new CategoryProductCount() {
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public Long getProducts() {
+                return products;
+            }
+        };
+    }
+}
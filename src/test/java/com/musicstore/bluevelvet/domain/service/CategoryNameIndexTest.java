@@ -0,0 +1,156 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryNameIndexTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private final AtomicLong catalogVersion = new AtomicLong(5);
+    private CategoryNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(categorySyncService.latestChangeSeq()).thenAnswer(invocation -> catalogVersion.get());
+        index = new CategoryNameIndex(categoryRepository, categorySyncService, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "versionCheckInterval", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void everythingIsMaybeUntilTheFirstBuild() {
+        assertThat(index.mightExist("Jazz")).isTrue();
+    }
+
+    @Test
+    void answersNoOnlyWhenTheUniqueConstraintWouldAcceptTheName() throws InterruptedException {
+        when(categoryRepository.findAllNames()).thenReturn(List.of("Rock", "Straße", "Café"));
+        build();
+
+        assertThat(index.mightExist("Jazz")).isFalse();
+        assertThat(index.mightExist("ROCK")).isTrue();
+        assertThat(index.mightExist("Rock ")).isFalse();
+        assertThat(index.mightExist("strasse")).isTrue();
+        assertThat(index.mightExist("cafe")).isTrue();
+        assertThat(index.mightExist("Straße")).isTrue();
+        assertThat(index.mightExist("Blues")).isFalse();
+    }
+
+    @Test
+    void localWritesAreVisibleImmediately() throws InterruptedException {
+        when(categoryRepository.findAllNames()).thenReturn(List.of("Rock"));
+        build();
+
+        index.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.CREATED, 7L,
+                CategoryResponse.builder().id(7L).name("Jazz").build()));
+
+        assertThat(index.mightExist("jazz")).isTrue();
+    }
+
+    @Test
+    void newerCatalogVersionFromAnotherNodeTurnsAnswersIntoMaybeUntilRebuilt() throws InterruptedException {
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+        when(categoryRepository.findAllNames())
+                .thenReturn(List.of("Rock"))
+                .thenAnswer(invocation -> {
+                    releaseRebuild.await();
+                    return List.of("Rock", "Jazz");
+                });
+        build();
+        assertThat(index.mightExist("Blues")).isFalse();
+
+        // Outro nó criou "Jazz": só a versão do catálogo mostra isso
+        catalogVersion.set(6);
+        ReflectionTestUtils.setField(index, "versionCheckInterval", Duration.ZERO);
+        awaitUntil(() -> index.mightExist("Blues"));
+        assertThat(index.mightExist("Jazz")).isTrue();
+
+        releaseRebuild.countDown();
+        awaitUntil(() -> !index.mightExist("Blues"));
+        assertThat(index.mightExist("Jazz")).isTrue();
+    }
+
+    @Test
+    void versionMovedOnlyByLocalWritesDoesNotRebuild() throws InterruptedException {
+        when(categoryRepository.findAllNames()).thenReturn(List.of("Rock"));
+        build();
+
+        index.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.CREATED, 7L,
+                CategoryResponse.builder().id(7L).name("Jazz").changeSeq(6L).build()));
+        catalogVersion.set(6);
+        when(categorySyncService.committedChangeSeqs(5, 6, 10_000)).thenReturn(Optional.of(List.of(6L)));
+        index.scheduledValidation();
+
+        awaitUntil(() -> (long) ReflectionTestUtils.getField(index, "builtAtVersion") == 6);
+        assertThat(index.mightExist("Blues")).isFalse();
+        assertThat(index.mightExist("Jazz")).isTrue();
+        verify(categoryRepository, times(1)).findAllNames();
+    }
+
+    @Test
+    void renameLeavesAGapAndRebuilds() throws InterruptedException {
+        when(categoryRepository.findAllNames())
+                .thenReturn(List.of("Rock"))
+                .thenReturn(List.of("Blues"));
+        build();
+
+        index.onCategoryChanged(new CategoryChangeEvent(CategoryChangeType.UPDATED, 7L,
+                CategoryResponse.builder().id(7L).name("Blues").changeSeq(6L).build(), "Rock"));
+        catalogVersion.set(6);
+        when(categorySyncService.committedChangeSeqs(5, 6, 10_000)).thenReturn(Optional.of(List.of(6L)));
+        index.scheduledValidation();
+
+        awaitUntil(() -> !index.mightExist("Rock"));
+        assertThat(index.mightExist("Blues")).isTrue();
+        verify(categoryRepository, times(2)).findAllNames();
+    }
+
+    @Test
+    void sameNameIsTrueOnlyWhenMySqlCertainlyAgrees() {
+        assertThat(CategoryNameIndex.sameName("rock", "Rock")).isTrue();
+        assertThat(CategoryNameIndex.sameName("Café", "Café")).isTrue();
+        assertThat(CategoryNameIndex.sameName("Rock", "Rock ")).isFalse();
+        // Iguais para o 0900_ai_ci, mas decididos pelo banco
+        assertThat(CategoryNameIndex.sameName("Café", "cafe")).isFalse();
+        assertThat(CategoryNameIndex.sameName("Straße", "Strasse")).isFalse();
+    }
+
+    private void build() throws InterruptedException {
+        index.buildOnStartup();
+        awaitUntil(() -> ReflectionTestUtils.getField(index, "table") != null);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
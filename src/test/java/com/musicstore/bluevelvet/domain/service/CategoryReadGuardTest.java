@@ -0,0 +1,102 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.domain.exception.CatalogUnavailableException;
+import com.musicstore.bluevelvet.domain.exception.CategoryNotFoundException;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategoryReadGuardTest {
+
+    private final DatabaseCircuitBreaker circuitBreaker = new DatabaseCircuitBreaker();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private CategoryReadGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(circuitBreaker, "failureThreshold", 2);
+        ReflectionTestUtils.setField(circuitBreaker, "openDuration", Duration.ofMinutes(1));
+
+        SingleFlight singleFlight = new SingleFlight();
+        ReflectionTestUtils.setField(singleFlight, "enabled", true);
+        ReflectionTestUtils.setField(singleFlight, "maxWait", Duration.ofSeconds(2));
+
+        Tracer tracer = mock(Tracer.class);
+        when(tracer.wrap(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        guard = new CategoryReadGuard(singleFlight, circuitBreaker, mock(PlatformTransactionManager.class),
+                tracer, 100, Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(guard, "refreshMaxBackoff", Duration.ofSeconds(30));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        guard.shutdown();
+    }
+
+    @Test
+    void servesTheLastKnownGoodResultWhenTheDatabaseFails() {
+        assertThat(guard.read("findById:1", () -> "fresh")).isEqualTo("fresh");
+
+        String result = guard.read("findById:1", () -> {
+            throw new DataAccessResourceFailureException("Communications link failure");
+        });
+
+        assertThat(result).isEqualTo("fresh");
+        assertThat(response.getHeader(CategoryReadGuard.STALE_HEADER)).isEqualTo("true");
+        assertThat(response.getHeader(CategoryReadGuard.STALE_SINCE_HEADER)).isNotBlank();
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+    }
+
+    @Test
+    void failsWith503WhenThereIsNothingToServe() {
+        assertThatThrownBy(() -> guard.read("findById:2", () -> {
+            throw new DataAccessResourceFailureException("Communications link failure");
+        })).isInstanceOf(CatalogUnavailableException.class);
+    }
+
+    @Test
+    void openCircuitServesStaleWithoutCallingTheDatabase() {
+        guard.read("findById:1", () -> "fresh");
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        String result = guard.read("findById:1", () -> {
+            throw new AssertionError("database must not be called while the circuit is open");
+        });
+
+        assertThat(result).isEqualTo("fresh");
+        assertThat(response.getHeader(CategoryReadGuard.STALE_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void applicationErrorsPassThroughAndDoNotTripTheBreaker() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> guard.read("findById:404", () -> {
+                throw new CategoryNotFoundException("Unable to find a category with id 404");
+            })).isInstanceOf(CategoryNotFoundException.class);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+        assertThat(response.getHeader(CategoryReadGuard.STALE_HEADER)).isNull();
+    }
+}
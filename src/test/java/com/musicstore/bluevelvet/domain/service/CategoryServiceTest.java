@@ -0,0 +1,242 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.request.CategoryRequest;
+import com.musicstore.bluevelvet.domain.exception.CategoryConcurrentModificationException;
+import com.musicstore.bluevelvet.domain.exception.CategoryCycleException;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ProductRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryTreeNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryServiceTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private final CategoryReadGuard readGuard = mock(CategoryReadGuard.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final CategoryService service = new CategoryService(categoryRepository, productRepository,
+            eventPublisher, mock(ImageStorageService.class), mock(ImageVariantService.class), categorySyncService,
+            mock(CategorySnapshotService.class), readGuard, mock(CategoryNameIndex.class), entityManager);
+
+    private final Category music = category(1L, "Music", null);
+    private final Category vinyl = category(5L, "Vinyl", music);
+    private final Category cd = category(6L, "CD", music);
+
+    @BeforeEach
+    void setUp() {
+        when(categorySyncService.currentChangeSeq()).thenReturn(42L);
+        when(readGuard.read(anyString(), any())).thenAnswer(invocation ->
+                ((Supplier<?>) invocation.getArgument(1)).get());
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(music));
+        when(categoryRepository.findById(5L)).thenReturn(Optional.of(vinyl));
+        when(categoryRepository.findById(6L)).thenReturn(Optional.of(cd));
+        when(categoryRepository.saveAndFlush(any(Category.class))).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            if (category.getId() == null) {
+                category.setId(10L);
+            }
+            return category;
+        });
+    }
+
+    @Test
+    void createCountsTheNewCategoryInItsParentAndEveryAncestor() {
+        service.createCategory(CategoryRequest.builder().name("Jazz").enabled(true).parentId(5L).build());
+
+        verify(categoryRepository).adjustChildCount(5L, 1, 42L);
+        verify(categoryRepository).adjustDescendantCounts(List.of(5L, 1L), 1, 1, 42L);
+    }
+
+    @Test
+    void createDisabledCountsItAsADescendantButNotAsAnEnabledOne() {
+        service.createCategory(CategoryRequest.builder().name("Jazz").enabled(false).parentId(5L).build());
+
+        verify(categoryRepository).adjustDescendantCounts(List.of(5L, 1L), 1, 0, 42L);
+    }
+
+    @Test
+    void moveTakesTheWholeSubtreeFromTheOldAncestorsToTheNewOnes() {
+        Category jazz = category(10L, "Jazz", vinyl);
+        jazz.setDescendantCount(2);
+        jazz.setEnabledDescendantCount(1);
+        jazz.setSubtreeProductCount(4);
+        when(categoryRepository.findForUpdate(10L)).thenReturn(Optional.of(jazz));
+
+        service.patchCategory(10L, CategoryRequest.builder().parentId(6L).build(), null);
+
+        verify(categoryRepository).adjustChildCount(5L, -1, 42L);
+        verify(categoryRepository).adjustDescendantCounts(List.of(5L, 1L), -3, -2, 42L);
+        verify(categoryRepository).adjustSubtreeProductCounts(List.of(5L, 1L), -4, 42L);
+        verify(categoryRepository).adjustChildCount(6L, 1, 42L);
+        verify(categoryRepository).adjustDescendantCounts(List.of(6L, 1L), 3, 2, 42L);
+        verify(categoryRepository).adjustSubtreeProductCounts(List.of(6L, 1L), 4, 42L);
+        verify(categoryRepository).movePaths("/1/5/10/", "/1/6/10/", 42L);
+        assertThat(jazz.getPath()).isEqualTo("/1/6/10/");
+    }
+
+    @Test
+    void deleteRemovesTheCategoryFromItsParentAndEveryAncestor() {
+        Category jazz = category(10L, "Jazz", vinyl);
+        when(categoryRepository.findById(10L)).thenReturn(Optional.of(jazz));
+
+        service.deleteById(10L);
+
+        verify(categoryRepository).adjustChildCount(5L, -1, 42L);
+        verify(categoryRepository).adjustDescendantCounts(List.of(5L, 1L), -1, -1, 42L);
+        verify(categorySyncService).recordDeletion(jazz);
+        verify(categoryRepository).deleteById(10L);
+    }
+
+    @Test
+    void movingUnderItsOwnDescendantIsAConflict() {
+        Category jazz = category(10L, "Jazz", vinyl);
+        Category bebop = category(12L, "Bebop", jazz);
+        when(categoryRepository.findForUpdate(10L)).thenReturn(Optional.of(jazz));
+        when(categoryRepository.findById(12L)).thenReturn(Optional.of(bebop));
+
+        assertThatThrownBy(() -> service.patchCategory(10L, CategoryRequest.builder().parentId(12L).build(), null))
+                .isInstanceOf(CategoryCycleException.class);
+        assertThat(CategoryCycleException.class.getAnnotation(ResponseStatus.class).value())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(categoryRepository, never()).adjustChildCount(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void movingUnderItselfIsAConflict() {
+        Category jazz = category(10L, "Jazz", vinyl);
+        when(categoryRepository.findForUpdate(10L)).thenReturn(Optional.of(jazz));
+        when(categoryRepository.findById(10L)).thenReturn(Optional.of(jazz));
+
+        assertThatThrownBy(() -> service.patchCategory(10L, CategoryRequest.builder().parentId(10L).build(), null))
+                .isInstanceOf(CategoryCycleException.class);
+    }
+
+    @Test
+    void newParentMovedWhileWaitingForItsLockIsAConflict() {
+        Category jazz = category(10L, "Jazz", vinyl);
+        when(categoryRepository.findForUpdate(10L)).thenReturn(Optional.of(jazz));
+        // Outro request pôs CD embaixo de Jazz antes de o lock sair
+        doAnswer(invocation -> {
+            cd.setPath("/1/5/10/6/");
+            return null;
+        }).when(entityManager).refresh(cd, LockModeType.PESSIMISTIC_WRITE);
+
+        assertThatThrownBy(() -> service.patchCategory(10L, CategoryRequest.builder().parentId(6L).build(), null))
+                .isInstanceOf(CategoryConcurrentModificationException.class);
+        verify(categoryRepository).lockAllByIdIn(Set.of(6L, 1L));
+        verify(categoryRepository, never()).adjustChildCount(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void deadlockBetweenCrossedMovesIsAConflict() {
+        Category jazz = category(10L, "Jazz", vinyl);
+        when(categoryRepository.findForUpdate(10L)).thenReturn(Optional.of(jazz));
+        when(categoryRepository.lockAllByIdIn(any())).thenThrow(new PessimisticLockingFailureException("deadlock"));
+
+        assertThatThrownBy(() -> service.patchCategory(10L, CategoryRequest.builder().parentId(6L).build(), null))
+                .isInstanceOf(CategoryConcurrentModificationException.class);
+    }
+
+    @Test
+    void disablingASubtreeHidesEveryDescendantAndUpdatesTheAncestorCounters() {
+        vinyl.setDescendantCount(2);
+        vinyl.setEnabledDescendantCount(2);
+
+        service.setSubtreeEnabled(5L, false);
+
+        verify(categoryRepository).adjustDescendantCounts(List.of(1L), 0, -3, 42L);
+        verify(categoryRepository).updateSubtreeEnabled("/1/5/", false, false, 0, 42L);
+    }
+
+    @Test
+    void enablingASubtreeUnderAHiddenParentKeepsItHidden() {
+        music.setEffectivelyEnabled(false);
+        vinyl.setEnabled(false);
+        vinyl.setEffectivelyEnabled(false);
+        vinyl.setDescendantCount(2);
+
+        service.setSubtreeEnabled(5L, true);
+
+        verify(categoryRepository).adjustDescendantCounts(List.of(1L), 0, 3, 42L);
+        verify(categoryRepository).updateSubtreeEnabled("/1/5/", true, false, 1, 42L);
+    }
+
+    @Test
+    void disablingAParentHidesItsWholeSubtree() {
+        vinyl.setDescendantCount(2);
+        vinyl.setEnabledDescendantCount(2);
+        when(categoryRepository.findForUpdate(5L)).thenReturn(Optional.of(vinyl));
+
+        service.patchCategory(5L, CategoryRequest.builder().enabled(false).build(), null);
+
+        assertThat(vinyl.getEffectivelyEnabled()).isFalse();
+        verify(categoryRepository).updateEffectivelyEnabledInSubtree("/1/5/", false, 42L);
+        verify(categoryRepository).adjustDescendantCounts(List.of(1L), 0, -1, 42L);
+    }
+
+    @Test
+    void enablingAParentAgainShowsOnlyTheDescendantsEnabledThemselves() {
+        vinyl.setEnabled(false);
+        vinyl.setEffectivelyEnabled(false);
+        vinyl.setDescendantCount(2);
+        vinyl.setEnabledDescendantCount(1);
+        when(categoryRepository.findForUpdate(5L)).thenReturn(Optional.of(vinyl));
+        List<CategoryTreeNode> subtree = List.of(node(5L, 1L, false), node(11L, 5L, true), node(12L, 5L, false));
+        when(categoryRepository.findSubtreeNodes("/1/5/")).thenReturn(subtree);
+
+        service.patchCategory(5L, CategoryRequest.builder().enabled(true).build(), null);
+
+        assertThat(vinyl.getEffectivelyEnabled()).isTrue();
+        verify(categoryRepository).updateEffectivelyEnabled(List.of(5L, 11L), true, 42L);
+        verify(categoryRepository).updateEffectivelyEnabled(List.of(12L), false, 42L);
+        verify(categoryRepository, never()).updateEffectivelyEnabledInSubtree(anyString(), anyBoolean(), anyLong());
+    }
+
+    private static CategoryTreeNode node(Long id, Long parentId, boolean enabled) {
+        CategoryTreeNode node = mock(CategoryTreeNode.class);
+        when(node.getId()).thenReturn(id);
+        when(node.getParentId()).thenReturn(parentId);
+        when(node.getEnabled()).thenReturn(enabled);
+        return node;
+    }
+
+    private static Category category(Long id, String name, Category parent) {
+        return Category.builder()
+                .id(id)
+                .name(name)
+                .parent(parent)
+                .enabled(true)
+                .effectivelyEnabled(true)
+                .path((parent != null ? parent.getPath() : "/") + id + "/")
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.snapshot.CategoryTreeSnapshot;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CategorySnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private CategorySnapshotService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path location = directory.resolve("category-tree.bin");
+        CategoryTreeSnapshot.write(location, 5, List.of(category("Old")));
+
+        service = new CategorySnapshotService(categoryRepository, categorySyncService,
+                mock(PlatformTransactionManager.class), mock(Tracer.class));
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "location", location);
+        ReflectionTestUtils.setField(service, "versionCheckInterval", Duration.ZERO);
+        service.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void servesTheMappedSnapshotWhileTheCatalogVersionMatches() throws InterruptedException {
+        when(categorySyncService.latestChangeSeq()).thenReturn(5L);
+
+        assertThat(names(service.findEnabledCategories())).containsExactly("Old");
+        awaitUntil(() -> (long) ReflectionTestUtils.getField(service, "knownCatalogVersion") == 5);
+        assertThat(names(service.findEnabledCategories())).containsExactly("Old");
+    }
+
+    @Test
+    void stopsServingASnapshotOlderThanAWriteFromAnotherNode() throws InterruptedException {
+        AtomicBoolean databaseUp = new AtomicBoolean(false);
+        when(categorySyncService.latestChangeSeq()).thenReturn(7L);
+        // Regravação falha enquanto o banco está fora: o snapshot continua na versão 5
+        when(categoryRepository.findAllByOrderByNameAsc()).thenAnswer(invocation -> {
+            if (!databaseUp.get()) {
+                throw new IllegalStateException("database down");
+            }
+            return List.of(category("New"));
+        });
+
+        service.findEnabledCategories();
+        awaitUntil(() -> service.findEnabledCategories().isEmpty());
+
+        // Com o banco de volta a próxima conferência regrava e o snapshot volta a ser servido
+        databaseUp.set(true);
+        awaitUntil(() -> service.findEnabledCategories().isPresent());
+        assertThat(names(service.findEnabledCategories())).containsExactly("New");
+    }
+
+    private static Category category(String name) {
+        return Category.builder().id(1L).name(name).enabled(true).effectivelyEnabled(true).build();
+    }
+
+    private static List<String> names(Optional<List<CategoryResponse>> categories) {
+        return categories.orElseThrow().stream().map(CategoryResponse::getName).toList();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryChangesSinceResponse;
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.api.response.CategoryTombstoneResponse;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.entity.CategoryTombstone;
+import com.musicstore.bluevelvet.infrastructure.entity.ChangeAllocation;
+import com.musicstore.bluevelvet.infrastructure.entity.ChangeSequence;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryTombstoneRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ChangeAllocationRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ChangeSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategorySyncServiceTest {
+
+    private final ChangeSequenceRepository changeSequenceRepository = mock(ChangeSequenceRepository.class);
+    private final ChangeAllocationRepository allocationRepository = mock(ChangeAllocationRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryTombstoneRepository tombstoneRepository = mock(CategoryTombstoneRepository.class);
+    private final CategorySyncService service = new CategorySyncService(
+            changeSequenceRepository, allocationRepository, categoryRepository, tombstoneRepository);
+
+    private final List<ChangeAllocation> committed = new ArrayList<>();
+    private final List<ChangeAllocation> allocated = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "commitLag", Duration.ofSeconds(10));
+        when(allocationRepository.findAllocatedAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return committed.stream()
+                    .filter(allocation -> allocation.getSeq() > after)
+                    .sorted(Comparator.comparing(ChangeAllocation::getSeq))
+                    .toList();
+        });
+        when(allocationRepository.findMaxSeq()).thenAnswer(invocation ->
+                committed.stream().map(ChangeAllocation::getSeq).max(Long::compare));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changesSinceMergesCategoriesAndTombstonesInSequenceOrder() {
+        sequence(0);
+        committed(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        when(categoryRepository.findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(category(1, 6), category(4, 7), category(2, 8)));
+        when(tombstoneRepository.findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(tombstone(3, 6), tombstone(5, 7)));
+
+        CategoryChangesSinceResponse response = service.changesSince(5, 0, 3);
+
+        assertThat(response.getChanged()).extracting(CategoryResponse::getId).containsExactly(1L, 4L);
+        assertThat(response.getDeleted()).extracting(CategoryTombstoneResponse::getId).containsExactly(3L);
+        // (6, 1) < (6, 3) < (7, 4): o cursor para no último item devolvido
+        assertThat(response.getNextSeq()).isEqualTo(7);
+        assertThat(response.getNextAfterId()).isEqualTo(4);
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(response.getCurrentSeq()).isEqualTo(10);
+        assertThat(response.isFullResyncRequired()).isFalse();
+    }
+
+    @Test
+    void changesSinceWithoutChangesKeepsTheCursor() {
+        sequence(0);
+        committed(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        when(categoryRepository.findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(tombstoneRepository.findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        CategoryChangesSinceResponse response = service.changesSince(10, 42, 100);
+
+        assertThat(response.getChanged()).isEmpty();
+        assertThat(response.getDeleted()).isEmpty();
+        assertThat(response.getNextSeq()).isEqualTo(10);
+        assertThat(response.getNextAfterId()).isEqualTo(42);
+        assertThat(response.isHasMore()).isFalse();
+    }
+
+    @Test
+    void cursorOutsideTheRetainedRangeRequiresFullResync() {
+        sequence(4);
+        committed(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertThat(service.changesSince(3, 0, 100).isFullResyncRequired()).isTrue();
+        assertThat(service.changesSince(11, 0, 100).isFullResyncRequired()).isTrue();
+        verify(categoryRepository, never()).findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void watermarkStopsBelowAnOpenTransaction() {
+        sequence(0);
+        committed(1, 2);
+        // 3 ainda aberta: 4 já comitou, mas só aparece quando 3 terminar
+        committed.add(allocation(4, Instant.now()));
+
+        assertThat(service.latestChangeSeq()).isEqualTo(2);
+
+        committed.add(allocation(3, Instant.now()));
+        assertThat(service.latestChangeSeq()).isEqualTo(4);
+    }
+
+    @Test
+    void watermarkSkipsARolledBackSequenceAfterTheCommitLag() {
+        sequence(0);
+        committed(1, 2);
+        committed.add(allocation(4, Instant.now().minusSeconds(60)));
+        committed.add(allocation(5, Instant.now()));
+
+        assertThat(service.latestChangeSeq()).isEqualTo(5);
+    }
+
+    @Test
+    void changesSinceNeverReturnsChangesAboveTheWatermark() {
+        sequence(0);
+        committed(1, 2, 3);
+        committed.add(allocation(5, Instant.now()));
+        when(categoryRepository.findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(tombstoneRepository.findChangedSince(anyLong(), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        CategoryChangesSinceResponse response = service.changesSince(2, 0, 100);
+
+        verify(categoryRepository).findChangedSince(eq(2L), eq(0L), eq(3L), any(Pageable.class));
+        verify(tombstoneRepository).findChangedSince(eq(2L), eq(0L), eq(3L), any(Pageable.class));
+        assertThat(response.getCurrentSeq()).isEqualTo(3);
+        // Cursor já na sequência 5 (lida em outro nó): nada novo, sem carga completa
+        assertThat(service.changesSince(5, 0, 100).isFullResyncRequired()).isFalse();
+    }
+
+    @Test
+    void currentChangeSeqAllocatesOncePerTransaction() {
+        allocateFrom(11);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(service.currentChangeSeq()).isEqualTo(11);
+        assertThat(service.currentChangeSeq()).isEqualTo(11);
+        verify(allocationRepository, times(1)).save(any(ChangeAllocation.class));
+
+        // Commit dentro do prazo: nada é reescrito
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        verify(categoryRepository, never()).restampChangeSeq(anyLong(), anyLong());
+
+        // Fim da transação: a próxima aloca outra sequência
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(service.currentChangeSeq()).isEqualTo(12);
+    }
+
+    @Test
+    void lateTransactionCommitsWithANewSequence() {
+        allocateFrom(11);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(service.currentChangeSeq()).isEqualTo(11);
+        // Mais que metade do commit-lag: outro nó pode já ter passado por cima da 11
+        allocated.get(0).setAllocatedAt(Instant.now().minusSeconds(6));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        verify(categoryRepository).restampChangeSeq(11, 12);
+        verify(tombstoneRepository).restampChangeSeq(11, 12);
+        verify(changeSequenceRepository).restampResyncBefore(11, 12);
+    }
+
+    private void sequence(long resyncBefore) {
+        when(changeSequenceRepository.findById("category")).thenReturn(Optional.of(
+                ChangeSequence.builder().name("category").value(0L).resyncBefore(resyncBefore).build()));
+    }
+
+    private void allocateFrom(long first) {
+        AtomicLong nextSeq = new AtomicLong(first);
+        when(allocationRepository.save(any(ChangeAllocation.class))).thenAnswer(invocation -> {
+            ChangeAllocation allocation = invocation.getArgument(0);
+            allocation.setSeq(nextSeq.getAndIncrement());
+            allocated.add(allocation);
+            return allocation;
+        });
+    }
+
+    private void committed(long... seqs) {
+        Arrays.stream(seqs).forEach(seq -> committed.add(allocation(seq, Instant.now().minusSeconds(30))));
+    }
+
+    private static ChangeAllocation allocation(long seq, Instant allocatedAt) {
+        return ChangeAllocation.builder().seq(seq).allocatedAt(allocatedAt).build();
+    }
+
+    private static Category category(long id, long changeSeq) {
+        return Category.builder().id(id).name("Category " + id).changeSeq(changeSeq).build();
+    }
+
+    private static CategoryTombstone tombstone(long id, long changeSeq) {
+        return CategoryTombstone.builder()
+                .categoryId(id)
+                .name("Deleted " + id)
+                .changeSeq(changeSeq)
+                .deletedAt(Instant.now())
+                .build();
+    }
+}
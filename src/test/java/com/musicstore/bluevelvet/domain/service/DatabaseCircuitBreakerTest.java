@@ -0,0 +1,90 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseCircuitBreakerTest {
+
+    private final DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(breaker, "failureThreshold", 3);
+        ReflectionTestUtils.setField(breaker, "openDuration", Duration.ofMillis(100));
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresOnly() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void letsASingleProbeThroughAfterTheOpenPeriod() throws InterruptedException {
+        open();
+        Thread.sleep(150);
+
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.HALF_OPEN);
+        // Chamada de teste em andamento: as demais continuam barradas
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuit() throws InterruptedException {
+        open();
+        Thread.sleep(150);
+        breaker.allowRequest();
+
+        breaker.recordSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void failedProbeReopensImmediately() throws InterruptedException {
+        open();
+        Thread.sleep(150);
+        breaker.allowRequest();
+
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void probeThatNeverAnswersIsReplacedAfterAnotherPeriod() throws InterruptedException {
+        open();
+        Thread.sleep(150);
+        assertThat(breaker.allowRequest()).isTrue();
+
+        Thread.sleep(150);
+
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,95 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.domain.exception.InvalidImageException;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageStorageServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    @TempDir
+    Path location;
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private ImageStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageStorageService(categoryRepository);
+        ReflectionTestUtils.setField(service, "location", location);
+        ReflectionTestUtils.setField(service, "orphanGracePeriod", Duration.ofMinutes(2));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void extensionComesFromMagicBytesNotDeclaredType() {
+        String filename = service.saveImage(new MockMultipartFile("file", "x.gif", "image/gif", PNG));
+
+        assertThat(filename).endsWith(".png");
+    }
+
+    @Test
+    void rejectsContentThatIsNotAnImage() {
+        MockMultipartFile html = new MockMultipartFile("file", "x.png", "image/png", "<html><script>".getBytes());
+
+        assertThatThrownBy(() -> service.saveImage(html)).isInstanceOf(InvalidImageException.class);
+    }
+
+    @Test
+    void sniffsSupportedSignatures() {
+        assertThat(ImageStorageService.sniffExtension(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0})).isEqualTo("jpg");
+        assertThat(ImageStorageService.sniffExtension("GIF89a....".getBytes())).isEqualTo("gif");
+        assertThat(ImageStorageService.sniffExtension(PNG)).isEqualTo("png");
+        assertThat(ImageStorageService.sniffExtension(new byte[]{(byte) 0x89, 'P'})).isNull();
+    }
+
+    @Test
+    void orphanTouchedByDeduplicatedUploadIsKept() throws Exception {
+        String filename = service.saveImage(new MockMultipartFile("file", "a.png", "image/png", PNG));
+        Path stored = location.resolve(filename);
+        Files.setLastModifiedTime(stored, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+
+        // Outro upload com os mesmos bytes reaproveita o arquivo antes de comitar
+        assertThat(service.saveImage(new MockMultipartFile("file", "b.png", "image/png", PNG))).isEqualTo(filename);
+        when(categoryRepository.existsByImage(anyString())).thenReturn(false);
+
+        service.deleteImageIfOrphaned(filename);
+
+        assertThat(stored).exists();
+    }
+
+    @Test
+    void orphanOlderThanGracePeriodIsDeleted() throws Exception {
+        String filename = service.saveImage(new MockMultipartFile("file", "a.png", "image/png", PNG));
+        Path stored = location.resolve(filename);
+        Files.setLastModifiedTime(stored, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+        when(categoryRepository.existsByImage(anyString())).thenReturn(false);
+
+        service.deleteImageIfOrphaned(filename);
+
+        assertThat(stored).doesNotExist();
+    }
+}
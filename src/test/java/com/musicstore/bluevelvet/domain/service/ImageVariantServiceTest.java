@@ -0,0 +1,96 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.ImageVariantStatusResponse;
+import com.musicstore.bluevelvet.domain.enums.ImageVariantStatus;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageVariantServiceTest {
+
+    private static final String IMAGE = "a".repeat(64) + ".png";
+
+    @TempDir
+    Path directory;
+
+    private final ImageStorageService imageStorageService = mock(ImageStorageService.class);
+    private final Tracer tracer = mock(Tracer.class);
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        when(tracer.wrap(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        service = new ImageVariantService(imageStorageService, mock(CategoryRepository.class),
+                mock(ApplicationEventPublisher.class), mock(CategorySyncService.class),
+                mock(TransactionTemplate.class), tracer, 10, 1_000_000);
+    }
+
+    @Test
+    void decompressionBombIsRejectedFromTheHeaderWithoutDecoding() throws Exception {
+        // Poucos bytes em disco, 100000 x 100000 pixels declarados (~40 GB decodificados)
+        Path bomb = directory.resolve(IMAGE);
+        Files.write(bomb, pngHeader(100_000, 100_000));
+        when(imageStorageService.resolve(IMAGE)).thenReturn(bomb);
+
+        service.scheduleVariants(1L, IMAGE);
+        service.shutdown();
+
+        ImageVariantStatusResponse status = service.getStatus(1L, Category.builder().image(IMAGE).build());
+        assertThat(status.getStatus()).isEqualTo(ImageVariantStatus.FAILED);
+        assertThat(status.getMessage()).contains("above the limit");
+    }
+
+    @Test
+    void unreadableOriginalEndsFailedNotProcessing() throws Exception {
+        Path garbage = directory.resolve(IMAGE);
+        Files.write(garbage, "not an image".getBytes(StandardCharsets.US_ASCII));
+        when(imageStorageService.resolve(IMAGE)).thenReturn(garbage);
+
+        service.scheduleVariants(2L, IMAGE);
+        service.shutdown();
+
+        ImageVariantStatusResponse status = service.getStatus(2L, Category.builder().image(IMAGE).build());
+        assertThat(status.getStatus()).isEqualTo(ImageVariantStatus.FAILED);
+    }
+
+    //  Assinatura PNG + IHDR válido (com CRC); sem IDAT, o que basta para ler as dimensões
+    private static byte[] pngHeader(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(chunk);
+        data.write("IHDR".getBytes(StandardCharsets.US_ASCII));
+        data.writeInt(width);
+        data.writeInt(height);
+        data.write(new byte[]{8, 6, 0, 0, 0});
+
+        byte[] typeAndData = chunk.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(typeAndData);
+        out.writeInt(typeAndData.length - 4);
+        out.write(typeAndData);
+        out.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+}
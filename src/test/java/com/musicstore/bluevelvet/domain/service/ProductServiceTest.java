@@ -0,0 +1,184 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.request.ProductRequest;
+import com.musicstore.bluevelvet.api.response.CategoryFacetResponse;
+import com.musicstore.bluevelvet.api.response.CategoryProductsResponse;
+import com.musicstore.bluevelvet.domain.enums.CategoryChangeType;
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import com.musicstore.bluevelvet.infrastructure.entity.Product;
+import com.musicstore.bluevelvet.infrastructure.repository.CategoryRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.ProductRepository;
+import com.musicstore.bluevelvet.infrastructure.repository.projection.CategoryProductCount;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private final CategoryReadGuard readGuard = mock(CategoryReadGuard.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ProductService service = new ProductService(productRepository, categoryRepository,
+            categorySyncService, readGuard, eventPublisher, entityManager);
+
+    private final Category music = category(1L, "Music", null);
+    private final Category vinyl = category(5L, "Vinyl", music);
+    private final Category cd = category(6L, "CD", music);
+
+    @BeforeEach
+    void setUp() {
+        when(categorySyncService.currentChangeSeq()).thenReturn(42L);
+        when(readGuard.read(anyString(), any())).thenAnswer(invocation ->
+                ((Supplier<?>) invocation.getArgument(1)).get());
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            product.setId(100L);
+            return product;
+        });
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createAdjustsTheCategoryAndEveryAncestorAndPublishesThem() {
+        when(categoryRepository.findById(5L)).thenReturn(Optional.of(vinyl));
+
+        service.createProduct(request(5L, true));
+
+        verify(categoryRepository).adjustProductCount(5L, 1, 42L);
+        verify(categoryRepository).adjustSubtreeProductCounts(List.of(5L, 1L), 1, 42L);
+        verify(entityManager).refresh(vinyl);
+        verify(entityManager).refresh(music);
+        assertThat(publishedUpdates()).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void disabledProductsDoNotTouchCountersOrPublish() {
+        when(categoryRepository.findById(5L)).thenReturn(Optional.of(vinyl));
+
+        service.createProduct(request(5L, false));
+
+        verify(categoryRepository, never()).adjustProductCount(anyLong(), anyInt(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void movingAProductShiftsCountsBetweenSubtreesAndPublishesEachCategoryOnce() {
+        Product product = Product.builder().id(100L).name("Abbey Road").enabled(true)
+                .category(vinyl).categoryPath(vinyl.getPath()).build();
+        when(productRepository.findWithCategoryById(100L)).thenReturn(Optional.of(product));
+        when(categoryRepository.findById(6L)).thenReturn(Optional.of(cd));
+
+        service.updateProduct(100L, request(6L, true));
+
+        verify(categoryRepository).adjustProductCount(5L, -1, 42L);
+        verify(categoryRepository).adjustSubtreeProductCounts(List.of(5L, 1L), -1, 42L);
+        verify(categoryRepository).adjustProductCount(6L, 1, 42L);
+        verify(categoryRepository).adjustSubtreeProductCounts(List.of(6L, 1L), 1, 42L);
+        assertThat(product.getCategoryPath()).isEqualTo("/1/6/");
+        // Music muda duas vezes (-1 e +1) mas sai um evento só
+        assertThat(publishedUpdates()).containsExactly(5L, 1L, 6L);
+    }
+
+    @Test
+    void deletingAnEnabledProductDecrementsTheCounters() {
+        Product product = Product.builder().id(100L).name("Abbey Road").enabled(true).category(vinyl).build();
+        when(productRepository.findWithCategoryById(100L)).thenReturn(Optional.of(product));
+
+        service.deleteById(100L);
+
+        verify(categoryRepository).adjustProductCount(5L, -1, 42L);
+        verify(categoryRepository).adjustSubtreeProductCounts(List.of(5L, 1L), -1, 42L);
+        verify(productRepository).delete(product);
+        assertThat(publishedUpdates()).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void facetsUseCountersAndOneGroupedCountForSubtreesWithDisabledCategories() {
+        music.setSubtreeProductCount(12);
+        vinyl.setSubtreeProductCount(7);
+        cd.setSubtreeProductCount(5);
+        cd.setDescendantCount(2);
+        cd.setEnabledDescendantCount(1);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(music));
+        when(categoryRepository.findByParentId(1L)).thenReturn(List.of(vinyl, cd));
+        when(productRepository.findVisibleInSubtree(eq("/1/"), any(Pageable.class))).thenReturn(List.of());
+        when(productRepository.countVisibleInSubtrees(List.of(6L))).thenReturn(List.of(count(6L, 3L)));
+
+        CategoryProductsResponse response = service.findByCategorySubtree(1L, PageRequest.of(0, 20));
+
+        assertThat(response.getFacets()).extracting(CategoryFacetResponse::getName).containsExactly("CD", "Vinyl");
+        assertThat(response.getFacets()).extracting(CategoryFacetResponse::getProductCount).containsExactly(3, 7);
+        verify(productRepository, times(1)).countVisibleInSubtrees(any());
+        verify(productRepository, never()).countVisibleInSubtree(anyString());
+    }
+
+    private List<Long> publishedUpdates() {
+        ArgumentCaptor<CategoryChangeEvent> events = ArgumentCaptor.forClass(CategoryChangeEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertThat(events.getAllValues()).allSatisfy(event -> {
+            assertThat(event.getType()).isEqualTo(CategoryChangeType.UPDATED);
+            assertThat(event.getCategory()).isNotNull();
+        });
+        return events.getAllValues().stream().map(CategoryChangeEvent::getCategoryId).toList();
+    }
+
+    private static Category category(Long id, String name, Category parent) {
+        return Category.builder()
+                .id(id)
+                .name(name)
+                .parent(parent)
+                .enabled(true)
+                .effectivelyEnabled(true)
+                .path((parent != null ? parent.getPath() : "/") + id + "/")
+                .build();
+    }
+
+    private static ProductRequest request(Long categoryId, boolean enabled) {
+        return ProductRequest.builder()
+                .name("Abbey Road")
+                .price(new BigDecimal("199.90"))
+                .enabled(enabled)
+                .categoryId(categoryId)
+                .build();
+    }
+
+    private static CategoryProductCount count(Long categoryId, Long products) {
+        return new CategoryProductCount() {
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public Long getProducts() {
+                return products;
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.infrastructure.repository.reactive.ReactiveCategoryRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveCategoryServiceTest {
+
+    private final CategorySnapshotService categorySnapshotService = mock(CategorySnapshotService.class);
+    private final ReactiveCategoryRepository reactiveCategoryRepository = mock(ReactiveCategoryRepository.class);
+    private final ReactiveCategoryService service =
+            new ReactiveCategoryService(categorySnapshotService, reactiveCategoryRepository);
+
+    @Test
+    void servesFromTheSnapshotWithoutTouchingTheDatabase() {
+        when(categorySnapshotService.findEnabledCategories()).thenReturn(Optional.of(List.of(category(1L, "Music", null))));
+
+        assertThat(names(service.findEnabledCategoriesForShopper())).containsExactly("Music");
+        verify(reactiveCategoryRepository, never()).findVisibleOrderByName();
+    }
+
+    @Test
+    void fallsBackToR2dbcAndBuildsTheHierarchyInMemory() {
+        when(categorySnapshotService.findEnabledRootsWithChildren()).thenReturn(Optional.empty());
+        // Ordem de nome, como vem do banco: filhos antes e depois das raízes
+        when(reactiveCategoryRepository.findVisibleOrderByName()).thenReturn(Flux.just(
+                category(5L, "CD", 1L),
+                category(2L, "Books", null),
+                category(1L, "Music", null),
+                category(9L, "Orphan", 42L),
+                category(6L, "Vinyl", 1L)));
+
+        List<CategoryResponse> roots = service.findEnabledCategoriesWithChildren().collectList().block();
+
+        assertThat(roots).extracting(CategoryResponse::getName).containsExactly("Books", "Music");
+        assertThat(roots.get(0).getChildren()).isEmpty();
+        assertThat(roots.get(1).getChildren()).extracting(CategoryResponse::getName).containsExactly("CD", "Vinyl");
+    }
+
+    @Test
+    void snapshotIsCheckedOnSubscriptionNotOnAssembly() {
+        when(categorySnapshotService.findEnabledCategories()).thenReturn(Optional.empty());
+        when(reactiveCategoryRepository.findVisibleOrderByName()).thenReturn(Flux.empty());
+
+        Flux<CategoryResponse> categories = service.findEnabledCategoriesForShopper();
+        verify(categorySnapshotService, never()).findEnabledCategories();
+
+        categories.collectList().block();
+        verify(reactiveCategoryRepository).findVisibleOrderByName();
+    }
+
+    @Test
+    void searchClampsPageSizeAndComputesTheOffset() {
+        when(reactiveCategoryRepository.searchByName(anyString(), anyInt(), anyLong())).thenReturn(Flux.empty());
+
+        service.searchByName("rock", 3, 1000);
+        verify(reactiveCategoryRepository).searchByName("rock", ReactiveCategoryService.MAX_PAGE_SIZE,
+                3L * ReactiveCategoryService.MAX_PAGE_SIZE);
+
+        service.searchByName("rock", -1, 0);
+        verify(reactiveCategoryRepository).searchByName("rock", 1, 0L);
+    }
+
+    private static CategoryResponse category(Long id, String name, Long parentId) {
+        return CategoryResponse.builder().id(id).name(name).parentId(parentId).build();
+    }
+
+    private static List<String> names(Flux<CategoryResponse> categories) {
+        return categories.map(CategoryResponse::getName).collectList().block();
+    }
+}
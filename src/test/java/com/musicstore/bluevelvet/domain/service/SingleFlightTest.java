@@ -0,0 +1,156 @@
+package com.musicstore.bluevelvet.domain.service;
+
+import com.musicstore.bluevelvet.api.response.SingleFlightStatsResponse;
+import com.musicstore.bluevelvet.domain.exception.CategoryNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(singleFlight, "enabled", true);
+        ReflectionTestUtils.setField(singleFlight, "maxWait", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsForTheSameKeyShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("findById:1", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "category 1";
+        });
+        awaitShared("findById:1", CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("category 1");
+        }
+        assertThat(executions).hasValue(1);
+        SingleFlightStatsResponse stats = stats("findById:1");
+        assertThat(stats.getCalls()).isEqualTo(CALLERS);
+        assertThat(stats.getExecutions()).isEqualTo(1);
+        assertThat(stats.isInFlight()).isFalse();
+    }
+
+    @Test
+    void followersReceiveTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("findById:404", () -> {
+            await(release);
+            throw new CategoryNotFoundException("Unable to find a category with id 404");
+        });
+        awaitShared("findById:404", CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(CategoryNotFoundException.class);
+        }
+        assertThat(stats("findById:404").getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void followerLoadsIndependentlyAfterMaxWait() throws Exception {
+        ReflectionTestUtils.setField(singleFlight, "maxWait", Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("slow", () -> {
+                    await(release);
+                    return "leader";
+                }), executor);
+        awaitInFlight("slow");
+
+        assertThat(singleFlight.execute("slow", () -> "follower")).isEqualTo("follower");
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(stats("slow").getTimeouts()).isEqualTo(1);
+        assertThat(stats("slow").getExecutions()).isEqualTo(2);
+    }
+
+    @Test
+    void writeTransactionsBypassCoalescing() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(singleFlight.execute("findById:1", () -> "own changes")).isEqualTo("own changes");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertThat(singleFlight.getStats()).isEmpty();
+    }
+
+    private List<Future<String>> callConcurrently(String key, Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(key, loader)));
+        }
+        return results;
+    }
+
+    private void awaitShared(String key, long shared) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getStats().stream().noneMatch(s -> s.getKey().equals(key) && s.getShared() == shared)) {
+            assertThat(System.nanoTime()).as("followers did not join in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitInFlight(String key) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getStats().stream().noneMatch(s -> s.getKey().equals(key) && s.isInFlight())) {
+            assertThat(System.nanoTime()).as("leader did not start in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private SingleFlightStatsResponse stats(String key) {
+        return singleFlight.getStats().stream()
+                .filter(s -> s.getKey().equals(key))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
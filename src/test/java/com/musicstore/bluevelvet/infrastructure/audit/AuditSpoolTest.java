@@ -0,0 +1,112 @@
+package com.musicstore.bluevelvet.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditSpoolTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedEventsReadBackWithEveryField() throws Exception {
+        AuditSpool spool = new AuditSpool(directory, 1024 * 1024, objectMapper);
+        AuditEvent event = AuditEvent.builder()
+                .id(42L)
+                .occurredAt(Instant.parse("2026-03-01T10:15:30.123Z"))
+                .type(AuditEventType.CATEGORY_UPDATED)
+                .actor("admin@bluevelvet.com")
+                .subjectType(AuditSubjectType.CATEGORY)
+                .subjectId(7L)
+                .summary("name=Rock")
+                .clientIp("10.0.0.1")
+                .traceId("abc123")
+                .build();
+
+        spool.append(List.of(event));
+        List<Path> segments = spool.segments();
+
+        assertThat(segments).hasSize(1);
+        assertThat(spool.read(segments.get(0))).singleElement().usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    void rollsSegmentsBySizeNamedAfterTheFirstEvent() throws Exception {
+        AuditSpool spool = new AuditSpool(directory, 1, objectMapper);
+
+        spool.append(List.of(event(100), event(101)));
+        spool.append(List.of(event(102)));
+        spool.append(List.of(event(9)));
+
+        List<Path> segments = spool.segments();
+        assertThat(segments).extracting(segment -> segment.getFileName().toString()).containsExactly(
+                "audit-00000000000000000009.jsonl",
+                "audit-00000000000000000100.jsonl",
+                "audit-00000000000000000102.jsonl");
+        assertThat(spool.read(segments.get(1))).extracting(AuditEvent::getId).containsExactly(100L, 101L);
+    }
+
+    @Test
+    void segmentsClosesTheOpenSegmentSoLaterAppendsGoToANewOne() throws Exception {
+        AuditSpool spool = new AuditSpool(directory, 1024 * 1024, objectMapper);
+
+        spool.append(List.of(event(1)));
+        Path first = spool.segments().get(0);
+        spool.append(List.of(event(2)));
+
+        assertThat(spool.segments()).hasSize(2);
+        assertThat(spool.read(first)).extracting(AuditEvent::getId).containsExactly(1L);
+    }
+
+    @Test
+    void truncatedLastLineIsSkipped() throws Exception {
+        AuditSpool spool = new AuditSpool(directory, 1024 * 1024, objectMapper);
+        spool.append(List.of(event(1), event(2)));
+        Path segment = spool.segments().get(0);
+
+        // Queda no meio do append: a última linha ficou pela metade
+        Files.writeString(segment, "{\"id\":3,\"occurredAt\":", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertThat(spool.read(segment)).extracting(AuditEvent::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void deletedSegmentsAreNotReplayedAgain() throws Exception {
+        AuditSpool spool = new AuditSpool(directory, 1024 * 1024, objectMapper);
+        spool.append(List.of(event(1)));
+
+        spool.delete(spool.segments().get(0));
+
+        assertThat(spool.segments()).isEmpty();
+    }
+
+    @Test
+    void missingDirectoryHasNoSegments() throws Exception {
+        AuditSpool spool = new AuditSpool(directory.resolve("missing"), 1024, objectMapper);
+        assertThat(spool.segments()).isEmpty();
+    }
+
+    private static AuditEvent event(long id) {
+        return AuditEvent.builder()
+                .id(id)
+                .occurredAt(Instant.now())
+                .type(AuditEventType.CATEGORY_CREATED)
+                .build();
+    }
+}
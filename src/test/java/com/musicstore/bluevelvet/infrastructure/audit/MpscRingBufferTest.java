@@ -0,0 +1,116 @@
+package com.musicstore.bluevelvet.infrastructure.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MpscRingBufferTest {
+
+    @Test
+    void rejectsCapacityThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new MpscRingBuffer<>(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpscRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fullBufferRejectsUntilTheConsumerFreesASlot() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 1)).isEqualTo(1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+
+        buffer.drain(drained::add, 10);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void keepsFifoOrderAcrossManyWrapArounds() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        List<Integer> drained = new ArrayList<>();
+
+        // Lotes de tamanho que não divide a capacidade: cada volta começa num slot diferente
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            assertThat(buffer.drain(drained::add, 3)).isEqualTo(3);
+            buffer.drain(drained::add, 2);
+        }
+
+        assertThat(drained).hasSize(500);
+        for (int i = 0; i < drained.size(); i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void drainOfAnEmptyBufferDeliversNothing() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(2);
+        assertThat(buffer.drain(element -> { throw new AssertionError(element); }, 10)).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        // Cheia: tenta de novo, o consumidor abaixo está esvaziando
+                        while (!buffer.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long[] expectedNext = new long[producers];
+            int received = 0;
+            start.countDown();
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (received < producers * perProducer) {
+                assertThat(System.nanoTime()).as("producers did not finish in time").isLessThan(deadline);
+                received += buffer.drain(element -> {
+                    int producer = (int) element[0];
+                    assertThat(element[1]).isEqualTo(expectedNext[producer]);
+                    expectedNext[producer]++;
+                }, 32);
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertThat(expectedNext).containsOnly((long) perProducer);
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.musicstore.bluevelvet.infrastructure.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameMembershipTableTest {
+
+    @Test
+    void asciiNamesIgnoreCaseButKeepTrailingSpaces() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+        table.add("Rock");
+
+        assertThat(table.mightContain("rock")).isTrue();
+        assertThat(table.mightContain("ROCK")).isTrue();
+        // NO PAD: espaços nas pontas contam para a unique constraint
+        assertThat(table.mightContain("Rock ")).isFalse();
+        assertThat(table.mightContain(" Rock")).isFalse();
+        assertThat(table.mightContain("Jazz")).isFalse();
+    }
+
+    @Test
+    void nonAsciiQueriesAlwaysGoToTheDatabase() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+
+        assertThat(table.mightContain("Straße")).isTrue();
+        assertThat(table.mightContain("Café")).isTrue();
+        assertThat(table.mightContain("Rock\t")).isTrue();
+        assertThat(table.mightContain("Rock")).isFalse();
+    }
+
+    @Test
+    void storedNamesMatchTheirAsciiEquivalents() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+        table.add("Straße");
+        table.add("Æther");
+        table.add("Œuvre");
+        table.add("Café");
+        table.add("ﬁlm");
+        table.add("Ｒｏｃｋ");
+
+        assertThat(table.mightContain("strasse")).isTrue();
+        assertThat(table.mightContain("AETHER")).isTrue();
+        assertThat(table.mightContain("oeuvre")).isTrue();
+        assertThat(table.mightContain("cafe")).isTrue();
+        assertThat(table.mightContain("Film")).isTrue();
+        assertThat(table.mightContain("rock")).isTrue();
+        assertThat(table.mightContain("strase")).isFalse();
+        assertThat(table.uncertainNames()).isZero();
+    }
+
+    @Test
+    void asciiKeyFoldsCaseAccentsLigaturesAndExpansions() {
+        assertThat(NameMembershipTable.asciiKey("Rock ")).isEqualTo("rock ");
+        assertThat(NameMembershipTable.asciiKey("Ação")).isEqualTo("acao");
+        assertThat(NameMembershipTable.asciiKey("STRASSE")).isEqualTo("strasse");
+        assertThat(NameMembershipTable.asciiKey("Straße")).isEqualTo("strasse");
+        assertThat(NameMembershipTable.asciiKey("Søren")).isEqualTo("soren");
+        assertThat(NameMembershipTable.asciiKey("Łódź")).isEqualTo("lodz");
+    }
+
+    @Test
+    void namesInOtherScriptsNeverMatchAsciiQueries() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+        table.add("Рок");
+        table.add("ロック");
+
+        assertThat(table.uncertainNames()).isZero();
+        assertThat(table.mightContain("Rok")).isFalse();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void unfoldableLatinNamesTurnEveryAnswerIntoMaybe() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+        table.add("Rock");
+        assertThat(table.mightContain("Jazz")).isFalse();
+
+        // ı (i sem ponto) e controles ASCII: a tabela não sabe o que o MySQL iguala a eles
+        table.add("Kırmızı");
+        table.add("Blues\t");
+
+        assertThat(table.uncertainNames()).isEqualTo(2);
+        assertThat(table.mightContain("Jazz")).isTrue();
+        assertThat(table.copyWithCapacity(32).mightContain("Jazz")).isTrue();
+    }
+
+    @Test
+    void fullTableRejectsNewNamesUntilCopiedToALargerOne() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+        for (int i = 0; i < 16; i++) {
+            assertThat(table.add("Category " + i)).isTrue();
+        }
+
+        assertThat(table.add("Category 16")).isFalse();
+        assertThat(table.mightContain("Category 16")).isFalse();
+        // Já incluído: não precisa de slot novo
+        assertThat(table.add("category 3")).isTrue();
+        assertThat(table.size()).isEqualTo(16);
+
+        NameMembershipTable grown = table.copyWithCapacity(32);
+        assertThat(grown.maxSize()).isEqualTo(32);
+        assertThat(grown.size()).isEqualTo(16);
+        for (int i = 0; i < 16; i++) {
+            assertThat(grown.mightContain("Category " + i)).isTrue();
+        }
+        assertThat(grown.add("Category 16")).isTrue();
+        assertThat(grown.mightContain("Category 16")).isTrue();
+        // A original segue intacta para quem ainda a lê
+        assertThat(table.mightContain("Category 16")).isFalse();
+    }
+
+    @Test
+    void collidingFingerprintsProbeLinearlyAcrossTheEndOfTheTable() {
+        NameMembershipTable table = NameMembershipTable.withCapacity(16);
+        // 32 slots: os quatro caem no último slot (índice = parte baixa ^ parte alta)
+        long first = 31L;
+        long second = (1L << 32) | 30L;
+        long third = (2L << 32) | 29L;
+        long absent = (3L << 32) | 28L;
+
+        assertThat(table.add(first)).isTrue();
+        assertThat(table.add(second)).isTrue();
+        assertThat(table.add(third)).isTrue();
+        assertThat(table.add(second)).isTrue();
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.mightContain(first)).isTrue();
+        assertThat(table.mightContain(second)).isTrue();
+        assertThat(table.mightContain(third)).isTrue();
+        assertThat(table.mightContain(absent)).isFalse();
+
+        NameMembershipTable copy = table.copyWithCapacity(64);
+        assertThat(copy.mightContain(third)).isTrue();
+        assertThat(copy.mightContain(absent)).isFalse();
+    }
+
+    @Test
+    void fingerprintIgnoresAsciiCaseOnly() {
+        assertThat(NameMembershipTable.fingerprint("Rock")).isEqualTo(NameMembershipTable.fingerprint("rOCK"));
+        assertThat(NameMembershipTable.fingerprint("Rock")).isNotEqualTo(NameMembershipTable.fingerprint("Rock "));
+        assertThat(NameMembershipTable.fingerprint("")).isNotZero();
+    }
+}
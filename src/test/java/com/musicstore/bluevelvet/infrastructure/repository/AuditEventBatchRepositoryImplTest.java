@@ -0,0 +1,90 @@
+package com.musicstore.bluevelvet.infrastructure.repository;
+
+import com.musicstore.bluevelvet.domain.enums.AuditEventType;
+import com.musicstore.bluevelvet.domain.enums.AuditSubjectType;
+import com.musicstore.bluevelvet.infrastructure.entity.AuditEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditEventBatchRepositoryImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditEventBatchRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table audit_event (
+                    id bigint primary key,
+                    occurred_at timestamp(6) not null,
+                    type varchar(40) not null,
+                    actor varchar(255),
+                    subject_type varchar(20),
+                    subject_id bigint,
+                    summary varchar(500),
+                    client_ip varchar(45),
+                    trace_id varchar(32)
+                )
+                """);
+        repository = new AuditEventBatchRepositoryImpl(dataSource, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void insertsTheWholeBatch() {
+        repository.insertBatch(List.of(event(1, "admin@bluevelvet.com", 10L), event(2, null, null)));
+
+        assertThat(ids()).containsExactly(1L, 2L);
+        assertThat(jdbcTemplate.queryForObject("select actor from audit_event where id = 1", String.class))
+                .isEqualTo("admin@bluevelvet.com");
+        assertThat(jdbcTemplate.queryForObject("select subject_id from audit_event where id = 2", Long.class))
+                .isNull();
+    }
+
+    @Test
+    void replayOfAPartiallyWrittenBatchSkipsTheRowsAlreadyStored() {
+        // Lote gravado em parte antes da queda; o reenvio do spool traz tudo de novo
+        repository.insertBatch(List.of(event(1, null, 10L), event(3, null, 30L)));
+
+        repository.insertBatch(List.of(event(1, null, 10L), event(2, null, 20L), event(3, null, 30L),
+                event(4, null, 40L)));
+
+        assertThat(ids()).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void replayingTheSameBatchTwiceIsANoOp() {
+        List<AuditEvent> batch = List.of(event(1, null, 10L), event(2, null, 20L));
+
+        repository.insertBatch(batch);
+        repository.insertBatch(batch);
+
+        assertThat(ids()).containsExactly(1L, 2L);
+    }
+
+    private List<Long> ids() {
+        return jdbcTemplate.queryForList("select id from audit_event order by id", Long.class);
+    }
+
+    private static AuditEvent event(long id, String actor, Long subjectId) {
+        return AuditEvent.builder()
+                .id(id)
+                .occurredAt(Instant.now())
+                .type(AuditEventType.CATEGORY_UPDATED)
+                .actor(actor)
+                .subjectType(subjectId != null ? AuditSubjectType.CATEGORY : null)
+                .subjectId(subjectId)
+                .build();
+    }
+}
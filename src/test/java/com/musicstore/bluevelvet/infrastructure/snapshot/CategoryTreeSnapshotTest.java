@@ -0,0 +1,111 @@
+package com.musicstore.bluevelvet.infrastructure.snapshot;
+
+import com.musicstore.bluevelvet.infrastructure.entity.Category;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CategoryTreeSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeThenOpenReturnsEveryField() throws IOException {
+        Instant updatedAt = Instant.parse("2026-03-01T10:15:30.123456789Z");
+        Category root = Category.builder()
+                .id(1L).name("Instrumentos").enabled(true).effectivelyEnabled(true)
+                .version(3L).changeSeq(40L).updatedAt(updatedAt)
+                .childCount(1).descendantCount(1).enabledDescendantCount(0)
+                .productCount(2).subtreeProductCount(7)
+                .image("a.png").imageVariants("small=a-small.png;medium=a-medium.png")
+                .build();
+        Category child = Category.builder()
+                .id(2L).name("Órgãos e acordeões").parent(root).enabled(false).effectivelyEnabled(false)
+                .build();
+        Path file = directory.resolve("tree.bin");
+
+        CategoryTreeSnapshot.write(file, 41, List.of(root, child));
+        CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.open(file);
+
+        assertThat(snapshot.catalogVersion()).isEqualTo(41);
+        assertThat(snapshot.size()).isEqualTo(2);
+
+        assertThat(snapshot.id(0)).isEqualTo(1);
+        assertThat(snapshot.parentId(0)).isNull();
+        assertThat(snapshot.parentIndex(0)).isEqualTo(-1);
+        assertThat(snapshot.name(0)).isEqualTo("Instrumentos");
+        assertThat(snapshot.image(0)).isEqualTo("a.png");
+        assertThat(snapshot.imageVariants(0)).isEqualTo("small=a-small.png;medium=a-medium.png");
+        assertThat(snapshot.enabled(0)).isTrue();
+        assertThat(snapshot.effectivelyEnabled(0)).isTrue();
+        assertThat(snapshot.version(0)).isEqualTo(3);
+        assertThat(snapshot.changeSeq(0)).isEqualTo(40);
+        assertThat(snapshot.updatedAt(0)).isEqualTo(updatedAt);
+        assertThat(snapshot.childCount(0)).isEqualTo(1);
+        assertThat(snapshot.descendantCount(0)).isEqualTo(1);
+        assertThat(snapshot.enabledDescendantCount(0)).isZero();
+        assertThat(snapshot.productCount(0)).isEqualTo(2);
+        assertThat(snapshot.subtreeProductCount(0)).isEqualTo(7);
+
+        assertThat(snapshot.id(1)).isEqualTo(2);
+        assertThat(snapshot.parentId(1)).isEqualTo(1);
+        assertThat(snapshot.parentIndex(1)).isZero();
+        assertThat(snapshot.name(1)).isEqualTo("Órgãos e acordeões");
+        assertThat(snapshot.image(1)).isNull();
+        assertThat(snapshot.imageVariants(1)).isNull();
+        assertThat(snapshot.updatedAt(1)).isNull();
+        assertThat(snapshot.enabled(1)).isFalse();
+        assertThat(snapshot.effectivelyEnabled(1)).isFalse();
+        assertThat(snapshot.version(1)).isZero();
+    }
+
+    @Test
+    void rewriteReplacesTheFileWithoutTouchingOpenReaders() throws IOException {
+        Path file = directory.resolve("tree.bin");
+        CategoryTreeSnapshot.write(file, 1, List.of(Category.builder().id(1L).name("Old").build()));
+        CategoryTreeSnapshot previous = CategoryTreeSnapshot.open(file);
+
+        CategoryTreeSnapshot.write(file, 2, List.of(Category.builder().id(1L).name("New").build()));
+
+        assertThat(previous.name(0)).isEqualTo("Old");
+        assertThat(CategoryTreeSnapshot.open(file).name(0)).isEqualTo("New");
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void emptyCatalogRoundTrips() throws IOException {
+        Path file = directory.resolve("tree.bin");
+        CategoryTreeSnapshot.write(file, 0, List.of());
+
+        assertThat(CategoryTreeSnapshot.open(file).size()).isZero();
+    }
+
+    @Test
+    void rejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = Files.write(directory.resolve("foreign.bin"), new byte[64]);
+        assertThatThrownBy(() -> CategoryTreeSnapshot.open(foreign))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a category snapshot");
+
+        Path file = directory.resolve("tree.bin");
+        CategoryTreeSnapshot.write(file, 1, List.of(Category.builder().id(1L).name("Truncated").build()));
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = Files.write(directory.resolve("truncated.bin"), Arrays.copyOf(bytes, 40));
+
+        assertThatThrownBy(() -> CategoryTreeSnapshot.open(truncated))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+    }
+}
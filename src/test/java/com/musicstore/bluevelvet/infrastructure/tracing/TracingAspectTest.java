@@ -0,0 +1,52 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import com.musicstore.bluevelvet.domain.event.CategoryChangeEvent;
+import com.musicstore.bluevelvet.domain.service.AuditLogService;
+import com.musicstore.bluevelvet.domain.service.CategoryNameIndex;
+import com.musicstore.bluevelvet.domain.service.CategoryService;
+import com.musicstore.bluevelvet.domain.service.CategorySnapshotService;
+import com.musicstore.bluevelvet.domain.service.DatabaseCircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingAspectTest {
+
+    private final AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+
+    {
+        pointcut.setExpression(TracingAspect.SERVICE_METHODS);
+    }
+
+    @Test
+    void tracesRequestWorkInServices() {
+        assertThat(matches(CategoryService.class, "findById", Long.class)).isTrue();
+        assertThat(matches(AuditLogService.class, "getStats")).isTrue();
+    }
+
+    @Test
+    void skipsLifecycleCallbacks() {
+        assertThat(matches(AuditLogService.class, "isRunning")).isFalse();
+        assertThat(matches(AuditLogService.class, "getPhase")).isFalse();
+        assertThat(matches(AuditLogService.class, "start")).isFalse();
+        assertThat(matches(AuditLogService.class, "stop")).isFalse();
+    }
+
+    @Test
+    void skipsEventListenersAndInMemoryHelpers() {
+        assertThat(matches(CategorySnapshotService.class, "onCategoryChanged", CategoryChangeEvent.class)).isFalse();
+        assertThat(matches(AuditLogService.class, "onCategoryChanged", CategoryChangeEvent.class)).isFalse();
+        assertThat(matches(CategoryNameIndex.class, "mightExist", String.class)).isFalse();
+        assertThat(matches(DatabaseCircuitBreaker.class, "allowRequest")).isFalse();
+    }
+
+    private boolean matches(Class<?> type, String name, Class<?>... parameterTypes) {
+        Method method = ReflectionUtils.findMethod(type, name, parameterTypes);
+        assertThat(method).as("%s.%s", type.getSimpleName(), name).isNotNull();
+        return pointcut.matches(method, type);
+    }
+}
@@ -0,0 +1,17 @@
+package com.musicstore.bluevelvet.infrastructure.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingFilterTest {
+
+    @Test
+    void queryKeepsParameterNamesOnly() {
+        assertThat(TracingFilter.redactQuery("name=guitar&email=ana%40example.com&flag"))
+                .isEqualTo("name=*&email=*&flag");
+        assertThat(TracingFilter.redactQuery("page=")).isEqualTo("page=*");
+        assertThat(TracingFilter.redactQuery(null)).isNull();
+        assertThat(TracingFilter.redactQuery("")).isNull();
+    }
+}
@@ -0,0 +1,85 @@
+package com.musicstore.bluevelvet.infrastructure.web;
+
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import com.musicstore.bluevelvet.domain.service.DatabaseCircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionInterceptorTest {
+
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private final DatabaseCircuitBreaker circuitBreaker = mock(DatabaseCircuitBreaker.class);
+    private final CatalogVersionInterceptor interceptor =
+            new CatalogVersionInterceptor(categorySyncService, circuitBreaker);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void firstRequestGetsTheCatalogVersionAsETag() {
+        when(categorySyncService.latestChangeSeq()).thenReturn(12L);
+
+        assertThat(interceptor.preHandle(get(null), response, null)).isTrue();
+
+        assertThat(response.getHeader("ETag")).isEqualTo("W/\"catalog-12\"");
+        assertThat(response.getHeader(CatalogVersionInterceptor.VERSION_HEADER)).isEqualTo("12");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-cache");
+    }
+
+    @Test
+    void unchangedCatalogAnswers304WithoutRunningTheListing() {
+        when(categorySyncService.latestChangeSeq()).thenReturn(12L);
+
+        assertThat(interceptor.preHandle(get("W/\"catalog-12\""), response, null)).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void newerCatalogServesTheListingAgain() {
+        when(categorySyncService.latestChangeSeq()).thenReturn(13L);
+
+        assertThat(interceptor.preHandle(get("W/\"catalog-12\""), response, null)).isTrue();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo("W/\"catalog-13\"");
+    }
+
+    @Test
+    void noETagWhenTheDatabaseIsUnavailable() {
+        when(circuitBreaker.isOpen()).thenReturn(true);
+
+        assertThat(interceptor.preHandle(get("W/\"catalog-12\""), response, null)).isTrue();
+        verify(categorySyncService, never()).latestChangeSeq();
+
+        when(circuitBreaker.isOpen()).thenReturn(false);
+        when(categorySyncService.latestChangeSeq()).thenThrow(new DataAccessResourceFailureException("down"));
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(get("W/\"catalog-12\""), failed, null)).isTrue();
+        assertThat(failed.getHeader("ETag")).isNull();
+    }
+
+    @Test
+    void writesAreNotTouched() {
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/categories"), response, null))
+                .isTrue();
+
+        verify(categorySyncService, never()).latestChangeSeq();
+        assertThat(response.getHeader("ETag")).isNull();
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+}
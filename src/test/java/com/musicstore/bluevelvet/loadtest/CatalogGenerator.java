@@ -0,0 +1,82 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera um catálogo sintético (largura, profundidade e tamanho configuráveis)
+ * direto via JDBC em lotes; contadores, path e estado efetivo são preenchidos
+ * depois pelo CategoryCounterRepairService, como acontece com o data.sql.
+ */
+@Log4j2
+class CatalogGenerator {
+
+    static final String[] WORDS = {
+            "Rock", "Jazz", "Blues", "Vinyl", "Guitar", "Drums", "Classical", "Pop",
+            "Metal", "Indie", "Soul", "Piano", "Books", "Posters", "Merch", "Audio"
+    };
+
+    private static final String INSERT_SQL =
+            "INSERT INTO category (id, name, image, enabled, parent_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CatalogGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Árvore em largura: raízes primeiro, depois cada nível completo, então
+     * todo pai é inserido antes dos filhos.
+     *
+     * @return ids gerados
+     */
+    List<Long> generate(LoadTestSettings settings) {
+        Random random = new Random(settings.seed());
+        int depth = Math.max(1, settings.catalogDepth());
+        int roots = Math.min(settings.catalogRoots(), settings.catalogSize());
+        int branching = depth == 1 ? 0 : Math.max(1, (int) Math.ceil(
+                Math.pow((double) settings.catalogSize() / roots, 1.0 / (depth - 1))));
+
+        // {id, parentId (0 = raiz), nível}
+        List<long[]> nodes = new ArrayList<>(settings.catalogSize());
+        for (int i = 0; i < roots; i++) {
+            nodes.add(new long[]{nodes.size() + 1, 0, 0});
+        }
+        for (int cursor = 0; cursor < nodes.size() && nodes.size() < settings.catalogSize(); cursor++) {
+            long[] parent = nodes.get(cursor);
+            if (parent[2] >= depth - 1) {
+                break;
+            }
+            for (int child = 0; child < branching && nodes.size() < settings.catalogSize(); child++) {
+                nodes.add(new long[]{nodes.size() + 1, parent[0], parent[2] + 1});
+            }
+        }
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        List<Long> ids = new ArrayList<>(nodes.size());
+        for (long[] node : nodes) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + node[0];
+            boolean enabled = random.nextDouble() >= settings.disabledRatio();
+            batch.add(new Object[]{node[0], name, "category-" + node[0] + ".jpg", enabled,
+                    node[1] == 0 ? null : node[1]});
+            ids.add(node[0]);
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+
+        log.info("Catalog generated: {} categories ({} roots, depth {}, branching {})",
+                nodes.size(), roots, depth, branching);
+        return ids;
+    }
+}
@@ -0,0 +1,142 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import com.musicstore.bluevelvet.domain.service.CategoryCounterRepairService;
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suíte de carga ponta a ponta do CategoryController (fora do build padrão):
+ *
+ * <pre>
+ * mvn -Pload-test verify
+ * mvn -Pload-test verify -Dloadtest.catalog.size=50000 -Dloadtest.base-rate=200 -Dloadtest.stages=6
+ * </pre>
+ *
+ * Sobe a aplicação com H2 em modo MySQL, gera o catálogo, aquece e então roda
+ * estágios com taxa de chegada crescente (baseRate × rateMultiplier^n) até
+ * violar o SLO. O relatório fica em target/load-test/report.{json,html}.
+ */
+@Log4j2
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CategoryLoadTest {
+
+    private static final String EMAIL = "loadtest@bluevelvet.com";
+    private static final String PASSWORD = "loadtest-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryCounterRepairService counterRepairService;
+
+    @Autowired
+    private CategorySyncService categorySyncService;
+
+    @Test
+    void findSaturationPoint() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        String baseUrl = "http://localhost:" + port;
+
+        List<Long> categoryIds = new CatalogGenerator(jdbcTemplate).generate(settings);
+        counterRepairService.recomputeCounters();
+        categorySyncService.stampUnsequencedCategories();
+        registerUser(baseUrl);
+
+        Workload workload = new Workload(baseUrl, categoryIds, categorySyncService.latestChangeSeq(), EMAIL, PASSWORD);
+        LoadTestReport report = new LoadTestReport(settings, categoryIds.size());
+
+        runStages(workload, settings, report);
+
+        Path output = Path.of("target", "load-test");
+        report.write(output);
+        log.info("Saturation point: {} req/s, report written to {}", report.saturationRate(), output.toAbsolutePath());
+
+        assertThat(report.stages()).isNotEmpty();
+        assertThat(output.resolve("report.json")).exists();
+        assertThat(output.resolve("report.html")).exists();
+    }
+
+    /**
+     * Aquecimento e estágios com taxa crescente até o primeiro que viola o SLO.
+     */
+    static void runStages(Workload workload, LoadTestSettings settings, LoadTestReport report) throws Exception {
+        try (OpenModelDriver driver = new OpenModelDriver(workload, settings.maxInFlight(), settings.seed())) {
+            log.info("Warming up for {} s at {} req/s", settings.warmup().toSeconds(), settings.baseRate());
+            driver.run(settings.baseRate(), settings.warmup(), new LatencyRecorder());
+
+            double rate = settings.baseRate();
+            for (int stage = 0; stage < settings.stages(); stage++, rate *= settings.rateMultiplier()) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                long start = System.nanoTime();
+                driver.run(rate, settings.stageDuration(), recorder);
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+                Map<String, LoadTestReport.OperationStats> operations = recorder.summarize(elapsedSeconds);
+                String reason = saturationReason(settings, rate, operations.get(LoadTestReport.ALL_OPERATIONS));
+                report.add(new LoadTestReport.StageResult(rate, elapsedSeconds, reason != null, reason, operations));
+
+                LoadTestReport.OperationStats all = operations.get(LoadTestReport.ALL_OPERATIONS);
+                log.info(String.format(Locale.ROOT, "Stage %.1f req/s: %.1f req/s achieved, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, errors %.2f%%",
+                        rate, all.throughput(), all.p50Millis(), all.p95Millis(), all.p99Millis(), all.errorRate() * 100));
+
+                if (reason != null) {
+                    log.info("Saturated at {} req/s: {}", rate, reason);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return motivo da saturação, ou null se o estágio atendeu os SLOs
+     */
+    private static String saturationReason(LoadTestSettings settings, double targetRate,
+                                           LoadTestReport.OperationStats all) {
+        if (all.p99Millis() > settings.sloP99Millis()) {
+            return String.format(Locale.ROOT, "p99 %.1f ms above %.0f ms", all.p99Millis(), settings.sloP99Millis());
+        }
+        if (all.errorRate() > settings.maxErrorRate()) {
+            return String.format(Locale.ROOT, "error rate %.2f%% above %.2f%%",
+                    all.errorRate() * 100, settings.maxErrorRate() * 100);
+        }
+        if (all.throughput() < targetRate * 0.9) {
+            return String.format(Locale.ROOT, "throughput %.1f req/s below 90%% of target", all.throughput());
+        }
+        return null;
+    }
+
+    private static void registerUser(String baseUrl) throws Exception {
+        String body = """
+                {"email":"%s","password":"%s","confirmPassword":"%s","role":"ADMINISTRATOR"}
+                """.formatted(EMAIL, PASSWORD, PASSWORD);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).as("register load test user: %s", response.body()).isEqualTo(201);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latências (µs) e erros por operação de um estágio.
+ * As amostras são guardadas inteiras: os percentis saem exatos no relatório.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByOperation = new ConcurrentHashMap<>();
+
+    void record(String operation, long latencyMicros, boolean error) {
+        samplesByOperation.computeIfAbsent(operation, name -> new Samples()).add(latencyMicros, error);
+    }
+
+    Map<String, LoadTestReport.OperationStats> summarize(double durationSeconds) {
+        Map<String, LoadTestReport.OperationStats> stats = new TreeMap<>();
+        Samples all = new Samples();
+        samplesByOperation.forEach((operation, samples) -> {
+            stats.put(operation, samples.summarize(durationSeconds));
+            all.addAll(samples);
+        });
+        stats.put(LoadTestReport.ALL_OPERATIONS, all.summarize(durationSeconds));
+        return stats;
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long latencyMicros, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyMicros;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Samples other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    add(other.latencies[i], false);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized LoadTestReport.OperationStats summarize(double durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new LoadTestReport.OperationStats(
+                    count,
+                    errors,
+                    count == 0 ? 0 : (double) errors / count,
+                    count / durationSeconds,
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.95),
+                    percentileMillis(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0
+            );
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyRecorderTest {
+
+    @Test
+    void percentilesAreExactOverAllSamples() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        // 1..2000 ms: passa do array inicial de 1024 amostras
+        for (int millis = 2000; millis >= 1; millis--) {
+            recorder.record("list", millis * 1000L, millis % 100 == 0);
+        }
+
+        LoadTestReport.OperationStats stats = recorder.summarize(10).get("list");
+
+        assertThat(stats.requests()).isEqualTo(2000);
+        assertThat(stats.errors()).isEqualTo(20);
+        assertThat(stats.errorRate()).isCloseTo(0.01, within(1e-9));
+        assertThat(stats.throughput()).isCloseTo(200, within(1e-9));
+        assertThat(stats.p50Millis()).isEqualTo(1000);
+        assertThat(stats.p95Millis()).isEqualTo(1900);
+        assertThat(stats.p99Millis()).isEqualTo(1980);
+        assertThat(stats.maxMillis()).isEqualTo(2000);
+    }
+
+    @Test
+    void allOperationsAggregatesEveryOperation() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("get", 1_000, false);
+        recorder.record("get", 3_000, true);
+        recorder.record("patch", 2_000, true);
+
+        Map<String, LoadTestReport.OperationStats> stats = recorder.summarize(1);
+
+        assertThat(stats).containsOnlyKeys("get", "patch", LoadTestReport.ALL_OPERATIONS);
+        LoadTestReport.OperationStats all = stats.get(LoadTestReport.ALL_OPERATIONS);
+        assertThat(all.requests()).isEqualTo(3);
+        assertThat(all.errors()).isEqualTo(2);
+        assertThat(all.p50Millis()).isEqualTo(2);
+        assertThat(all.maxMillis()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyStageSummarizesToZeros() {
+        LoadTestReport.OperationStats all = new LatencyRecorder().summarize(1).get(LoadTestReport.ALL_OPERATIONS);
+
+        assertThat(all.requests()).isZero();
+        assertThat(all.errorRate()).isZero();
+        assertThat(all.p99Millis()).isZero();
+    }
+
+    @Test
+    void concurrentRecordingKeepsEverySample() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 5_000; i++) {
+                    recorder.record("get", i, false);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(recorder.summarize(1).get("get").requests()).isEqualTo(40_000);
+    }
+}
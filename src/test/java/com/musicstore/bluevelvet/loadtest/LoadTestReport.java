@@ -0,0 +1,124 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado da suíte: um estágio por taxa de chegada, com vazão e
+ * p50/p95/p99 por endpoint. Gravado em target/load-test como JSON e HTML.
+ */
+class LoadTestReport {
+
+    static final String ALL_OPERATIONS = "ALL";
+
+    record OperationStats(long requests, long errors, double errorRate, double throughput,
+                          double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    record StageResult(double targetRate, double durationSeconds, boolean saturated, String reason,
+                       Map<String, OperationStats> operations) {
+    }
+
+    private final LoadTestSettings settings;
+    private final int catalogSize;
+    private final String startedAt = Instant.now().toString();
+    private final List<StageResult> stages = new ArrayList<>();
+
+    LoadTestReport(LoadTestSettings settings, int catalogSize) {
+        this.settings = settings;
+        this.catalogSize = catalogSize;
+    }
+
+    void add(StageResult stage) {
+        stages.add(stage);
+    }
+
+    List<StageResult> stages() {
+        return stages;
+    }
+
+    /**
+     * Maior taxa em que os SLOs ainda foram atendidos (0 se nenhuma).
+     */
+    double saturationRate() {
+        return stages.stream()
+                .filter(stage -> !stage.saturated())
+                .mapToDouble(StageResult::targetRate)
+                .max()
+                .orElse(0);
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        ObjectMapper mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.writeValue(directory.resolve("report.json").toFile(), Map.of(
+                "startedAt", startedAt,
+                "settings", settings,
+                "catalogSize", catalogSize,
+                "saturationRate", saturationRate(),
+                "stages", stages
+        ));
+
+        Files.writeString(directory.resolve("report.html"), html());
+    }
+
+    private String html() {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                <meta charset="UTF-8">
+                <title>Blue Velvet load test</title>
+                <style>
+                body { font-family: sans-serif; margin: 2rem; color: #222; }
+                table { border-collapse: collapse; margin-bottom: 2rem; }
+                th, td { border: 1px solid #ccc; padding: 4px 10px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                tr.all { font-weight: bold; background: #f3f3f3; }
+                .saturated { color: #b00020; }
+                </style>
+                </head>
+                <body>
+                """);
+
+        html.append("<h1>Blue Velvet load test</h1>\n")
+                .append(String.format(Locale.ROOT,
+                        "<p>Started at %s &middot; catalog of %d categories (%d roots, depth %d) &middot; SLO p99 &le; %.0f ms, errors &le; %.1f%%</p>%n",
+                        startedAt, catalogSize, settings.catalogRoots(), settings.catalogDepth(),
+                        settings.sloP99Millis(), settings.maxErrorRate() * 100))
+                .append(String.format(Locale.ROOT, "<h2>Saturation point: %.1f req/s</h2>%n", saturationRate()));
+
+        for (StageResult stage : stages) {
+            html.append(String.format(Locale.ROOT, "<h3%s>%.1f req/s for %.0f s%s</h3>%n",
+                    stage.saturated() ? " class=\"saturated\"" : "",
+                    stage.targetRate(), stage.durationSeconds(),
+                    stage.saturated() ? " &mdash; saturated: " + escape(stage.reason()) : ""));
+            html.append("<table>\n<tr><th>Endpoint</th><th>Requests</th><th>Errors</th><th>Throughput (req/s)</th>"
+                    + "<th>p50 (ms)</th><th>p95 (ms)</th><th>p99 (ms)</th><th>Max (ms)</th></tr>\n");
+            stage.operations().forEach((operation, stats) -> html.append(String.format(Locale.ROOT,
+                    "<tr%s><td>%s</td><td>%d</td><td>%d</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td><td>%.1f</td></tr>%n",
+                    ALL_OPERATIONS.equals(operation) ? " class=\"all\"" : "", escape(operation),
+                    stats.requests(), stats.errors(), stats.throughput(),
+                    stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis())));
+            html.append("</table>\n");
+        }
+
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
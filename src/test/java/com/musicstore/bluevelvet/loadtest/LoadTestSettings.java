@@ -0,0 +1,47 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros da suíte de carga, lidos de system properties
+ * (ex.: mvn -Pload-test verify -Dloadtest.catalog.size=20000 -Dloadtest.base-rate=100).
+ */
+record LoadTestSettings(
+        int catalogRoots,
+        int catalogDepth,
+        int catalogSize,
+        double disabledRatio,
+        double baseRate,
+        double rateMultiplier,
+        int stages,
+        Duration warmup,
+        Duration stageDuration,
+        double sloP99Millis,
+        double maxErrorRate,
+        int maxInFlight,
+        long seed
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.catalog.roots", 20),
+                Integer.getInteger("loadtest.catalog.depth", 4),
+                Integer.getInteger("loadtest.catalog.size", 5000),
+                doubleProperty("loadtest.catalog.disabled-ratio", 0.1),
+                doubleProperty("loadtest.base-rate", 50),
+                doubleProperty("loadtest.rate-multiplier", 2),
+                Integer.getInteger("loadtest.stages", 5),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.stage-seconds", 30)),
+                doubleProperty("loadtest.slo.p99-ms", 500),
+                doubleProperty("loadtest.slo.max-error-rate", 0.01),
+                Integer.getInteger("loadtest.max-in-flight", 5000),
+                Long.getLong("loadtest.seed", 42L)
+        );
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null && !value.isBlank() ? Double.parseDouble(value) : defaultValue;
+    }
+}
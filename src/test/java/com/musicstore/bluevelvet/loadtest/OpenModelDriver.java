@@ -0,0 +1,91 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Modelo aberto: as requisições saem numa taxa fixa, independente de quantas
+ * ainda estão pendentes. A latência é medida a partir do instante em que a
+ * requisição deveria ter saído, então atrasos do próprio gerador não escondem
+ * a fila do servidor (coordinated omission).
+ */
+@Log4j2
+class OpenModelDriver implements AutoCloseable {
+
+    static final String DROPPED = "dropped (client in-flight limit)";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(executor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Workload workload;
+    private final int maxInFlight;
+    private final Random random;
+
+    OpenModelDriver(Workload workload, int maxInFlight, long seed) {
+        this.workload = workload;
+        this.maxInFlight = maxInFlight;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Dispara requisições a ratePerSecond durante duration e espera as pendentes.
+     */
+    void run(double ratePerSecond, Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        for (long intended = start; intended < end; intended += periodNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Workload.Operation operation = workload.pick(random);
+            if (inFlight.get() >= maxInFlight) {
+                recorder.record(DROPPED, 0, true);
+                continue;
+            }
+
+            HttpRequest request = operation.request().apply(random);
+            long intendedStart = intended;
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                        boolean failed = error != null || response.statusCode() >= 500
+                                || (response.statusCode() >= 400 && response.statusCode() != 409);
+                        recorder.record(operation.name(), latencyMicros, failed);
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still in flight after the stage ended", inFlight.get());
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,86 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import com.musicstore.bluevelvet.domain.service.CategoryCounterRepairService;
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import com.musicstore.bluevelvet.infrastructure.reactive.ReactiveReadServer;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comparação das leituras públicas: CategoryController (Tomcat, JDBC) contra
+ * ReactiveCategoryHandler (Netty, R2DBC), com o mesmo catálogo, a mesma
+ * mistura de requisições e os mesmos estágios da CategoryLoadTest:
+ *
+ * <pre>
+ * mvn -Pload-test verify -Dtest=ReactiveReadLoadTest -Dloadtest.base-rate=200
+ * </pre>
+ *
+ * Um relatório por API em target/load-test/public-reads-{mvc,reactive}.
+ * Banco em memória próprio: o catálogo não colide com o da CategoryLoadTest.
+ */
+@Log4j2
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bluevelvet-reactive-loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "bluevelvet.reactive.r2dbc.url=r2dbc:h2:mem:///bluevelvet-reactive-loadtest?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        // Leitura do banco nas duas APIs: o snapshot mapeado esconderia a diferença
+        "bluevelvet.category.snapshot.enabled=false"
+})
+class ReactiveReadLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryCounterRepairService counterRepairService;
+
+    @Autowired
+    private CategorySyncService categorySyncService;
+
+    @Test
+    void compareBlockingAndReactiveReads() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        List<Long> categoryIds = new CatalogGenerator(jdbcTemplate).generate(settings);
+        counterRepairService.recomputeCounters();
+        categorySyncService.stampUnsequencedCategories();
+
+        LoadTestReport mvc = run("mvc", "http://localhost:" + port, settings, categoryIds.size());
+        LoadTestReport reactive = run("reactive", "http://localhost:" + reactiveReadServer.getPort(),
+                settings, categoryIds.size());
+
+        log.info("Public reads saturation point: Spring MVC {} req/s, WebFlux + R2DBC {} req/s",
+                mvc.saturationRate(), reactive.saturationRate());
+
+        assertThat(mvc.stages()).isNotEmpty();
+        assertThat(reactive.stages()).isNotEmpty();
+    }
+
+    private static LoadTestReport run(String api, String baseUrl, LoadTestSettings settings,
+                                      int catalogSize) throws Exception {
+        log.info("Public reads against {} ({})", api, baseUrl);
+        LoadTestReport report = new LoadTestReport(settings, catalogSize);
+        CategoryLoadTest.runStages(Workload.publicReads(baseUrl), settings, report);
+
+        Path output = Path.of("target", "load-test", "public-reads-" + api);
+        report.write(output);
+        assertThat(output.resolve("report.json")).exists();
+        return report;
+    }
+}
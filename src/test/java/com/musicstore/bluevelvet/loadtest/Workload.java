@@ -0,0 +1,121 @@
+package com.musicstore.bluevelvet.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Mistura de operações disparadas pelo OpenModelDriver: cada operação recebe
+ * uma fração fixa da taxa de chegada do estágio.
+ */
+class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    record Operation(String name, double share, Function<Random, HttpRequest> request) {
+    }
+
+    private final String baseUrl;
+    private final List<Long> categoryIds;
+    private final String loginBody;
+    private final List<Operation> operations;
+
+    /**
+     * @param syncSeq cursor usado pelo changes-since (sequência logo após semear o catálogo)
+     */
+    Workload(String baseUrl, List<Long> categoryIds, long syncSeq, String email, String password) {
+        this.baseUrl = baseUrl;
+        this.categoryIds = categoryIds;
+        this.loginBody = "{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, password);
+        this.operations = List.of(
+                new Operation("GET /api/categories", 0.25,
+                        random -> get("/api/categories?page=" + random.nextInt(20) + "&size=10")),
+                new Operation("GET /api/categories/{id}", 0.20,
+                        random -> get("/api/categories/" + randomId(random))),
+                new Operation("GET /api/categories/public/hierarchy", 0.15,
+                        random -> get("/api/categories/public/hierarchy")),
+                new Operation("GET /api/categories/search", 0.15,
+                        random -> get("/api/categories/search?name="
+                                + URLEncoder.encode(CatalogGenerator.WORDS[random.nextInt(CatalogGenerator.WORDS.length)],
+                                StandardCharsets.UTF_8))),
+                new Operation("GET /api/categories/changes-since", 0.05,
+                        random -> get("/api/categories/changes-since?seq=" + syncSeq + "&limit=100")),
+                new Operation("PATCH /api/categories/{id}", 0.15,
+                        random -> patch("/api/categories/" + randomId(random),
+                                "{\"enabled\":" + random.nextBoolean() + "}")),
+                new Operation("POST /api/auth/login", 0.05,
+                        random -> post("/api/auth/login", loginBody))
+        );
+    }
+
+    /**
+     * Só as leituras públicas que existem nas duas APIs (CategoryController e
+     * ReactiveCategoryHandler): mesmos caminhos, muda só a base URL.
+     */
+    static Workload publicReads(String baseUrl) {
+        return new Workload(baseUrl);
+    }
+
+    private Workload(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.categoryIds = List.of();
+        this.loginBody = null;
+        this.operations = List.of(
+                new Operation("GET /api/categories/public", 0.35,
+                        random -> get("/api/categories/public")),
+                new Operation("GET /api/categories/public/hierarchy", 0.35,
+                        random -> get("/api/categories/public/hierarchy")),
+                new Operation("GET /api/categories/search", 0.30,
+                        random -> get("/api/categories/search?name="
+                                + URLEncoder.encode(CatalogGenerator.WORDS[random.nextInt(CatalogGenerator.WORDS.length)],
+                                StandardCharsets.UTF_8)))
+        );
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation pick(Random random) {
+        double point = random.nextDouble() * operations.stream().mapToDouble(Operation::share).sum();
+        for (Operation operation : operations) {
+            point -= operation.share();
+            if (point < 0) {
+                return operation;
+            }
+        }
+        return operations.getLast();
+    }
+
+    private long randomId(Random random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest patch(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.musicstore.bluevelvet.web.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.musicstore.bluevelvet.api.response.CategoryResponse;
+import com.musicstore.bluevelvet.domain.exception.CatalogUnavailableException;
+import com.musicstore.bluevelvet.domain.service.CategoryChangeFeedService;
+import com.musicstore.bluevelvet.domain.service.CategoryService;
+import com.musicstore.bluevelvet.domain.service.CategorySyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WebDashboardControllerTest {
+
+    private static final String HOSTILE_NAME = "</script><script>alert(1)</script><!--";
+
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final CategorySyncService categorySyncService = mock(CategorySyncService.class);
+    private final CategoryChangeFeedService changeFeedService = mock(CategoryChangeFeedService.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final WebDashboardController controller =
+            new WebDashboardController(categoryService, categorySyncService, changeFeedService, objectMapper);
+
+    @Test
+    void bootstrapJsonCannotCloseTheScriptTag() throws Exception {
+        when(changeFeedService.getLastSequence()).thenReturn(3L);
+        when(categorySyncService.latestChangeSeq()).thenReturn(17L);
+        when(categoryService.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(
+                List.of(CategoryResponse.builder().id(1L).name(HOSTILE_NAME).build()), PageRequest.of(0, 10), 1));
+        when(categoryService.findTopLevelCategories(any(Pageable.class), anyString())).thenReturn(new PageImpl<>(
+                List.<Map<String, Object>>of(Map.of("id", 1L, "name", HOSTILE_NAME)), PageRequest.of(0, 100), 1));
+        ExtendedModelMap model = new ExtendedModelMap();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(controller.showDashboard(model, response)).isEqualTo("dashboard");
+
+        String bootstrap = (String) model.getAttribute("bootstrap");
+        assertThat(bootstrap).doesNotContain("<");
+        JsonNode json = objectMapper.readTree(bootstrap);
+        assertThat(json.at("/categories/content/0/name").asText()).isEqualTo(HOSTILE_NAME);
+        assertThat(json.at("/parentCategories/content/0/name").asText()).isEqualTo(HOSTILE_NAME);
+        assertThat(json.get("catalogVersion").asLong()).isEqualTo(17);
+        assertThat(json.get("changeSequence").asLong()).isEqualTo(3);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+    }
+
+    @Test
+    void databaseFailureRendersThePageWithoutBootstrapData() {
+        when(categorySyncService.latestChangeSeq()).thenThrow(new CatalogUnavailableException("Catalog temporarily unavailable"));
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        assertThat(controller.showDashboard(model, new MockHttpServletResponse())).isEqualTo("dashboard");
+        assertThat(model.getAttribute("bootstrap")).isNull();
+    }
+}